@@ -0,0 +1,111 @@
+package com.biblioteca.benchmark;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Prueba de carga en bucle cerrado: N clientes concurrentes que repiten la misma
+ * petición GET en cuanto reciben la respuesta anterior. Mide el throughput y la
+ * latencia de una instancia ya arrancada, para comparar el pool de hilos de
+ * plataforma de Tomcat (200 por defecto) con los hilos virtuales
+ * (BIBLIOTECA_VIRTUAL_THREADS=true, Java 21). Los clientes usan E/S asíncrona, así
+ * que 1000 clientes no necesitan 1000 hilos en el lado del generador.
+ *
+ * <p>Uso: {@code ./gradlew cargaHttp -Purl=... -Pclientes=1000 -Psegundos=30}
+ */
+public final class CargaHttp {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    private final HttpClient http = HttpClient.newBuilder()
+            .connectTimeout(TIMEOUT)
+            .version(HttpClient.Version.HTTP_1_1)
+            .build();
+    private final HttpRequest peticion;
+    private final long fin;
+
+    private CargaHttp(URI uri, long fin) {
+        // Sin If-None-Match: cada petición llega a la base de datos
+        this.peticion = HttpRequest.newBuilder(uri).timeout(TIMEOUT).GET().build();
+        this.fin = fin;
+    }
+
+    public static void main(String[] args) throws Exception {
+        URI uri = URI.create(args.length > 0 ? args[0] : "http://localhost:8080/api/libros/filtro?titulo=a");
+        int clientes = args.length > 1 ? Integer.parseInt(args[1]) : 1000;
+        int segundos = args.length > 2 ? Integer.parseInt(args[2]) : 30;
+
+        // Calentamiento breve con la misma concurrencia; no cuenta en el resultado
+        new CargaHttp(uri, System.nanoTime() + TimeUnit.SECONDS.toNanos(5)).ejecutar(clientes);
+
+        long inicio = System.nanoTime();
+        List<Cliente> resultado = new CargaHttp(uri, inicio + TimeUnit.SECONDS.toNanos(segundos)).ejecutar(clientes);
+        double duracion = (System.nanoTime() - inicio) / 1e9;
+
+        long correctas = resultado.stream().mapToLong(cliente -> cliente.correctas).sum();
+        long errores = resultado.stream().mapToLong(cliente -> cliente.errores).sum();
+        long[] latencias = resultado.stream()
+                .flatMapToLong(cliente -> cliente.latencias.stream().mapToLong(Long::longValue))
+                .sorted()
+                .toArray();
+
+        System.out.printf("%s, %d clientes, %.1f s%n", uri, clientes, duracion);
+        System.out.printf("  correctas=%d errores=%d throughput=%.0f peticiones/s%n",
+                correctas, errores, correctas / duracion);
+        System.out.printf("  latencia ms: p50=%.1f p90=%.1f p99=%.1f max=%.1f%n",
+                percentil(latencias, 50), percentil(latencias, 90), percentil(latencias, 99),
+                percentil(latencias, 100));
+    }
+
+    private List<Cliente> ejecutar(int clientes) {
+        List<Cliente> lista = new ArrayList<>(clientes);
+        for (int i = 0; i < clientes; i++) {
+            Cliente cliente = new Cliente();
+            lista.add(cliente);
+            siguiente(cliente);
+        }
+        CompletableFuture.allOf(lista.stream().map(cliente -> cliente.terminado).toArray(CompletableFuture[]::new))
+                .join();
+        return lista;
+    }
+
+    // Cada cliente solo tiene una petición en vuelo, así que sus contadores no se comparten
+    private void siguiente(Cliente cliente) {
+        if (System.nanoTime() >= fin) {
+            cliente.terminado.complete(null);
+            return;
+        }
+        long inicio = System.nanoTime();
+        http.sendAsync(peticion, HttpResponse.BodyHandlers.discarding()).whenComplete((respuesta, error) -> {
+            if (error == null && respuesta.statusCode() < 400) {
+                cliente.correctas++;
+                cliente.latencias.add(System.nanoTime() - inicio);
+            } else {
+                cliente.errores++;
+            }
+            siguiente(cliente);
+        });
+    }
+
+    private static double percentil(long[] ordenadas, int percentil) {
+        if (ordenadas.length == 0) {
+            return 0;
+        }
+        int indice = (int) Math.ceil(percentil / 100.0 * ordenadas.length) - 1;
+        return ordenadas[Math.max(0, indice)] / 1e6;
+    }
+
+    private static final class Cliente {
+        final CompletableFuture<Void> terminado = new CompletableFuture<>();
+        final List<Long> latencias = new ArrayList<>();
+        long correctas;
+        long errores;
+    }
+}
@@ -0,0 +1,136 @@
+package com.biblioteca.benchmark;
+
+import com.biblioteca.mapper.DVDMapperImpl;
+import com.biblioteca.mapper.LibroMapperImpl;
+import com.biblioteca.mapper.RevistaMapperImpl;
+import com.biblioteca.model.DVD;
+import com.biblioteca.model.Libro;
+import com.biblioteca.model.Revista;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Coste de serializar un listado de 10k DTOs en JSON (lo que devuelve la API por
+ * defecto) y en Smile (Accept: application/x-jackson-smile), con y sin gzip como
+ * lo comprime Tomcat. El tiempo es la CPU de serialización; los bytes en el
+ * cable de cada combinación se imprimen al preparar el estado.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class FormatoBenchmark {
+
+    private static final int FILAS = 10_000;
+
+    private static final ObjectMapper JSON = JsonMapper.builder()
+            .addModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+
+    private static final ObjectMapper SMILE = SmileMapper.builder()
+            .addModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES)
+            .build();
+
+    @Param({"libros", "revistas", "dvds"})
+    public String tipo;
+
+    private List<?> dtos;
+
+    @Setup
+    public void setup() throws IOException {
+        dtos = switch (tipo) {
+            case "libros" -> libros();
+            case "revistas" -> revistas();
+            default -> dvds();
+        };
+        System.out.printf("%n%s, bytes por %d filas: json=%d json+gzip=%d smile=%d smile+gzip=%d%n",
+                tipo, FILAS, json().length, jsonGzip().length, smile().length, smileGzip().length);
+    }
+
+    @Benchmark
+    public byte[] json() throws IOException {
+        return JSON.writeValueAsBytes(dtos);
+    }
+
+    @Benchmark
+    public byte[] jsonGzip() throws IOException {
+        return gzip(JSON);
+    }
+
+    @Benchmark
+    public byte[] smile() throws IOException {
+        return SMILE.writeValueAsBytes(dtos);
+    }
+
+    @Benchmark
+    public byte[] smileGzip() throws IOException {
+        return gzip(SMILE);
+    }
+
+    private byte[] gzip(ObjectMapper mapper) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (GZIPOutputStream out = new GZIPOutputStream(bytes)) {
+            mapper.writeValue(out, dtos);
+        }
+        return bytes.toByteArray();
+    }
+
+    // Mismos datos que MapeoBenchmark, con valores repetidos como en un catálogo real
+    private static List<?> libros() {
+        LibroMapperImpl mapper = new LibroMapperImpl();
+        List<Object> result = new ArrayList<>(FILAS);
+        for (int i = 0; i < FILAS; i++) {
+            Libro libro = new Libro("Titulo " + i, "Autor " + (i % 500), 1950 + i % 70, "978-" + i, 300,
+                    "Genero " + (i % 20), "Editorial " + (i % 50), "es", 19.9, 5, "Descripcion " + i, true);
+            libro.setId((long) i);
+            libro.setFechaCreacion(LocalDateTime.now());
+            libro.setFechaActualizacion(LocalDateTime.now());
+            result.add(mapper.toDTO(libro));
+        }
+        return result;
+    }
+
+    private static List<?> revistas() {
+        RevistaMapperImpl mapper = new RevistaMapperImpl();
+        List<Object> result = new ArrayList<>(FILAS);
+        for (int i = 0; i < FILAS; i++) {
+            Revista revista = new Revista("Revista " + i, "Autor " + (i % 500), 2000 + i % 25, i,
+                    "Categoria " + (i % 10), "Mensual", "1234-" + i, 5.5, 80, "Editorial " + (i % 50),
+                    "Descripcion " + i, true);
+            revista.setId((long) i);
+            revista.setFechaCreacion(LocalDateTime.now());
+            revista.setFechaActualizacion(LocalDateTime.now());
+            result.add(mapper.toDTO(revista));
+        }
+        return result;
+    }
+
+    private static List<?> dvds() {
+        DVDMapperImpl mapper = new DVDMapperImpl();
+        List<Object> result = new ArrayList<>(FILAS);
+        for (int i = 0; i < FILAS; i++) {
+            DVD dvd = new DVD("Pelicula " + i, "Director " + (i % 500), 1960 + i % 60, "Genero " + (i % 20),
+                    90 + i % 60, "PG-13", "Actor A, Actor B", "Sinopsis " + i, 9.9, true);
+            dvd.setId((long) i);
+            dvd.setFechaCreacion(LocalDateTime.now());
+            dvd.setFechaActualizacion(LocalDateTime.now());
+            result.add(mapper.toDTO(dvd));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,275 @@
+package com.biblioteca.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latencia de lectura del catálogo según la estrategia de herencia de
+ * ElementoBiblioteca: JOINED (columnas comunes en elementos_biblioteca y las
+ * propias en una tabla por tipo) frente a SINGLE_TABLE (una tabla con
+ * discriminador). Las sentencias son las que genera Hibernate para cada
+ * mapeo, sobre H2 en modo MySQL con los mismos índices que las migraciones.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class HerenciaBenchmark {
+
+    private static final int FILAS_POR_TIPO = 20_000;
+    private static final int PAGINA = 20;
+
+    @Param({"JOINED", "SINGLE_TABLE"})
+    public String estrategia;
+
+    private Connection conexion;
+    private PreparedStatement listadoCatalogo;
+    private PreparedStatement listadoLibros;
+    private PreparedStatement conteoDisponibilidad;
+    private PreparedStatement busquedaTitulo;
+    private PreparedStatement libroPorId;
+    private PreparedStatement elementoPorId;
+
+    @Setup
+    public void setup() throws SQLException, ClassNotFoundException {
+        // El jar de JMH fusiona mal META-INF/services/java.sql.Driver: se registra a mano
+        Class.forName("org.h2.Driver");
+        conexion = DriverManager.getConnection(
+                "jdbc:h2:mem:" + estrategia + ";MODE=MySQL;DB_CLOSE_DELAY=-1", "sa", "");
+        try (Statement st = conexion.createStatement()) {
+            if ("JOINED".equals(estrategia)) {
+                crearJoined(st);
+            } else {
+                crearSingleTable(st);
+            }
+        }
+        poblar();
+        prepararConsultas();
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        try (Statement st = conexion.createStatement()) {
+            st.execute("drop all objects");
+        }
+        conexion.close();
+    }
+
+    // Página del catálogo completo por disponibilidad (cursor sobre el id)
+    @Benchmark
+    public void listadoCatalogo(Blackhole bh) throws SQLException {
+        listadoCatalogo.setLong(1, cursor());
+        consumir(listadoCatalogo, bh);
+    }
+
+    // Página de un solo tipo con sus columnas propias (LibroResumen)
+    @Benchmark
+    public void listadoLibros(Blackhole bh) throws SQLException {
+        listadoLibros.setLong(1, cursor());
+        consumir(listadoLibros, bh);
+    }
+
+    // Conteos del dashboard
+    @Benchmark
+    public void conteoDisponibilidad(Blackhole bh) throws SQLException {
+        consumir(conteoDisponibilidad, bh);
+    }
+
+    // Búsqueda por título en todos los tipos, ordenada por título
+    @Benchmark
+    public void busquedaTitulo(Blackhole bh) throws SQLException {
+        busquedaTitulo.setString(1, "%" + ThreadLocalRandom.current().nextInt(1000) + "%");
+        consumir(busquedaTitulo, bh);
+    }
+
+    // find(Libro.class, id): entidad completa de un tipo concreto
+    @Benchmark
+    public void libroPorId(Blackhole bh) throws SQLException {
+        libroPorId.setLong(1, ThreadLocalRandom.current().nextLong(1, FILAS_POR_TIPO + 1));
+        consumir(libroPorId, bh);
+    }
+
+    // find(ElementoBiblioteca.class, id): el tipo no se conoce de antemano
+    @Benchmark
+    public void elementoPorId(Blackhole bh) throws SQLException {
+        elementoPorId.setLong(1, ThreadLocalRandom.current().nextLong(1, 3L * FILAS_POR_TIPO + 1));
+        consumir(elementoPorId, bh);
+    }
+
+    private static long cursor() {
+        return ThreadLocalRandom.current().nextLong(3L * FILAS_POR_TIPO - 200);
+    }
+
+    private static void consumir(PreparedStatement ps, Blackhole bh) throws SQLException {
+        try (ResultSet rs = ps.executeQuery()) {
+            int columnas = rs.getMetaData().getColumnCount();
+            while (rs.next()) {
+                for (int i = 1; i <= columnas; i++) {
+                    bh.consume(rs.getObject(i));
+                }
+            }
+        }
+    }
+
+    private static void crearJoined(Statement st) throws SQLException {
+        st.execute("create table elementos_biblioteca (id bigint primary key, tipo varchar(31) not null, "
+                + "titulo varchar(255) not null, autor varchar(255), ano_publicacion integer, precio float(53), "
+                + "disponible bit not null, fecha_creacion datetime(6), fecha_actualizacion datetime(6))");
+        st.execute("create table libros (id bigint primary key references elementos_biblioteca (id), "
+                + "isbn varchar(255), numero_paginas integer, genero varchar(255), editorial varchar(255), "
+                + "idioma varchar(255), stock integer, descripcion text)");
+        st.execute("create table revistas (id bigint primary key references elementos_biblioteca (id), "
+                + "numero_edicion integer, categoria varchar(255), periodicidad varchar(255), issn varchar(255), "
+                + "numero_paginas integer, editorial varchar(255), descripcion text)");
+        st.execute("create table dvds (id bigint primary key references elementos_biblioteca (id), "
+                + "genero varchar(255), duracion integer, clasificacion varchar(255), actores text, sinopsis text)");
+        st.execute("create index idx_elementos_disponible_id on elementos_biblioteca (disponible, id)");
+        st.execute("create index idx_elementos_tipo_disponible_id on elementos_biblioteca (tipo, disponible, id)");
+        st.execute("create index idx_elementos_titulo on elementos_biblioteca (titulo)");
+    }
+
+    private static void crearSingleTable(Statement st) throws SQLException {
+        st.execute("create table elementos_biblioteca (id bigint primary key, tipo varchar(31) not null, "
+                + "titulo varchar(255) not null, autor varchar(255), ano_publicacion integer, precio float(53), "
+                + "disponible bit not null, fecha_creacion datetime(6), fecha_actualizacion datetime(6), "
+                + "isbn varchar(255), numero_paginas integer, genero varchar(255), editorial varchar(255), "
+                + "idioma varchar(255), stock integer, descripcion text, numero_edicion integer, "
+                + "categoria varchar(255), periodicidad varchar(255), issn varchar(255), duracion integer, "
+                + "clasificacion varchar(255), actores text, sinopsis text)");
+        st.execute("create index idx_elementos_disponible_id on elementos_biblioteca (disponible, id)");
+        st.execute("create index idx_elementos_tipo_disponible_id on elementos_biblioteca (tipo, disponible, id)");
+        st.execute("create index idx_elementos_titulo on elementos_biblioteca (titulo)");
+    }
+
+    private void poblar() throws SQLException {
+        String texto = "Lorem ipsum dolor sit amet ".repeat(20);
+        String[] tipos = {"LIBRO", "REVISTA", "DVD"};
+        conexion.setAutoCommit(false);
+        if ("JOINED".equals(estrategia)) {
+            try (PreparedStatement base = conexion.prepareStatement("insert into elementos_biblioteca "
+                    + "values (?, ?, ?, ?, ?, ?, ?, now(), now())");
+                 PreparedStatement libro = conexion.prepareStatement(
+                         "insert into libros values (?, ?, 300, 'Novela', 'Editorial', 'es', 5, ?)");
+                 PreparedStatement revista = conexion.prepareStatement(
+                         "insert into revistas values (?, ?, 'Ciencia', 'Mensual', ?, 80, 'Editorial', ?)");
+                 PreparedStatement dvd = conexion.prepareStatement(
+                         "insert into dvds values (?, 'Drama', 120, 'PG-13', ?, ?)")) {
+                for (long id = 1; id <= 3L * FILAS_POR_TIPO; id++) {
+                    String tipo = tipos[(int) ((id - 1) % 3)];
+                    comunes(base, id, tipo);
+                    base.addBatch();
+                    switch (tipo) {
+                        case "LIBRO" -> {
+                            libro.setLong(1, id);
+                            libro.setString(2, "978-" + id);
+                            libro.setString(3, texto);
+                            libro.addBatch();
+                        }
+                        case "REVISTA" -> {
+                            revista.setLong(1, id);
+                            revista.setInt(2, (int) id);
+                            revista.setString(3, "1234-" + id);
+                            revista.setString(4, texto);
+                            revista.addBatch();
+                        }
+                        default -> {
+                            dvd.setLong(1, id);
+                            dvd.setString(2, texto);
+                            dvd.setString(3, texto);
+                            dvd.addBatch();
+                        }
+                    }
+                }
+                base.executeBatch();
+                libro.executeBatch();
+                revista.executeBatch();
+                dvd.executeBatch();
+            }
+        } else {
+            try (PreparedStatement fila = conexion.prepareStatement("insert into elementos_biblioteca "
+                    + "values (?, ?, ?, ?, ?, ?, ?, now(), now(), ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)")) {
+                for (long id = 1; id <= 3L * FILAS_POR_TIPO; id++) {
+                    String tipo = tipos[(int) ((id - 1) % 3)];
+                    boolean libro = "LIBRO".equals(tipo);
+                    boolean revista = "REVISTA".equals(tipo);
+                    boolean dvd = "DVD".equals(tipo);
+                    comunes(fila, id, tipo);
+                    fila.setString(8, libro ? "978-" + id : null);
+                    fila.setObject(9, dvd ? null : libro ? 300 : 80);
+                    fila.setString(10, revista ? null : libro ? "Novela" : "Drama");
+                    fila.setString(11, dvd ? null : "Editorial");
+                    fila.setString(12, libro ? "es" : null);
+                    fila.setObject(13, libro ? 5 : null);
+                    fila.setString(14, dvd ? null : texto);
+                    fila.setObject(15, revista ? (int) id : null);
+                    fila.setString(16, revista ? "Ciencia" : null);
+                    fila.setString(17, revista ? "Mensual" : null);
+                    fila.setString(18, revista ? "1234-" + id : null);
+                    fila.setObject(19, dvd ? 120 : null);
+                    fila.setString(20, dvd ? "PG-13" : null);
+                    fila.setString(21, dvd ? texto : null);
+                    fila.setString(22, dvd ? texto : null);
+                    fila.addBatch();
+                }
+                fila.executeBatch();
+            }
+        }
+        conexion.commit();
+        conexion.setAutoCommit(true);
+        try (Statement st = conexion.createStatement()) {
+            st.execute("analyze");
+        }
+    }
+
+    // Los tipos se intercalan como los crearía la secuencia compartida
+    private static void comunes(PreparedStatement ps, long id, String tipo) throws SQLException {
+        ps.setLong(1, id);
+        ps.setString(2, tipo);
+        ps.setString(3, "Titulo " + id);
+        ps.setString(4, "Autor " + (id % 500));
+        ps.setInt(5, 1950 + (int) (id % 70));
+        ps.setDouble(6, id % 100);
+        ps.setBoolean(7, id % 4 != 0);
+    }
+
+    private void prepararConsultas() throws SQLException {
+        String comunes = "e.id, e.tipo, e.titulo, e.autor, e.ano_publicacion, e.precio, e.disponible, "
+                + "e.fecha_creacion, e.fecha_actualizacion";
+        String columnasLibro = "e.id, e.titulo, e.autor, e.ano_publicacion, l.isbn, l.numero_paginas, l.genero, "
+                + "l.editorial, l.idioma, e.precio, l.stock, e.disponible, e.fecha_creacion, e.fecha_actualizacion";
+        // Hibernate ordena solo por id; con la igualdad delante MySQL recorre el índice en ese
+        // orden, pero H2 necesita ver todas sus columnas en el ORDER BY para no ordenar aparte
+        listadoCatalogo = conexion.prepareStatement("select " + comunes + " from elementos_biblioteca e "
+                + "where e.disponible = true and e.id > ? order by e.disponible, e.id limit " + (PAGINA + 1));
+        conteoDisponibilidad = conexion.prepareStatement("select e.tipo, e.disponible, count(*) "
+                + "from elementos_biblioteca e group by e.tipo, e.disponible");
+        busquedaTitulo = conexion.prepareStatement("select " + comunes + " from elementos_biblioteca e "
+                + "where lower(e.titulo) like ? order by e.titulo, e.id limit " + (PAGINA + 1));
+        if ("JOINED".equals(estrategia)) {
+            listadoLibros = conexion.prepareStatement("select " + columnasLibro
+                    + " from libros l join elementos_biblioteca e on e.id = l.id "
+                    + "where e.disponible = true and e.id > ? order by e.disponible, e.id limit " + (PAGINA + 1));
+            libroPorId = conexion.prepareStatement("select " + comunes + ", l.* from libros l "
+                    + "join elementos_biblioteca e on e.id = l.id where l.id = ?");
+            elementoPorId = conexion.prepareStatement("select " + comunes + ", l.*, r.*, d.* "
+                    + "from elementos_biblioteca e left join libros l on l.id = e.id "
+                    + "left join revistas r on r.id = e.id left join dvds d on d.id = e.id where e.id = ?");
+        } else {
+            String l = columnasLibro.replace("l.", "e.");
+            listadoLibros = conexion.prepareStatement("select " + l + " from elementos_biblioteca e "
+                    + "where e.tipo = 'LIBRO' and e.disponible = true and e.id > ? "
+                    + "order by e.tipo, e.disponible, e.id limit " + (PAGINA + 1));
+            libroPorId = conexion.prepareStatement("select e.* from elementos_biblioteca e "
+                    + "where e.tipo = 'LIBRO' and e.id = ?");
+            elementoPorId = conexion.prepareStatement("select e.* from elementos_biblioteca e where e.id = ?");
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.biblioteca.benchmark;
+
+import com.biblioteca.dto.DVDDTO;
+import com.biblioteca.dto.LibroDTO;
+import com.biblioteca.dto.RevistaDTO;
+import com.biblioteca.mapper.DVDMapper;
+import com.biblioteca.mapper.DVDMapperImpl;
+import com.biblioteca.mapper.LibroMapper;
+import com.biblioteca.mapper.LibroMapperImpl;
+import com.biblioteca.mapper.RevistaMapper;
+import com.biblioteca.mapper.RevistaMapperImpl;
+import com.biblioteca.model.DVD;
+import com.biblioteca.model.Libro;
+import com.biblioteca.model.Revista;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.beans.BeanUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coste de convertir un listado de 10k filas a DTOs: BeanUtils.copyProperties
+ * (introspección + reflexión) frente a los mappers generados por MapStruct. Los
+ * DVDs no pasaban por BeanUtils sino por una copia campo a campo escrita a mano,
+ * que es su referencia.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class MapeoBenchmark {
+
+    private static final int FILAS = 10_000;
+
+    private final LibroMapper libroMapper = new LibroMapperImpl();
+    private final RevistaMapper revistaMapper = new RevistaMapperImpl();
+    private final DVDMapper dvdMapper = new DVDMapperImpl();
+
+    private List<Libro> libros;
+    private List<Revista> revistas;
+    private List<DVD> dvds;
+
+    @Setup
+    public void setup() {
+        libros = new ArrayList<>(FILAS);
+        revistas = new ArrayList<>(FILAS);
+        dvds = new ArrayList<>(FILAS);
+        for (int i = 0; i < FILAS; i++) {
+            Libro libro = new Libro("Titulo " + i, "Autor " + i, 2000, "978-" + i, 300, "Novela",
+                    "Editorial", "es", 19.9, 5, "Descripcion " + i, true);
+            libro.setId((long) i);
+            libro.setFechaCreacion(LocalDateTime.now());
+            libros.add(libro);
+
+            Revista revista = new Revista("Revista " + i, "Autor " + i, 2020, i, "Ciencia", "Mensual",
+                    "1234-" + i, 5.5, 80, "Editorial", "Descripcion " + i, true);
+            revista.setId((long) i);
+            revistas.add(revista);
+
+            DVD dvd = new DVD("Pelicula " + i, "Director " + i, 1999, "Drama", 120, "PG-13",
+                    "Actor A, Actor B", "Sinopsis " + i, 9.9, true);
+            dvd.setId((long) i);
+            dvds.add(dvd);
+        }
+    }
+
+    @Benchmark
+    public List<LibroDTO> librosBeanUtils() {
+        List<LibroDTO> result = new ArrayList<>(FILAS);
+        for (Libro libro : libros) {
+            LibroDTO dto = new LibroDTO();
+            BeanUtils.copyProperties(libro, dto);
+            result.add(dto);
+        }
+        return result;
+    }
+
+    @Benchmark
+    public List<LibroDTO> librosMapStruct() {
+        List<LibroDTO> result = new ArrayList<>(FILAS);
+        for (Libro libro : libros) {
+            result.add(libroMapper.toDTO(libro));
+        }
+        return result;
+    }
+
+    @Benchmark
+    public List<RevistaDTO> revistasBeanUtils() {
+        List<RevistaDTO> result = new ArrayList<>(FILAS);
+        for (Revista revista : revistas) {
+            RevistaDTO dto = new RevistaDTO();
+            BeanUtils.copyProperties(revista, dto);
+            result.add(dto);
+        }
+        return result;
+    }
+
+    @Benchmark
+    public List<RevistaDTO> revistasMapStruct() {
+        List<RevistaDTO> result = new ArrayList<>(FILAS);
+        for (Revista revista : revistas) {
+            result.add(revistaMapper.toDTO(revista));
+        }
+        return result;
+    }
+
+    @Benchmark
+    public List<DVDDTO> dvdsManual() {
+        List<DVDDTO> result = new ArrayList<>(FILAS);
+        for (DVD dvd : dvds) {
+            result.add(convertToDTO(dvd));
+        }
+        return result;
+    }
+
+    @Benchmark
+    public List<DVDDTO> dvdsMapStruct() {
+        List<DVDDTO> result = new ArrayList<>(FILAS);
+        for (DVD dvd : dvds) {
+            result.add(dvdMapper.toDTO(dvd));
+        }
+        return result;
+    }
+
+    // El convertToDTO que tenía DVDServiceImpl antes de DVDMapper
+    private static DVDDTO convertToDTO(DVD dvd) {
+        DVDDTO dto = new DVDDTO();
+        dto.setId(dvd.getId());
+        dto.setTitulo(dvd.getTitulo());
+        dto.setDirector(dvd.getDirector());
+        dto.setAnoLanzamiento(dvd.getAnoLanzamiento());
+        dto.setGenero(dvd.getGenero());
+        dto.setDuracion(dvd.getDuracion());
+        dto.setClasificacion(dvd.getClasificacion());
+        dto.setActores(dvd.getActores());
+        dto.setSinopsis(dvd.getSinopsis());
+        dto.setPrecio(dvd.getPrecio());
+        dto.setDisponible(dvd.getDisponible());
+        dto.setFechaCreacion(dvd.getFechaCreacion());
+        dto.setFechaActualizacion(dvd.getFechaActualizacion());
+        return dto;
+    }
+}
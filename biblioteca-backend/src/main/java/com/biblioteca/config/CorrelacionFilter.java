@@ -0,0 +1,55 @@
+package com.biblioteca.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.MDC;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+/**
+ * Identificador de correlación por petición: se toma de la cabecera
+ * X-Request-Id si el cliente (o el proxy) la envía con un valor razonable, si
+ * no se genera uno. Se guarda en el MDC como correlationId, de modo que sale en
+ * todas las trazas de la petición (también en los logs JSON del perfil prod), y
+ * se devuelve en la respuesta.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class CorrelacionFilter extends OncePerRequestFilter {
+
+    public static final String CABECERA = "X-Request-Id";
+    public static final String MDC_CLAVE = "correlationId";
+
+    // Evita que un valor arbitrario del cliente acabe en los logs (saltos de línea, tamaño)
+    private static final Pattern VALIDO = Pattern.compile("[A-Za-z0-9._-]{1,64}");
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String id = request.getHeader(CABECERA);
+        if (id == null || !VALIDO.matcher(id).matches()) {
+            id = UUID.randomUUID().toString();
+        }
+        MDC.put(MDC_CLAVE, id);
+        response.setHeader(CABECERA, id);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            MDC.remove(MDC_CLAVE);
+        }
+    }
+
+    // Los despachos asíncronos (streams NDJSON) corren en otro hilo y vuelven a pasar por aquí
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+}
@@ -0,0 +1,69 @@
+package com.biblioteca.config;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.stream.Collectors;
+
+/**
+ * Con hilos virtuales, una espera de E/S dentro de un bloque synchronized (o de
+ * código nativo) fija el hilo virtual a su hilo portador: mientras dura, el
+ * portador no atiende otras peticiones. Escucha el evento de JFR
+ * jdk.VirtualThreadPinned y registra cada fijación larga con la pila que la
+ * provoca, para localizar el código (propio o de un driver) que hay que cambiar.
+ * Solo se activa con spring.threads.virtual.enabled=true en Java 21 o posterior.
+ */
+@Component
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class DiagnosticoHilosVirtuales {
+
+    private static final Logger log = LoggerFactory.getLogger(DiagnosticoHilosVirtuales.class);
+
+    private static final int FRAMES = 8;
+
+    private final Duration umbral;
+    private RecordingStream stream;
+
+    public DiagnosticoHilosVirtuales(@Value("${biblioteca.threads.pinned-threshold-ms:20}") long umbralMillis) {
+        this.umbral = Duration.ofMillis(umbralMillis);
+    }
+
+    @PostConstruct
+    void iniciar() {
+        stream = new RecordingStream();
+        stream.enable("jdk.VirtualThreadPinned").withThreshold(umbral).withStackTrace();
+        stream.onEvent("jdk.VirtualThreadPinned", this::registrar);
+        stream.startAsync();
+        log.info("Hilos virtuales activos; se registran las fijaciones de más de {} ms", umbral.toMillis());
+    }
+
+    private void registrar(RecordedEvent evento) {
+        String pila = evento.getStackTrace() == null ? "(sin pila)" : evento.getStackTrace().getFrames().stream()
+                .limit(FRAMES)
+                .map(DiagnosticoHilosVirtuales::frame)
+                .collect(Collectors.joining("\n\tat ", "\n\tat ", ""));
+        log.warn("Hilo virtual fijado a su portador durante {} ms{}", evento.getDuration().toMillis(), pila);
+    }
+
+    private static String frame(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName()
+                + ":" + frame.getLineNumber();
+    }
+
+    @PreDestroy
+    void detener() {
+        if (stream != null) {
+            stream.close();
+        }
+    }
+}
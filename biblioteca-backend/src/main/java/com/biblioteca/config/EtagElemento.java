@@ -0,0 +1,45 @@
+package com.biblioteca.config;
+
+import com.biblioteca.exception.PreconditionFailedException;
+import com.biblioteca.model.ElementoBiblioteca.TipoElemento;
+
+/**
+ * ETag fuerte de un elemento del catálogo a partir de su versión de bloqueo
+ * optimista. Lo ponen las lecturas (PeticionCondicionalInterceptor) y las
+ * respuestas de PUT, y lo devuelve el cliente en If-Match para editar.
+ */
+public final class EtagElemento {
+
+    private EtagElemento() {}
+
+    public static String de(TipoElemento tipo, Long id, Long version) {
+        return prefijo(tipo, id) + version + "\"";
+    }
+
+    /**
+     * Versión que el cliente espera modificar según If-Match; {@code null} si no
+     * lo envía o envía {@code *}. Una etiqueta débil o de otro elemento nunca
+     * coincide, así que responde 412 sin llegar a la base de datos.
+     */
+    public static Long versionEsperada(String ifMatch, TipoElemento tipo, Long id) {
+        if (ifMatch == null || ifMatch.isBlank() || "*".equals(ifMatch.trim())) {
+            return null;
+        }
+        String prefijo = prefijo(tipo, id);
+        for (String etiqueta : ifMatch.split(",")) {
+            String valor = etiqueta.trim();
+            if (valor.startsWith(prefijo) && valor.endsWith("\"") && valor.length() > prefijo.length() + 1) {
+                try {
+                    return Long.valueOf(valor.substring(prefijo.length(), valor.length() - 1));
+                } catch (NumberFormatException e) {
+                    // Se sigue con la siguiente etiqueta
+                }
+            }
+        }
+        throw new PreconditionFailedException("If-Match no corresponde a ninguna versión de " + tipo + " " + id);
+    }
+
+    private static String prefijo(TipoElemento tipo, Long id) {
+        return "\"" + tipo.name() + "-" + id + "-v";
+    }
+}
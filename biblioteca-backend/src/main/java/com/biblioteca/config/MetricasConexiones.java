@@ -0,0 +1,121 @@
+package com.biblioteca.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Timer biblioteca.db.conexion: cuánto tiempo pasa cada conexión JDBC fuera del
+ * pool, desde que se pide hasta que se devuelve, con las etiquetas method y uri
+ * del endpoint que la pidió (NONE fuera de una petición: arranque, importaciones,
+ * tareas programadas). hikaricp.connections.usage mide lo mismo pero sin saber
+ * qué endpoint retiene la conexión, que es lo que hace falta para ver quién
+ * agota el pool.
+ */
+@Component
+public class MetricasConexiones implements BeanPostProcessor {
+
+    private static final String NINGUNO = "NONE";
+
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    public MetricasConexiones(ObjectProvider<MeterRegistry> meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource && !(bean instanceof DataSourceMedido)) {
+            return new DataSourceMedido(dataSource);
+        }
+        return bean;
+    }
+
+    private void registrar(String method, String uri, long nanos) {
+        Timer.builder("biblioteca.db.conexion")
+                .description("Tiempo que cada conexión JDBC permanece fuera del pool")
+                .tag("method", method)
+                .tag("uri", uri)
+                .register(meterRegistry.getObject())
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    private final class DataSourceMedido extends DelegatingDataSource {
+
+        DataSourceMedido(DataSource dataSource) {
+            super(dataSource);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return medir(super.getConnection());
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return medir(super.getConnection(username, password));
+        }
+
+        private Connection medir(Connection conexion) {
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                    new Class<?>[] {Connection.class}, new ConexionMedida(conexion));
+        }
+    }
+
+    // El endpoint se toma al pedir la conexión, en el hilo de la petición
+    private final class ConexionMedida implements InvocationHandler {
+
+        private final Connection conexion;
+        private final long inicio = System.nanoTime();
+        private final String method;
+        private final String uri;
+        private boolean cerrada;
+
+        ConexionMedida(Connection conexion) {
+            this.conexion = conexion;
+            RequestAttributes atributos = RequestContextHolder.getRequestAttributes();
+            if (atributos instanceof ServletRequestAttributes servlet) {
+                HttpServletRequest request = servlet.getRequest();
+                Object patron = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+                this.method = request.getMethod();
+                this.uri = patron != null ? patron.toString() : "UNKNOWN";
+            } else {
+                this.method = NINGUNO;
+                this.uri = NINGUNO;
+            }
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method metodo, Object[] args) throws Throwable {
+            if ("equals".equals(metodo.getName()) && args != null && args.length == 1) {
+                return proxy == args[0];
+            }
+            if ("close".equals(metodo.getName()) && !cerrada) {
+                cerrada = true;
+                registrar(method, uri, System.nanoTime() - inicio);
+            }
+            try {
+                return metodo.invoke(conexion, args);
+            } catch (InvocationTargetException e) {
+                throw e.getTargetException();
+            }
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.biblioteca.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+/**
+ * Timer biblioteca.servicio por cada método público de los servicios, con las
+ * etiquetas clase, metodo y exception. Junto con http.server.requests (por
+ * endpoint) y spring.data.repository.invocations (por método de repositorio, lo
+ * mide Spring Data) permite seguir una petición lenta hasta el finder que la
+ * provoca. Los métodos que devuelven Flux o Mono se excluyen: solo se mediría el
+ * ensamblado, no la consulta.
+ */
+@Aspect
+@Component
+public class MetricasServicios {
+
+    private final MeterRegistry meterRegistry;
+
+    public MetricasServicios(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Around("within(com.biblioteca.service.impl..*) && @within(org.springframework.stereotype.Service)"
+            + " && execution(public * *(..)) && !execution(org.reactivestreams.Publisher+ *(..))")
+    public Object medir(ProceedingJoinPoint joinPoint) throws Throwable {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String exception = "none";
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            exception = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            sample.stop(Timer.builder("biblioteca.servicio")
+                    .description("Duración de las llamadas a los servicios")
+                    .tag("clase", joinPoint.getSignature().getDeclaringType().getSimpleName())
+                    .tag("metodo", joinPoint.getSignature().getName())
+                    .tag("exception", exception)
+                    .register(meterRegistry));
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.biblioteca.config;
+
+import com.biblioteca.model.ElementoBiblioteca.TipoElemento;
+import com.biblioteca.repository.projection.VersionCatalogo;
+import com.biblioteca.repository.projection.VersionElemento;
+import com.biblioteca.service.CatalogoService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Peticiones condicionales sobre las lecturas del catálogo. Antes de llamar al
+ * controlador se obtiene la versión de lo que se va a leer con una consulta que
+ * no carga entidades (y que suele estar en la cache de consultas):
+ * <ul>
+ *   <li>un elemento ({@code GET /{id}}): ETag fuerte con su versión de bloqueo
+ *       optimista (el mismo que se envía en If-Match al editar, ver EtagElemento)
+ *       y Last-Modified;</li>
+ *   <li>cualquier otro listado del tipo: ETag débil con el número de elementos y
+ *       la última modificación de todo el tipo. Identifica la versión de los datos,
+ *       no los bytes, y Tomcat solo comprime respuestas con ETag débil.</li>
+ * </ul>
+ * Si coincide con If-None-Match / If-Modified-Since se responde 304 sin pasar
+ * por el servicio ni construir DTOs. Si no, las cabeceras quedan puestas y el
+ * controlador escribe el cuerpo. La versión se lee antes que los datos, así que
+ * una escritura concurrente como mucho provoca un 200 de más, nunca un 304 obsoleto.
+ * <p>
+ * Con {@code biblioteca.http.if-match-required} un PUT o PATCH sobre un elemento sin
+ * If-Match se rechaza con 428: el cliente tiene que decir qué versión edita.
+ */
+public class PeticionCondicionalInterceptor implements HandlerInterceptor {
+
+    private final CatalogoService catalogoService;
+    private final Set<TipoElemento> tipos;
+    private final String prefijo;
+    private final String cacheControl;
+    private final boolean ifMatchObligatorio;
+
+    public PeticionCondicionalInterceptor(CatalogoService catalogoService, Set<TipoElemento> tipos,
+                                          String cacheControl, boolean ifMatchObligatorio) {
+        this.catalogoService = catalogoService;
+        this.tipos = Set.copyOf(tipos);
+        this.prefijo = tipos.size() == 1
+                ? tipos.iterator().next().name()
+                : tipos.stream().map(TipoElemento::name).sorted().collect(Collectors.joining("+"));
+        this.cacheControl = cacheControl;
+        this.ifMatchObligatorio = ifMatchObligatorio;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
+            throws IOException {
+        if ("PUT".equals(request.getMethod()) || "PATCH".equals(request.getMethod())) {
+            return ifMatchPresente(request, response);
+        }
+        if (!"GET".equals(request.getMethod()) && !"HEAD".equals(request.getMethod())) {
+            return true;
+        }
+        ServletWebRequest webRequest = new ServletWebRequest(request, response);
+        Long id = idElemento(request);
+
+        if (id != null) {
+            if (tipos.size() != 1) {
+                return true;
+            }
+            TipoElemento tipo = tipos.iterator().next();
+            Optional<VersionElemento> version = catalogoService.versionElemento(tipo, id);
+            if (version.isEmpty()) {
+                // No existe: el controlador responde como siempre
+                return true;
+            }
+            cabecerasCache(response);
+            String etag = EtagElemento.de(tipo, id, version.get().version());
+            LocalDateTime fecha = version.get().fechaActualizacion();
+            return !webRequest.checkNotModified(etag, fecha == null ? -1 : millis(fecha));
+        }
+
+        // Sin Last-Modified: un borrado no cambia la fecha máxima, solo el total del ETag
+        VersionCatalogo version = catalogoService.version(tipos);
+        cabecerasCache(response);
+        String etag = "W/\"" + prefijo + "-" + version.total() + "-"
+                + (version.ultimaModificacion() == null ? 0 : micros(version.ultimaModificacion())) + "\"";
+        return !webRequest.checkNotModified(etag);
+    }
+
+    private boolean ifMatchPresente(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        if (!ifMatchObligatorio || idElemento(request) == null || request.getHeader(HttpHeaders.IF_MATCH) != null) {
+            return true;
+        }
+        response.sendError(HttpStatus.PRECONDITION_REQUIRED.value(),
+                "Falta If-Match con el ETag de la versión que se quiere modificar");
+        return false;
+    }
+
+    // El mismo recurso puede salir en JSON o en Smile según Accept: las caches compartidas
+    // deben guardarlos por separado
+    private void cabecerasCache(HttpServletResponse response) {
+        response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl);
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+    }
+
+    // Solo las rutas de un elemento (/{id}); /isbn/{isbn} y los filtros van por la versión del listado
+    @SuppressWarnings("unchecked")
+    private static Long idElemento(HttpServletRequest request) {
+        String patron = (String) request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        Map<String, String> variables =
+                (Map<String, String>) request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+        if (patron == null || !patron.endsWith("/{id}") || variables == null) {
+            return null;
+        }
+        try {
+            return Long.valueOf(variables.get("id"));
+        } catch (NumberFormatException e) {
+            // El controlador devolverá el 400 de siempre
+            return null;
+        }
+    }
+
+    // Las columnas datetime(6) guardan microsegundos: el ETag cambia en cada actualización
+    private static long micros(LocalDateTime fecha) {
+        return ChronoUnit.MICROS.between(LocalDateTime.of(1970, 1, 1, 0, 0), fecha);
+    }
+
+    // If-Modified-Since tiene resolución de segundos; Spring compara truncando
+    private static long millis(LocalDateTime fecha) {
+        return fecha.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
@@ -0,0 +1,49 @@
+package com.biblioteca.config;
+
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+/**
+ * Pool de R2DBC para la API reactiva de solo lectura. El ConnectionFactory no se
+ * publica como bean (y R2dbcAutoConfiguration está excluida): en cuanto existe uno,
+ * Spring Boot deja de crear el DataSource de JDBC del que dependen JPA y Flyway.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "biblioteca.reactivo", name = "enabled", havingValue = "true")
+public class R2dbcConfig {
+
+    private final ConnectionPool pool;
+
+    public R2dbcConfig(@Value("${biblioteca.reactivo.url}") String url,
+                       @Value("${biblioteca.reactivo.username}") String username,
+                       @Value("${biblioteca.reactivo.password}") String password,
+                       @Value("${biblioteca.reactivo.pool-size:20}") int poolSize) {
+        ConnectionFactoryOptions opciones = ConnectionFactoryOptions.parse(url).mutate()
+                .option(ConnectionFactoryOptions.USER, username)
+                .option(ConnectionFactoryOptions.PASSWORD, password)
+                .build();
+        this.pool = new ConnectionPool(ConnectionPoolConfiguration.builder(ConnectionFactories.get(opciones))
+                .name("biblioteca-reactivo")
+                .initialSize(poolSize)
+                .maxSize(poolSize)
+                .build());
+    }
+
+    @Bean
+    public DatabaseClient databaseClient() {
+        return DatabaseClient.create(pool);
+    }
+
+    @PreDestroy
+    void cerrar() {
+        pool.dispose();
+    }
+}
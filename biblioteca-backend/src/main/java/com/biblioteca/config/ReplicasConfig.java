@@ -0,0 +1,128 @@
+package com.biblioteca.config;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.CacheStoreMode;
+import jakarta.persistence.EntityManager;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.hibernate.jpa.SpecHints;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Separación de lecturas y escrituras: sustituye el DataSource de Spring Boot por
+ * un ReplicasDataSource con la primaria (spring.datasource.*) y un pool por cada
+ * URL de biblioteca.replicas.urls. Las réplicas copian la configuración de Hikari
+ * de la primaria y se abren en modo solo lectura.
+ *
+ * <p>Los pools no se publican como beans: el único DataSource es el proxy, y Flyway
+ * y las conexiones sin transacción van siempre a la primaria. Por eso las métricas
+ * de Hikari (hikaricp.*, etiqueta pool) se enlazan aquí y no en la autoconfiguración.
+ *
+ * <p>Las transacciones que pueden leer de una réplica no llenan las caches de
+ * Hibernate: una réplica retrasada, justo después de un UPDATE masivo que ha
+ * vaciado la región, dejaría en la cache la fila antigua para todas las lecturas
+ * siguientes, también las que van a la primaria.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "biblioteca.replicas", name = "enabled", havingValue = "true")
+public class ReplicasConfig {
+
+    private ReplicasDataSource replicasDataSource;
+
+    @Bean
+    public DataSource dataSource(DataSourceProperties properties, Environment environment,
+                                 ObjectProvider<MeterRegistry> meterRegistry,
+                                 @Value("${biblioteca.replicas.urls}") List<String> urls,
+                                 @Value("${biblioteca.replicas.username}") String username,
+                                 @Value("${biblioteca.replicas.password}") String password,
+                                 @Value("${biblioteca.replicas.lag-query}") String consultaRetraso,
+                                 @Value("${biblioteca.replicas.lag-column}") String columnaRetraso,
+                                 @Value("${biblioteca.replicas.max-lag-seconds:5}") long maxRetrasoSegundos,
+                                 @Value("${biblioteca.replicas.lag-check-interval-ms:2000}") long intervaloMillis) {
+        // Lo mismo que hace Spring Boot con su DataSource de Hikari
+        HikariDataSource primaria = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(primaria));
+        meterRegistry.ifAvailable(registry -> primaria.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry)));
+
+        List<HikariDataSource> replicas = new ArrayList<>();
+        for (String url : urls) {
+            if (url.isBlank()) {
+                continue;
+            }
+            HikariConfig config = new HikariConfig();
+            primaria.copyStateTo(config);
+            config.setJdbcUrl(url.trim());
+            config.setUsername(username);
+            config.setPassword(password);
+            config.setPoolName(primaria.getPoolName() + "-replica-" + (replicas.size() + 1));
+            config.setReadOnly(true);
+            // Sin conexiones al arrancar: una réplica caída no debe impedir el arranque
+            config.setInitializationFailTimeout(-1);
+            replicas.add(new HikariDataSource(config));
+        }
+
+        replicasDataSource = new ReplicasDataSource(primaria, replicas, consultaRetraso, columnaRetraso,
+                maxRetrasoSegundos, intervaloMillis);
+        return new LazyConnectionDataSourceProxy(replicasDataSource);
+    }
+
+    /**
+     * Al empezar cada transacción que puede ir a una réplica (la decisión de guardar
+     * una consulta cacheable se toma antes de pedir la conexión), su EntityManager
+     * deja de llenar las caches:
+     * <ul>
+     *   <li>find() sigue leyendo de la cache de entidades pero no guarda lo que carga
+     *   (retrieveMode USE y storeMode BYPASS, que es lo que mira find());</li>
+     *   <li>las consultas, con CacheMode.IGNORE en la sesión, no usan la cache de
+     *   consultas: con GET, Hibernate 6.6 guarda el resultado igualmente si no lo
+     *   encuentra, y tampoco meten en la cache las entidades que cargan.</li>
+     * </ul>
+     * Spring Boot añade el listener al gestor de transacciones.
+     */
+    @Bean
+    public TransactionExecutionListener lecturasDeReplicaSinCache() {
+        return new TransactionExecutionListener() {
+            @Override
+            public void afterBegin(TransactionExecution transaction, Throwable beginFailure) {
+                if (beginFailure != null || !ReplicasDataSource.lecturaEnReplica()) {
+                    return;
+                }
+                for (Object recurso : TransactionSynchronizationManager.getResourceMap().values()) {
+                    if (recurso instanceof EntityManagerHolder holder) {
+                        EntityManager entityManager = holder.getEntityManager();
+                        entityManager.setProperty(SpecHints.HINT_SPEC_CACHE_STORE_MODE, CacheStoreMode.BYPASS);
+                        entityManager.unwrap(Session.class).setCacheMode(CacheMode.IGNORE);
+                    }
+                }
+            }
+        };
+    }
+
+    @PreDestroy
+    void cerrar() {
+        if (replicasDataSource != null) {
+            replicasDataSource.close();
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package com.biblioteca.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Enruta las conexiones según la transacción en curso: las readOnly van a una
+ * réplica (por turnos) y todo lo demás a la primaria. Tiene que usarse detrás de
+ * un LazyConnectionDataSourceProxy, para que la conexión se pida en la primera
+ * sentencia, cuando la transacción ya está marcada como readOnly.
+ *
+ * <p>Una réplica solo recibe lecturas mientras su retraso, medido cada cierto
+ * tiempo con la consulta configurada, no supera el máximo; si no responde, o
+ * falla al dar una conexión, se salta hasta la siguiente comprobación. Sin
+ * réplicas disponibles se lee de la primaria. Además, en cuanto una petición
+ * abre una transacción de escritura, el resto de sus lecturas van a la primaria
+ * para que vea lo que acaba de escribir.
+ *
+ * <p>Lo que se lee de una réplica puede ir por detrás de la primaria, así que no
+ * debe entrar en la cache de segundo nivel ni en la de consultas (ver
+ * ReplicasConfig): las transacciones que pueden ir a una réplica lo dicen
+ * {@link #lecturaEnReplica()}.
+ */
+public class ReplicasDataSource extends AbstractDataSource implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicasDataSource.class);
+
+    // Atributo de la petición que la fija a la primaria tras una escritura
+    static final String ESCRITURA_EN_PETICION = ReplicasDataSource.class.getName() + ".escritura";
+
+    private final HikariDataSource primaria;
+    private final List<Replica> replicas;
+    private final String consultaRetraso;
+    private final String columnaRetraso;
+    private final long maxRetrasoSegundos;
+    private final AtomicInteger turno = new AtomicInteger();
+    private final ScheduledExecutorService comprobador;
+
+    public ReplicasDataSource(HikariDataSource primaria, List<HikariDataSource> replicas, String consultaRetraso,
+                              String columnaRetraso, long maxRetrasoSegundos, long intervaloMillis) {
+        this.primaria = primaria;
+        this.replicas = replicas.stream().map(Replica::new).toList();
+        this.consultaRetraso = consultaRetraso;
+        this.columnaRetraso = columnaRetraso;
+        this.maxRetrasoSegundos = maxRetrasoSegundos;
+        CustomizableThreadFactory hilos = new CustomizableThreadFactory("replicas-retraso-");
+        hilos.setDaemon(true);
+        this.comprobador = Executors.newSingleThreadScheduledExecutor(hilos);
+        // La primera comprobación es síncrona: hasta que se mide, una réplica no recibe lecturas
+        comprobarRetraso();
+        comprobador.scheduleWithFixedDelay(this::comprobarRetraso, intervaloMillis, intervaloMillis,
+                TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (TransactionSynchronizationManager.isActualTransactionActive()) {
+                marcarEscritura();
+            }
+            return primaria.getConnection();
+        }
+        if (lecturaEnReplica()) {
+            for (int intento = 0; intento < replicas.size(); intento++) {
+                Replica replica = siguienteDisponible();
+                if (replica == null) {
+                    break;
+                }
+                try {
+                    return replica.dataSource.getConnection();
+                } catch (SQLException e) {
+                    replica.actualizar(null, e);
+                }
+            }
+        }
+        return primaria.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return primaria.getConnection(username, password);
+    }
+
+    // Mide el retraso de cada réplica; null si no se puede (no replica, no responde...)
+    void comprobarRetraso() {
+        for (Replica replica : replicas) {
+            try (Connection conexion = replica.dataSource.getConnection();
+                 Statement sentencia = conexion.createStatement();
+                 ResultSet resultado = sentencia.executeQuery(consultaRetraso)) {
+                Long retraso = null;
+                if (resultado.next()) {
+                    long segundos = resultado.getLong(columnaRetraso);
+                    retraso = resultado.wasNull() ? null : segundos;
+                }
+                replica.actualizar(retraso, null);
+            } catch (SQLException | RuntimeException e) {
+                replica.actualizar(null, e);
+            }
+        }
+    }
+
+    // Transacción readOnly de una petición que aún no ha escrito: se lee de una réplica si hay alguna
+    static boolean lecturaEnReplica() {
+        return TransactionSynchronizationManager.isCurrentTransactionReadOnly() && !escrituraEnPeticion();
+    }
+
+    private Replica siguienteDisponible() {
+        int n = replicas.size();
+        int inicio = Math.floorMod(turno.getAndIncrement(), n);
+        for (int i = 0; i < n; i++) {
+            Replica replica = replicas.get((inicio + i) % n);
+            if (replica.disponible) {
+                return replica;
+            }
+        }
+        return null;
+    }
+
+    private static void marcarEscritura() {
+        RequestAttributes peticion = RequestContextHolder.getRequestAttributes();
+        if (peticion != null) {
+            peticion.setAttribute(ESCRITURA_EN_PETICION, Boolean.TRUE, RequestAttributes.SCOPE_REQUEST);
+        }
+    }
+
+    private static boolean escrituraEnPeticion() {
+        RequestAttributes peticion = RequestContextHolder.getRequestAttributes();
+        return peticion != null
+                && peticion.getAttribute(ESCRITURA_EN_PETICION, RequestAttributes.SCOPE_REQUEST) != null;
+    }
+
+    @Override
+    public void close() {
+        comprobador.shutdownNow();
+        replicas.forEach(replica -> replica.dataSource.close());
+        primaria.close();
+    }
+
+    private final class Replica {
+
+        private final HikariDataSource dataSource;
+        private volatile boolean disponible;
+        private boolean medida;
+
+        Replica(HikariDataSource dataSource) {
+            this.dataSource = dataSource;
+        }
+
+        void actualizar(Long retraso, Exception error) {
+            boolean ahora = retraso != null && retraso <= maxRetrasoSegundos;
+            if (!medida || ahora != disponible) {
+                if (ahora) {
+                    log.info("Réplica {} disponible para lecturas (retraso {} s)", dataSource.getPoolName(), retraso);
+                } else if (error != null) {
+                    log.warn("Réplica {} retirada de las lecturas: {}", dataSource.getPoolName(), error.getMessage());
+                } else {
+                    log.warn("Réplica {} retirada de las lecturas: retraso {} s (máximo {} s)",
+                            dataSource.getPoolName(), retraso, maxRetrasoSegundos);
+                }
+            }
+            disponible = ahora;
+            medida = true;
+        }
+    }
+}
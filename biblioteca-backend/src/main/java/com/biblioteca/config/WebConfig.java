@@ -1,4 +1,67 @@
 package com.biblioteca.config;
 
-public class WebConfig {
+import com.biblioteca.model.ElementoBiblioteca.TipoElemento;
+import com.biblioteca.service.CatalogoService;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.CacheControl;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    private final CatalogoService catalogoService;
+    private final String cacheControl;
+    private final boolean ifMatchObligatorio;
+
+    // max-age 0 por defecto: el navegador (o un proxy) guarda la respuesta pero la
+    // revalida siempre, y la revalidación es un 304 sin cuerpo
+    @Autowired
+    public WebConfig(CatalogoService catalogoService,
+                     @Value("${biblioteca.http.cache.max-age-seconds:0}") long maxAgeSegundos,
+                     @Value("${biblioteca.http.if-match-required:false}") boolean ifMatchObligatorio) {
+        this.catalogoService = catalogoService;
+        this.ifMatchObligatorio = ifMatchObligatorio;
+        this.cacheControl = CacheControl.maxAge(maxAgeSegundos, TimeUnit.SECONDS)
+                .mustRevalidate()
+                .cachePublic()
+                .getHeaderValue();
+    }
+
+    // Formato binario opcional para cualquier respuesta JSON (Accept: application/x-jackson-smile).
+    // Se construye con el builder de Spring Boot para respetar la configuración spring.jackson.*
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        SmileFactory factory = SmileFactory.builder()
+                .enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES)
+                .build();
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(factory).build());
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        condicional(registry, EnumSet.of(TipoElemento.LIBRO), "/api/libros/**");
+        condicional(registry, EnumSet.of(TipoElemento.REVISTA), "/api/revistas/**");
+        condicional(registry, EnumSet.of(TipoElemento.DVD), "/api/dvds/**");
+        condicional(registry, EnumSet.allOf(TipoElemento.class), "/api/catalogo/**");
+    }
+
+    // /search sale del índice de Lucene, que se actualiza después del commit: la versión
+    // de la base podría adelantarse al índice y dejar un resultado antiguo con el ETag nuevo
+    private void condicional(InterceptorRegistry registry, Set<TipoElemento> tipos, String rutas) {
+        registry.addInterceptor(new PeticionCondicionalInterceptor(catalogoService, tipos, cacheControl, ifMatchObligatorio))
+                .addPathPatterns(rutas)
+                .excludePathPatterns(rutas.replace("**", "search"));
+    }
 }
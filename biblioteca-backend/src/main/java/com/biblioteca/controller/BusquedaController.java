@@ -0,0 +1,27 @@
+package com.biblioteca.controller;
+
+import com.biblioteca.dto.BusquedaGlobalDTO;
+import com.biblioteca.service.BusquedaService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/search")
+@CrossOrigin(origins = {"http://localhost:3000", "http://127.0.0.1:3000"})
+public class BusquedaController {
+
+    private final BusquedaService busquedaService;
+
+    @Autowired
+    public BusquedaController(BusquedaService busquedaService) {
+        this.busquedaService = busquedaService;
+    }
+
+    @GetMapping
+    public ResponseEntity<BusquedaGlobalDTO> search(@RequestParam String query,
+                                                    @RequestParam(required = false) Integer size) {
+        BusquedaGlobalDTO resultado = busquedaService.search(query, size);
+        return ResponseEntity.ok(resultado);
+    }
+}
@@ -0,0 +1,28 @@
+package com.biblioteca.controller;
+
+import com.biblioteca.dto.CacheRegionStatsDTO;
+import com.biblioteca.service.CacheService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/cache")
+@CrossOrigin(origins = {"http://localhost:3000", "http://127.0.0.1:3000"})
+public class CacheController {
+
+    private final CacheService cacheService;
+
+    @Autowired
+    public CacheController(CacheService cacheService) {
+        this.cacheService = cacheService;
+    }
+
+    @GetMapping("/stats")
+    public ResponseEntity<List<CacheRegionStatsDTO>> getStats() {
+        List<CacheRegionStatsDTO> stats = cacheService.getStats();
+        return ResponseEntity.ok(stats);
+    }
+}
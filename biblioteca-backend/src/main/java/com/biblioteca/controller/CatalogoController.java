@@ -0,0 +1,33 @@
+package com.biblioteca.controller;
+
+import com.biblioteca.dto.CatalogoFiltroDTO;
+import com.biblioteca.dto.CursorPageDTO;
+import com.biblioteca.dto.ElementoBibliotecaDTO;
+import com.biblioteca.service.CatalogoService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/catalogo")
+@CrossOrigin(origins = {"http://localhost:3000", "http://127.0.0.1:3000"})
+public class CatalogoController {
+
+    private final CatalogoService catalogoService;
+
+    @Autowired
+    public CatalogoController(CatalogoService catalogoService) {
+        this.catalogoService = catalogoService;
+    }
+
+    // Filtro sobre todos los tipos: /filtro?tipos=LIBRO,DVD&disponible=true&orden=anoPublicacion,desc
+    @GetMapping("/filtro")
+    public ResponseEntity<CursorPageDTO<ElementoBibliotecaDTO>> filtrar(
+            CatalogoFiltroDTO filtro,
+            @RequestParam(required = false) String orden,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        CursorPageDTO<ElementoBibliotecaDTO> elementos = catalogoService.filtrar(filtro, orden, cursor, size);
+        return ResponseEntity.ok(elementos);
+    }
+}
@@ -1,14 +1,26 @@
 package com.biblioteca.controller;
 
+import com.biblioteca.config.EtagElemento;
+import com.biblioteca.dto.BatchResultDTO;
+import com.biblioteca.dto.CursorPageDTO;
+import com.biblioteca.dto.FacetasDTO;
 import com.biblioteca.dto.DVDDTO;
+import com.biblioteca.dto.DVDFiltroDTO;
+import com.biblioteca.model.ElementoBiblioteca.TipoElemento;
+import com.biblioteca.service.FormatoExportacion;
 import com.biblioteca.service.DVDService;
+import com.fasterxml.jackson.databind.JsonNode;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/dvds")
@@ -23,11 +35,46 @@ public class DVDController {
     }
 
     @GetMapping
-    public ResponseEntity<List<DVDDTO>> getAllDVDs() {
-        List<DVDDTO> dvds = dvdService.findAll();
+    public ResponseEntity<CursorPageDTO<DVDDTO>> getAllDVDs(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        CursorPageDTO<DVDDTO> dvds = dvdService.findAll(cursor, size);
         return ResponseEntity.ok(dvds);
     }
 
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportDVDs(@RequestParam(defaultValue = "ndjson") String formato) {
+        FormatoExportacion formatoExportacion = FormatoExportacion.from(formato);
+        StreamingResponseBody body = out -> dvdService.export(formatoExportacion, out);
+        return ResponseEntity.ok()
+                .contentType(formatoExportacion.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"dvds." + formatoExportacion.getExtension() + "\"")
+                .body(body);
+    }
+
+    // Filtro combinable: /filtro?genero=...&precioMax=...&orden=precio,desc
+    @GetMapping("/filtro")
+    public ResponseEntity<CursorPageDTO<DVDDTO>> filtrarDVDs(
+            DVDFiltroDTO filtro,
+            @RequestParam(required = false) String orden,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        CursorPageDTO<DVDDTO> dvds = dvdService.filtrar(filtro, orden, cursor, size);
+        return ResponseEntity.ok(dvds);
+    }
+
+    // Mismos parámetros que /filtro; añade los conteos por faceta
+    @GetMapping("/facetas")
+    public ResponseEntity<FacetasDTO<DVDDTO>> getFacetasDVDs(
+            DVDFiltroDTO filtro,
+            @RequestParam(required = false) String orden,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        FacetasDTO<DVDDTO> facetas = dvdService.facetas(filtro, orden, cursor, size);
+        return ResponseEntity.ok(facetas);
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<DVDDTO> getDVDById(@PathVariable Long id) {
         return dvdService.findById(id)
@@ -41,10 +88,61 @@ public class DVDController {
         return new ResponseEntity<>(savedDVD, HttpStatus.CREATED);
     }
 
+    // If-Match con el ETag leído; sin él se comprueba la versión del cuerpo, si la trae. 412 si ha cambiado
     @PutMapping("/{id}")
-    public ResponseEntity<DVDDTO> updateDVD(@PathVariable Long id, @Valid @RequestBody DVDDTO dvdDTO) {
+    public ResponseEntity<DVDDTO> updateDVD(@PathVariable Long id, @Valid @RequestBody DVDDTO dvdDTO,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Long version = EtagElemento.versionEsperada(ifMatch, TipoElemento.DVD, id);
+        if (version != null) {
+            dvdDTO.setVersion(version);
+        }
         DVDDTO updatedDVD = dvdService.update(id, dvdDTO);
-        return ResponseEntity.ok(updatedDVD);
+        return ResponseEntity.ok()
+                .eTag(EtagElemento.de(TipoElemento.DVD, id, updatedDVD.getVersion()))
+                .body(updatedDVD);
+    }
+
+    // Un solo ejemplar; 409 si ya está prestado
+    @PostMapping("/{id}/prestamo")
+    public ResponseEntity<DVDDTO> prestarDVD(@PathVariable Long id) {
+        DVDDTO dvd = dvdService.prestar(id);
+        return ResponseEntity.ok(dvd);
+    }
+
+    @PostMapping("/{id}/devolucion")
+    public ResponseEntity<DVDDTO> devolverDVD(@PathVariable Long id) {
+        DVDDTO dvd = dvdService.devolver(id);
+        return ResponseEntity.ok(dvd);
+    }
+
+    // Operaciones masivas: cada elemento informa su propio resultado
+    @PostMapping("/batch")
+    public ResponseEntity<BatchResultDTO> createDVDsBatch(@RequestBody List<DVDDTO> dvds) {
+        BatchResultDTO resultado = dvdService.saveAll(dvds);
+        return ResponseEntity.ok(resultado);
+    }
+
+    @PutMapping("/batch")
+    public ResponseEntity<BatchResultDTO> updateDVDsBatch(@RequestBody List<DVDDTO> dvds) {
+        BatchResultDTO resultado = dvdService.updateAll(dvds);
+        return ResponseEntity.ok(resultado);
+    }
+
+    @DeleteMapping("/batch")
+    public ResponseEntity<BatchResultDTO> deleteDVDsBatch(@RequestBody List<Long> ids) {
+        BatchResultDTO resultado = dvdService.deleteAllById(ids);
+        return ResponseEntity.ok(resultado);
+    }
+
+    // JSON Merge Patch: solo los campos enviados (null borra el valor), en un único UPDATE y sin
+    // leer antes el elemento. 204 con el ETag nuevo si se envió If-Match (o version en el cuerpo)
+    @PatchMapping(value = "/{id}", consumes = {"application/merge-patch+json", MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<Void> patchDVD(@PathVariable Long id, @RequestBody JsonNode parche,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Optional<Long> version = dvdService.patch(id, parche, EtagElemento.versionEsperada(ifMatch, TipoElemento.DVD, id));
+        return version
+                .map(v -> ResponseEntity.noContent().eTag(EtagElemento.de(TipoElemento.DVD, id, v)).<Void>build())
+                .orElseGet(() -> ResponseEntity.noContent().build());
     }
 
     @DeleteMapping("/{id}")
@@ -54,40 +152,56 @@ public class DVDController {
     }
 
     @GetMapping("/search")
-    public ResponseEntity<List<DVDDTO>> searchDVDs(@RequestParam String query) {
-        List<DVDDTO> dvds = dvdService.search(query);
+    public ResponseEntity<CursorPageDTO<DVDDTO>> searchDVDs(
+            @RequestParam String query,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        CursorPageDTO<DVDDTO> dvds = dvdService.search(query, cursor, size);
         return ResponseEntity.ok(dvds);
     }
 
     @GetMapping("/genero")
-    public ResponseEntity<List<DVDDTO>> getDVDsByGenero(@RequestParam String genero) {
-        List<DVDDTO> dvds = dvdService.findByGenero(genero);
+    public ResponseEntity<CursorPageDTO<DVDDTO>> getDVDsByGenero(
+            @RequestParam String genero,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        CursorPageDTO<DVDDTO> dvds = dvdService.findByGenero(genero, cursor, size);
         return ResponseEntity.ok(dvds);
     }
 
     @GetMapping("/director")
-    public ResponseEntity<List<DVDDTO>> getDVDsByDirector(@RequestParam String director) {
-        List<DVDDTO> dvds = dvdService.findByDirector(director);
+    public ResponseEntity<CursorPageDTO<DVDDTO>> getDVDsByDirector(
+            @RequestParam String director,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        CursorPageDTO<DVDDTO> dvds = dvdService.findByDirector(director, cursor, size);
         return ResponseEntity.ok(dvds);
     }
 
     @GetMapping("/clasificacion")
-    public ResponseEntity<List<DVDDTO>> getDVDsByClasificacion(@RequestParam String clasificacion) {
-        List<DVDDTO> dvds = dvdService.findByClasificacion(clasificacion);
+    public ResponseEntity<CursorPageDTO<DVDDTO>> getDVDsByClasificacion(
+            @RequestParam String clasificacion,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        CursorPageDTO<DVDDTO> dvds = dvdService.findByClasificacion(clasificacion, cursor, size);
         return ResponseEntity.ok(dvds);
     }
 
     @GetMapping("/duracion")
-    public ResponseEntity<List<DVDDTO>> getDVDsByDuracion(
+    public ResponseEntity<CursorPageDTO<DVDDTO>> getDVDsByDuracion(
             @RequestParam Integer minDuracion,
-            @RequestParam Integer maxDuracion) {
-        List<DVDDTO> dvds = dvdService.findByDuracionBetween(minDuracion, maxDuracion);
+            @RequestParam Integer maxDuracion,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        CursorPageDTO<DVDDTO> dvds = dvdService.findByDuracionBetween(minDuracion, maxDuracion, cursor, size);
         return ResponseEntity.ok(dvds);
     }
 
     @GetMapping("/disponibles")
-    public ResponseEntity<List<DVDDTO>> getDVDsDisponibles() {
-        List<DVDDTO> dvds = dvdService.findByDisponible(true);
+    public ResponseEntity<CursorPageDTO<DVDDTO>> getDVDsDisponibles(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        CursorPageDTO<DVDDTO> dvds = dvdService.findByDisponible(true, cursor, size);
         return ResponseEntity.ok(dvds);
     }
 }
\ No newline at end of file
@@ -1,4 +1,26 @@
 package com.biblioteca.controller;
 
+import com.biblioteca.dto.DashboardStatsDTO;
+import com.biblioteca.service.DashboardService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/dashboard")
+@CrossOrigin(origins = {"http://localhost:3000", "http://127.0.0.1:3000"})
 public class DashboardController {
+
+    private final DashboardService dashboardService;
+
+    @Autowired
+    public DashboardController(DashboardService dashboardService) {
+        this.dashboardService = dashboardService;
+    }
+
+    @GetMapping("/stats")
+    public ResponseEntity<DashboardStatsDTO> getStats() {
+        DashboardStatsDTO stats = dashboardService.getStats();
+        return ResponseEntity.ok(stats);
+    }
 }
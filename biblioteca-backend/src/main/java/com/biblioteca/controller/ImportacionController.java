@@ -0,0 +1,65 @@
+package com.biblioteca.controller;
+
+import com.biblioteca.dto.ImportacionDTO;
+import com.biblioteca.model.ElementoBiblioteca.TipoElemento;
+import com.biblioteca.service.ImportacionService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.util.Locale;
+
+@RestController
+@RequestMapping("/api/importaciones")
+@CrossOrigin(origins = {"http://localhost:3000", "http://127.0.0.1:3000"})
+public class ImportacionController {
+
+    private final ImportacionService importacionService;
+
+    @Autowired
+    public ImportacionController(ImportacionService importacionService) {
+        this.importacionService = importacionService;
+    }
+
+    // El fichero se guarda y se procesa en segundo plano; el progreso se consulta con GET /{id}
+    @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ImportacionDTO> iniciarImportacion(@RequestParam String tipo,
+                                                             @RequestParam MultipartFile archivo) throws IOException {
+        ImportacionDTO importacion;
+        try (InputStream contenido = archivo.getInputStream()) {
+            importacion = importacionService.iniciar(parseTipo(tipo), archivo.getOriginalFilename(), contenido);
+        }
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/importaciones/" + importacion.getId()))
+                .body(importacion);
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<ImportacionDTO> getImportacion(@PathVariable String id) {
+        return importacionService.findById(id)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    @PostMapping("/{id}/reanudar")
+    public ResponseEntity<ImportacionDTO> reanudarImportacion(@PathVariable String id) {
+        ImportacionDTO importacion = importacionService.reanudar(id);
+        return ResponseEntity.accepted().body(importacion);
+    }
+
+    // Admite "libro", "libros", "LIBRO", "dvds"...
+    private static TipoElemento parseTipo(String tipo) {
+        String valor = tipo.trim().toUpperCase(Locale.ROOT);
+        for (TipoElemento t : TipoElemento.values()) {
+            if (valor.equals(t.name()) || valor.equals(t.name() + "S")) {
+                return t;
+            }
+        }
+        throw new IllegalArgumentException("Tipo de importación no soportado: " + tipo);
+    }
+}
@@ -0,0 +1,221 @@
+package com.biblioteca.controller;
+
+import com.biblioteca.dto.CursorPageDTO;
+import com.biblioteca.dto.DVDDTO;
+import com.biblioteca.dto.LibroDTO;
+import com.biblioteca.dto.RevistaDTO;
+import com.biblioteca.service.LecturaReactivaService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+
+/**
+ * Réplica de solo lectura de los GET de /api/libros, /api/revistas y /api/dvds
+ * sobre R2DBC. Spring MVC suscribe el Flux sin ocupar el hilo de Tomcat mientras
+ * espera a la base de datos. Con Accept: application/x-ndjson cada DTO se escribe
+ * en cuanto llega y se pide la fila siguiente al terminar (contrapresión hasta el
+ * driver); sin size el flujo llega hasta el final del catálogo. Con
+ * application/json se devuelve una página (CursorPageDTO) de size elementos, 20
+ * por defecto y 100 como máximo, con el cursor de la siguiente: un array JSON se
+ * construye entero en memoria antes de escribirse. Las escrituras siguen en los
+ * controladores de JPA.
+ */
+@RestController
+@RequestMapping("/api/reactivo")
+@CrossOrigin(origins = {"http://localhost:3000", "http://127.0.0.1:3000"})
+@ConditionalOnProperty(prefix = "biblioteca.reactivo", name = "enabled", havingValue = "true")
+public class LecturaReactivaController {
+
+    private static final String NDJSON = MediaType.APPLICATION_NDJSON_VALUE;
+    private static final String JSON = MediaType.APPLICATION_JSON_VALUE;
+
+    private final LecturaReactivaService lecturaReactivaService;
+
+    @Autowired
+    public LecturaReactivaController(LecturaReactivaService lecturaReactivaService) {
+        this.lecturaReactivaService = lecturaReactivaService;
+    }
+
+    @GetMapping(value = "/libros", produces = NDJSON)
+    public Flux<LibroDTO> streamLibros(@RequestParam(required = false) String cursor,
+                                       @RequestParam(required = false) Integer size) {
+        return lecturaReactivaService.findLibros(cursor, size);
+    }
+
+    @GetMapping(value = "/libros", produces = JSON)
+    public Mono<CursorPageDTO<LibroDTO>> getLibros(@RequestParam(required = false) String cursor,
+                                                   @RequestParam(required = false) Integer size) {
+        return lecturaReactivaService.pagina(lecturaReactivaService::findLibros, LibroDTO::getId, cursor, size);
+    }
+
+    @GetMapping("/libros/{id:\\d+}")
+    public Mono<ResponseEntity<LibroDTO>> getLibroById(@PathVariable Long id) {
+        return lecturaReactivaService.findLibroById(id)
+                .map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    @GetMapping("/libros/isbn/{isbn}")
+    public Mono<ResponseEntity<LibroDTO>> getLibroByIsbn(@PathVariable String isbn) {
+        return lecturaReactivaService.findLibroByIsbn(isbn)
+                .map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    @GetMapping(value = "/libros/disponibles", produces = NDJSON)
+    public Flux<LibroDTO> streamLibrosDisponibles(@RequestParam(required = false) String cursor,
+                                                  @RequestParam(required = false) Integer size) {
+        return lecturaReactivaService.findLibrosDisponibles(cursor, size);
+    }
+
+    @GetMapping(value = "/libros/disponibles", produces = JSON)
+    public Mono<CursorPageDTO<LibroDTO>> getLibrosDisponibles(@RequestParam(required = false) String cursor,
+                                                              @RequestParam(required = false) Integer size) {
+        return lecturaReactivaService.pagina(
+                lecturaReactivaService::findLibrosDisponibles,
+                LibroDTO::getId, cursor, size);
+    }
+
+    // /libros/genero?genero=..., /libros/editorial?editorial=..., /libros/autor?autor=...
+    @GetMapping(value = "/libros/{campo:genero|editorial|autor}", produces = NDJSON)
+    public Flux<LibroDTO> streamLibrosBy(@PathVariable String campo,
+                                         @RequestParam Map<String, String> parametros,
+                                         @RequestParam(required = false) String cursor,
+                                         @RequestParam(required = false) Integer size) {
+        return lecturaReactivaService.findLibrosBy(campo, parametros.get(campo), cursor, size);
+    }
+
+    @GetMapping(value = "/libros/{campo:genero|editorial|autor}", produces = JSON)
+    public Mono<CursorPageDTO<LibroDTO>> getLibrosBy(@PathVariable String campo,
+                                                     @RequestParam Map<String, String> parametros,
+                                                     @RequestParam(required = false) String cursor,
+                                                     @RequestParam(required = false) Integer size) {
+        return lecturaReactivaService.pagina(
+                (c, s) -> lecturaReactivaService.findLibrosBy(campo, parametros.get(campo), c, s),
+                LibroDTO::getId, cursor, size);
+    }
+
+    @GetMapping(value = "/revistas", produces = NDJSON)
+    public Flux<RevistaDTO> streamRevistas(@RequestParam(required = false) String cursor,
+                                           @RequestParam(required = false) Integer size) {
+        return lecturaReactivaService.findRevistas(cursor, size);
+    }
+
+    @GetMapping(value = "/revistas", produces = JSON)
+    public Mono<CursorPageDTO<RevistaDTO>> getRevistas(@RequestParam(required = false) String cursor,
+                                                       @RequestParam(required = false) Integer size) {
+        return lecturaReactivaService.pagina(lecturaReactivaService::findRevistas, RevistaDTO::getId, cursor, size);
+    }
+
+    @GetMapping("/revistas/{id:\\d+}")
+    public Mono<ResponseEntity<RevistaDTO>> getRevistaById(@PathVariable Long id) {
+        return lecturaReactivaService.findRevistaById(id)
+                .map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    @GetMapping(value = "/revistas/disponibles", produces = NDJSON)
+    public Flux<RevistaDTO> streamRevistasDisponibles(@RequestParam(required = false) String cursor,
+                                                      @RequestParam(required = false) Integer size) {
+        return lecturaReactivaService.findRevistasDisponibles(cursor, size);
+    }
+
+    @GetMapping(value = "/revistas/disponibles", produces = JSON)
+    public Mono<CursorPageDTO<RevistaDTO>> getRevistasDisponibles(@RequestParam(required = false) String cursor,
+                                                                  @RequestParam(required = false) Integer size) {
+        return lecturaReactivaService.pagina(
+                lecturaReactivaService::findRevistasDisponibles,
+                RevistaDTO::getId, cursor, size);
+    }
+
+    @GetMapping(value = "/revistas/{campo:categoria|periodicidad|editorial|autor}", produces = NDJSON)
+    public Flux<RevistaDTO> streamRevistasBy(@PathVariable String campo,
+                                             @RequestParam Map<String, String> parametros,
+                                             @RequestParam(required = false) String cursor,
+                                             @RequestParam(required = false) Integer size) {
+        return lecturaReactivaService.findRevistasBy(campo, parametros.get(campo), cursor, size);
+    }
+
+    @GetMapping(value = "/revistas/{campo:categoria|periodicidad|editorial|autor}", produces = JSON)
+    public Mono<CursorPageDTO<RevistaDTO>> getRevistasBy(@PathVariable String campo,
+                                                         @RequestParam Map<String, String> parametros,
+                                                         @RequestParam(required = false) String cursor,
+                                                         @RequestParam(required = false) Integer size) {
+        return lecturaReactivaService.pagina(
+                (c, s) -> lecturaReactivaService.findRevistasBy(campo, parametros.get(campo), c, s),
+                RevistaDTO::getId, cursor, size);
+    }
+
+    @GetMapping(value = "/dvds", produces = NDJSON)
+    public Flux<DVDDTO> streamDVDs(@RequestParam(required = false) String cursor,
+                                   @RequestParam(required = false) Integer size) {
+        return lecturaReactivaService.findDVDs(cursor, size);
+    }
+
+    @GetMapping(value = "/dvds", produces = JSON)
+    public Mono<CursorPageDTO<DVDDTO>> getDVDs(@RequestParam(required = false) String cursor,
+                                               @RequestParam(required = false) Integer size) {
+        return lecturaReactivaService.pagina(lecturaReactivaService::findDVDs, DVDDTO::getId, cursor, size);
+    }
+
+    @GetMapping("/dvds/{id:\\d+}")
+    public Mono<ResponseEntity<DVDDTO>> getDVDById(@PathVariable Long id) {
+        return lecturaReactivaService.findDVDById(id)
+                .map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    @GetMapping(value = "/dvds/disponibles", produces = NDJSON)
+    public Flux<DVDDTO> streamDVDsDisponibles(@RequestParam(required = false) String cursor,
+                                              @RequestParam(required = false) Integer size) {
+        return lecturaReactivaService.findDVDsDisponibles(cursor, size);
+    }
+
+    @GetMapping(value = "/dvds/disponibles", produces = JSON)
+    public Mono<CursorPageDTO<DVDDTO>> getDVDsDisponibles(@RequestParam(required = false) String cursor,
+                                                          @RequestParam(required = false) Integer size) {
+        return lecturaReactivaService.pagina(lecturaReactivaService::findDVDsDisponibles, DVDDTO::getId, cursor, size);
+    }
+
+    @GetMapping(value = "/dvds/{campo:genero|director|clasificacion}", produces = NDJSON)
+    public Flux<DVDDTO> streamDVDsBy(@PathVariable String campo,
+                                     @RequestParam Map<String, String> parametros,
+                                     @RequestParam(required = false) String cursor,
+                                     @RequestParam(required = false) Integer size) {
+        return lecturaReactivaService.findDVDsBy(campo, parametros.get(campo), cursor, size);
+    }
+
+    @GetMapping(value = "/dvds/{campo:genero|director|clasificacion}", produces = JSON)
+    public Mono<CursorPageDTO<DVDDTO>> getDVDsBy(@PathVariable String campo,
+                                                 @RequestParam Map<String, String> parametros,
+                                                 @RequestParam(required = false) String cursor,
+                                                 @RequestParam(required = false) Integer size) {
+        return lecturaReactivaService.pagina(
+                (c, s) -> lecturaReactivaService.findDVDsBy(campo, parametros.get(campo), c, s),
+                DVDDTO::getId, cursor, size);
+    }
+
+    @GetMapping(value = "/dvds/duracion", produces = NDJSON)
+    public Flux<DVDDTO> streamDVDsByDuracion(@RequestParam Integer minDuracion,
+                                             @RequestParam Integer maxDuracion,
+                                             @RequestParam(required = false) String cursor,
+                                             @RequestParam(required = false) Integer size) {
+        return lecturaReactivaService.findDVDsByDuracionBetween(minDuracion, maxDuracion, cursor, size);
+    }
+
+    @GetMapping(value = "/dvds/duracion", produces = JSON)
+    public Mono<CursorPageDTO<DVDDTO>> getDVDsByDuracion(@RequestParam Integer minDuracion,
+                                                         @RequestParam Integer maxDuracion,
+                                                         @RequestParam(required = false) String cursor,
+                                                         @RequestParam(required = false) Integer size) {
+        return lecturaReactivaService.pagina(
+                (c, s) -> lecturaReactivaService.findDVDsByDuracionBetween(minDuracion, maxDuracion, c, s),
+                DVDDTO::getId, cursor, size);
+    }
+}
@@ -1,14 +1,26 @@
 package com.biblioteca.controller;
 
+import com.biblioteca.config.EtagElemento;
+import com.biblioteca.dto.BatchResultDTO;
+import com.biblioteca.dto.CursorPageDTO;
+import com.biblioteca.dto.FacetasDTO;
 import com.biblioteca.dto.LibroDTO;
+import com.biblioteca.dto.LibroFiltroDTO;
+import com.biblioteca.model.ElementoBiblioteca.TipoElemento;
+import com.biblioteca.service.FormatoExportacion;
 import com.biblioteca.service.LibroService;
+import com.fasterxml.jackson.databind.JsonNode;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/libros")
@@ -23,11 +35,46 @@ public class LibroController {
     }
 
     @GetMapping
-    public ResponseEntity<List<LibroDTO>> getAllLibros() {
-        List<LibroDTO> libros = libroService.findAll();
+    public ResponseEntity<CursorPageDTO<LibroDTO>> getAllLibros(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        CursorPageDTO<LibroDTO> libros = libroService.findAll(cursor, size);
         return ResponseEntity.ok(libros);
     }
 
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportLibros(@RequestParam(defaultValue = "ndjson") String formato) {
+        FormatoExportacion formatoExportacion = FormatoExportacion.from(formato);
+        StreamingResponseBody body = out -> libroService.export(formatoExportacion, out);
+        return ResponseEntity.ok()
+                .contentType(formatoExportacion.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"libros." + formatoExportacion.getExtension() + "\"")
+                .body(body);
+    }
+
+    // Filtro combinable: /filtro?genero=...&precioMax=...&orden=precio,desc
+    @GetMapping("/filtro")
+    public ResponseEntity<CursorPageDTO<LibroDTO>> filtrarLibros(
+            LibroFiltroDTO filtro,
+            @RequestParam(required = false) String orden,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        CursorPageDTO<LibroDTO> libros = libroService.filtrar(filtro, orden, cursor, size);
+        return ResponseEntity.ok(libros);
+    }
+
+    // Mismos parámetros que /filtro; añade los conteos por faceta
+    @GetMapping("/facetas")
+    public ResponseEntity<FacetasDTO<LibroDTO>> getFacetasLibros(
+            LibroFiltroDTO filtro,
+            @RequestParam(required = false) String orden,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        FacetasDTO<LibroDTO> facetas = libroService.facetas(filtro, orden, cursor, size);
+        return ResponseEntity.ok(facetas);
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<LibroDTO> getLibroById(@PathVariable Long id) {
         return libroService.findById(id)
@@ -41,10 +88,61 @@ public class LibroController {
         return new ResponseEntity<>(savedLibro, HttpStatus.CREATED);
     }
 
+    // If-Match con el ETag leído; sin él se comprueba la versión del cuerpo, si la trae. 412 si ha cambiado
     @PutMapping("/{id}")
-    public ResponseEntity<LibroDTO> updateLibro(@PathVariable Long id, @Valid @RequestBody LibroDTO libroDTO) {
+    public ResponseEntity<LibroDTO> updateLibro(@PathVariable Long id, @Valid @RequestBody LibroDTO libroDTO,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Long version = EtagElemento.versionEsperada(ifMatch, TipoElemento.LIBRO, id);
+        if (version != null) {
+            libroDTO.setVersion(version);
+        }
         LibroDTO updatedLibro = libroService.update(id, libroDTO);
-        return ResponseEntity.ok(updatedLibro);
+        return ResponseEntity.ok()
+                .eTag(EtagElemento.de(TipoElemento.LIBRO, id, updatedLibro.getVersion()))
+                .body(updatedLibro);
+    }
+
+    // Resta o suma un ejemplar; 409 si no queda ninguno que prestar
+    @PostMapping("/{id}/prestamo")
+    public ResponseEntity<LibroDTO> prestarLibro(@PathVariable Long id) {
+        LibroDTO libro = libroService.prestar(id);
+        return ResponseEntity.ok(libro);
+    }
+
+    @PostMapping("/{id}/devolucion")
+    public ResponseEntity<LibroDTO> devolverLibro(@PathVariable Long id) {
+        LibroDTO libro = libroService.devolver(id);
+        return ResponseEntity.ok(libro);
+    }
+
+    // Operaciones masivas: cada elemento informa su propio resultado
+    @PostMapping("/batch")
+    public ResponseEntity<BatchResultDTO> createLibrosBatch(@RequestBody List<LibroDTO> libros) {
+        BatchResultDTO resultado = libroService.saveAll(libros);
+        return ResponseEntity.ok(resultado);
+    }
+
+    @PutMapping("/batch")
+    public ResponseEntity<BatchResultDTO> updateLibrosBatch(@RequestBody List<LibroDTO> libros) {
+        BatchResultDTO resultado = libroService.updateAll(libros);
+        return ResponseEntity.ok(resultado);
+    }
+
+    @DeleteMapping("/batch")
+    public ResponseEntity<BatchResultDTO> deleteLibrosBatch(@RequestBody List<Long> ids) {
+        BatchResultDTO resultado = libroService.deleteAllById(ids);
+        return ResponseEntity.ok(resultado);
+    }
+
+    // JSON Merge Patch: solo los campos enviados (null borra el valor), en un único UPDATE y sin
+    // leer antes el elemento. 204 con el ETag nuevo si se envió If-Match (o version en el cuerpo)
+    @PatchMapping(value = "/{id}", consumes = {"application/merge-patch+json", MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<Void> patchLibro(@PathVariable Long id, @RequestBody JsonNode parche,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Optional<Long> version = libroService.patch(id, parche, EtagElemento.versionEsperada(ifMatch, TipoElemento.LIBRO, id));
+        return version
+                .map(v -> ResponseEntity.noContent().eTag(EtagElemento.de(TipoElemento.LIBRO, id, v)).<Void>build())
+                .orElseGet(() -> ResponseEntity.noContent().build());
     }
 
     @DeleteMapping("/{id}")
@@ -54,26 +152,38 @@ public class LibroController {
     }
 
     @GetMapping("/search")
-    public ResponseEntity<List<LibroDTO>> searchLibros(@RequestParam String query) {
-        List<LibroDTO> libros = libroService.search(query);
+    public ResponseEntity<CursorPageDTO<LibroDTO>> searchLibros(
+            @RequestParam String query,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        CursorPageDTO<LibroDTO> libros = libroService.search(query, cursor, size);
         return ResponseEntity.ok(libros);
     }
 
     @GetMapping("/genero")
-    public ResponseEntity<List<LibroDTO>> getLibrosByGenero(@RequestParam String genero) {
-        List<LibroDTO> libros = libroService.findByGenero(genero);
+    public ResponseEntity<CursorPageDTO<LibroDTO>> getLibrosByGenero(
+            @RequestParam String genero,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        CursorPageDTO<LibroDTO> libros = libroService.findByGenero(genero, cursor, size);
         return ResponseEntity.ok(libros);
     }
 
     @GetMapping("/editorial")
-    public ResponseEntity<List<LibroDTO>> getLibrosByEditorial(@RequestParam String editorial) {
-        List<LibroDTO> libros = libroService.findByEditorial(editorial);
+    public ResponseEntity<CursorPageDTO<LibroDTO>> getLibrosByEditorial(
+            @RequestParam String editorial,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        CursorPageDTO<LibroDTO> libros = libroService.findByEditorial(editorial, cursor, size);
         return ResponseEntity.ok(libros);
     }
 
     @GetMapping("/autor")
-    public ResponseEntity<List<LibroDTO>> getLibrosByAutor(@RequestParam String autor) {
-        List<LibroDTO> libros = libroService.findByAutor(autor);
+    public ResponseEntity<CursorPageDTO<LibroDTO>> getLibrosByAutor(
+            @RequestParam String autor,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        CursorPageDTO<LibroDTO> libros = libroService.findByAutor(autor, cursor, size);
         return ResponseEntity.ok(libros);
     }
 
@@ -85,8 +195,10 @@ public class LibroController {
     }
 
     @GetMapping("/disponibles")
-    public ResponseEntity<List<LibroDTO>> getLibrosDisponibles() {
-        List<LibroDTO> libros = libroService.findByDisponible(true);
+    public ResponseEntity<CursorPageDTO<LibroDTO>> getLibrosDisponibles(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        CursorPageDTO<LibroDTO> libros = libroService.findByDisponible(true, cursor, size);
         return ResponseEntity.ok(libros);
     }
 }
\ No newline at end of file
@@ -1,14 +1,26 @@
 package com.biblioteca.controller;
 
+import com.biblioteca.config.EtagElemento;
+import com.biblioteca.dto.BatchResultDTO;
+import com.biblioteca.dto.CursorPageDTO;
+import com.biblioteca.dto.FacetasDTO;
 import com.biblioteca.dto.RevistaDTO;
+import com.biblioteca.dto.RevistaFiltroDTO;
+import com.biblioteca.model.ElementoBiblioteca.TipoElemento;
+import com.biblioteca.service.FormatoExportacion;
 import com.biblioteca.service.RevistaService;
+import com.fasterxml.jackson.databind.JsonNode;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/revistas")
@@ -23,11 +35,46 @@ public class RevistaController {
     }
 
     @GetMapping
-    public ResponseEntity<List<RevistaDTO>> getAllRevistas() {
-        List<RevistaDTO> revistas = revistaService.findAll();
+    public ResponseEntity<CursorPageDTO<RevistaDTO>> getAllRevistas(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        CursorPageDTO<RevistaDTO> revistas = revistaService.findAll(cursor, size);
         return ResponseEntity.ok(revistas);
     }
 
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportRevistas(@RequestParam(defaultValue = "ndjson") String formato) {
+        FormatoExportacion formatoExportacion = FormatoExportacion.from(formato);
+        StreamingResponseBody body = out -> revistaService.export(formatoExportacion, out);
+        return ResponseEntity.ok()
+                .contentType(formatoExportacion.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"revistas." + formatoExportacion.getExtension() + "\"")
+                .body(body);
+    }
+
+    // Filtro combinable: /filtro?genero=...&precioMax=...&orden=precio,desc
+    @GetMapping("/filtro")
+    public ResponseEntity<CursorPageDTO<RevistaDTO>> filtrarRevistas(
+            RevistaFiltroDTO filtro,
+            @RequestParam(required = false) String orden,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        CursorPageDTO<RevistaDTO> revistas = revistaService.filtrar(filtro, orden, cursor, size);
+        return ResponseEntity.ok(revistas);
+    }
+
+    // Mismos parámetros que /filtro; añade los conteos por faceta
+    @GetMapping("/facetas")
+    public ResponseEntity<FacetasDTO<RevistaDTO>> getFacetasRevistas(
+            RevistaFiltroDTO filtro,
+            @RequestParam(required = false) String orden,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        FacetasDTO<RevistaDTO> facetas = revistaService.facetas(filtro, orden, cursor, size);
+        return ResponseEntity.ok(facetas);
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<RevistaDTO> getRevistaById(@PathVariable Long id) {
         return revistaService.findById(id)
@@ -41,10 +88,61 @@ public class RevistaController {
         return new ResponseEntity<>(savedRevista, HttpStatus.CREATED);
     }
 
+    // If-Match con el ETag leído; sin él se comprueba la versión del cuerpo, si la trae. 412 si ha cambiado
     @PutMapping("/{id}")
-    public ResponseEntity<RevistaDTO> updateRevista(@PathVariable Long id, @Valid @RequestBody RevistaDTO revistaDTO) {
+    public ResponseEntity<RevistaDTO> updateRevista(@PathVariable Long id, @Valid @RequestBody RevistaDTO revistaDTO,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Long version = EtagElemento.versionEsperada(ifMatch, TipoElemento.REVISTA, id);
+        if (version != null) {
+            revistaDTO.setVersion(version);
+        }
         RevistaDTO updatedRevista = revistaService.update(id, revistaDTO);
-        return ResponseEntity.ok(updatedRevista);
+        return ResponseEntity.ok()
+                .eTag(EtagElemento.de(TipoElemento.REVISTA, id, updatedRevista.getVersion()))
+                .body(updatedRevista);
+    }
+
+    // Un solo ejemplar; 409 si ya está prestada
+    @PostMapping("/{id}/prestamo")
+    public ResponseEntity<RevistaDTO> prestarRevista(@PathVariable Long id) {
+        RevistaDTO revista = revistaService.prestar(id);
+        return ResponseEntity.ok(revista);
+    }
+
+    @PostMapping("/{id}/devolucion")
+    public ResponseEntity<RevistaDTO> devolverRevista(@PathVariable Long id) {
+        RevistaDTO revista = revistaService.devolver(id);
+        return ResponseEntity.ok(revista);
+    }
+
+    // Operaciones masivas: cada elemento informa su propio resultado
+    @PostMapping("/batch")
+    public ResponseEntity<BatchResultDTO> createRevistasBatch(@RequestBody List<RevistaDTO> revistas) {
+        BatchResultDTO resultado = revistaService.saveAll(revistas);
+        return ResponseEntity.ok(resultado);
+    }
+
+    @PutMapping("/batch")
+    public ResponseEntity<BatchResultDTO> updateRevistasBatch(@RequestBody List<RevistaDTO> revistas) {
+        BatchResultDTO resultado = revistaService.updateAll(revistas);
+        return ResponseEntity.ok(resultado);
+    }
+
+    @DeleteMapping("/batch")
+    public ResponseEntity<BatchResultDTO> deleteRevistasBatch(@RequestBody List<Long> ids) {
+        BatchResultDTO resultado = revistaService.deleteAllById(ids);
+        return ResponseEntity.ok(resultado);
+    }
+
+    // JSON Merge Patch: solo los campos enviados (null borra el valor), en un único UPDATE y sin
+    // leer antes el elemento. 204 con el ETag nuevo si se envió If-Match (o version en el cuerpo)
+    @PatchMapping(value = "/{id}", consumes = {"application/merge-patch+json", MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<Void> patchRevista(@PathVariable Long id, @RequestBody JsonNode parche,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Optional<Long> version = revistaService.patch(id, parche, EtagElemento.versionEsperada(ifMatch, TipoElemento.REVISTA, id));
+        return version
+                .map(v -> ResponseEntity.noContent().eTag(EtagElemento.de(TipoElemento.REVISTA, id, v)).<Void>build())
+                .orElseGet(() -> ResponseEntity.noContent().build());
     }
 
     @DeleteMapping("/{id}")
@@ -54,38 +152,55 @@ public class RevistaController {
     }
 
     @GetMapping("/search")
-    public ResponseEntity<List<RevistaDTO>> searchRevistas(@RequestParam String query) {
-        List<RevistaDTO> revistas = revistaService.search(query);
+    public ResponseEntity<CursorPageDTO<RevistaDTO>> searchRevistas(
+            @RequestParam String query,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        CursorPageDTO<RevistaDTO> revistas = revistaService.search(query, cursor, size);
         return ResponseEntity.ok(revistas);
     }
 
     @GetMapping("/categoria")
-    public ResponseEntity<List<RevistaDTO>> getRevistasByCategoria(@RequestParam String categoria) {
-        List<RevistaDTO> revistas = revistaService.findByCategoria(categoria);
+    public ResponseEntity<CursorPageDTO<RevistaDTO>> getRevistasByCategoria(
+            @RequestParam String categoria,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        CursorPageDTO<RevistaDTO> revistas = revistaService.findByCategoria(categoria, cursor, size);
         return ResponseEntity.ok(revistas);
     }
 
     @GetMapping("/periodicidad")
-    public ResponseEntity<List<RevistaDTO>> getRevistasByPeriodicidad(@RequestParam String periodicidad) {
-        List<RevistaDTO> revistas = revistaService.findByPeriodicidad(periodicidad);
+    public ResponseEntity<CursorPageDTO<RevistaDTO>> getRevistasByPeriodicidad(
+            @RequestParam String periodicidad,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        CursorPageDTO<RevistaDTO> revistas = revistaService.findByPeriodicidad(periodicidad, cursor, size);
         return ResponseEntity.ok(revistas);
     }
 
     @GetMapping("/editorial")
-    public ResponseEntity<List<RevistaDTO>> getRevistasByEditorial(@RequestParam String editorial) {
-        List<RevistaDTO> revistas = revistaService.findByEditorial(editorial);
+    public ResponseEntity<CursorPageDTO<RevistaDTO>> getRevistasByEditorial(
+            @RequestParam String editorial,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        CursorPageDTO<RevistaDTO> revistas = revistaService.findByEditorial(editorial, cursor, size);
         return ResponseEntity.ok(revistas);
     }
 
     @GetMapping("/autor")
-    public ResponseEntity<List<RevistaDTO>> getRevistasByAutor(@RequestParam String autor) {
-        List<RevistaDTO> revistas = revistaService.findByAutor(autor);
+    public ResponseEntity<CursorPageDTO<RevistaDTO>> getRevistasByAutor(
+            @RequestParam String autor,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        CursorPageDTO<RevistaDTO> revistas = revistaService.findByAutor(autor, cursor, size);
         return ResponseEntity.ok(revistas);
     }
 
     @GetMapping("/disponibles")
-    public ResponseEntity<List<RevistaDTO>> getRevistasDisponibles() {
-        List<RevistaDTO> revistas = revistaService.findByDisponible(true);
+    public ResponseEntity<CursorPageDTO<RevistaDTO>> getRevistasDisponibles(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        CursorPageDTO<RevistaDTO> revistas = revistaService.findByDisponible(true, cursor, size);
         return ResponseEntity.ok(revistas);
     }
 }
\ No newline at end of file
@@ -0,0 +1,16 @@
+package com.biblioteca.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchItemResultDTO {
+    // Posición del elemento en el array de la petición
+    private int indice;
+    private Long id;
+    private boolean exitoso;
+    private String error;
+}
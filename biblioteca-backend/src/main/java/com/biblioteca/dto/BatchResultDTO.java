@@ -0,0 +1,17 @@
+package com.biblioteca.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchResultDTO {
+    private int total;
+    private int exitosos;
+    private int fallidos;
+    private List<BatchItemResultDTO> resultados;
+}
@@ -0,0 +1,19 @@
+package com.biblioteca.dto;
+
+import com.biblioteca.model.ElementoBiblioteca.TipoElemento;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BusquedaGlobalDTO {
+    private String query;
+    private List<ElementoBibliotecaDTO> resultados;
+    // Tipos que no respondieron antes del plazo o fallaron
+    private List<TipoElemento> tiposIncompletos;
+    private boolean parcial;
+}
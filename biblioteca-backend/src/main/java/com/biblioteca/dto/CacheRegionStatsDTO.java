@@ -0,0 +1,17 @@
+package com.biblioteca.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CacheRegionStatsDTO {
+    private String region;
+    private Long hits;
+    private Long misses;
+    private Long puts;
+    private Long evictions;
+    private Double hitRatio;
+}
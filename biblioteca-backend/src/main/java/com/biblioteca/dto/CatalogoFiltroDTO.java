@@ -0,0 +1,23 @@
+package com.biblioteca.dto;
+
+import com.biblioteca.model.ElementoBiblioteca.TipoElemento;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+// Criterios comunes a todos los tipos (/api/catalogo/filtro); en los DVDs "autor" es el director
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CatalogoFiltroDTO {
+    private List<TipoElemento> tipos;
+    private String titulo;
+    private String autor;
+    private Boolean disponible;
+    private Integer anoMin;
+    private Integer anoMax;
+    private Double precioMin;
+    private Double precioMax;
+}
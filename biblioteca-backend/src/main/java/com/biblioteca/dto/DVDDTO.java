@@ -1,12 +1,18 @@
 package com.biblioteca.dto;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
+import jakarta.validation.constraints.NotBlank;
 import java.time.LocalDateTime;
 
 public class DVDDTO {
     private Long id;
+
+    @NotBlank(message = "El título es obligatorio")
     private String titulo;
+
+    @NotBlank(message = "El director es obligatorio")
     private String director;
+
     private Integer anoLanzamiento;
     private String genero;
     private Integer duracion;
@@ -22,6 +28,9 @@ public class DVDDTO {
     @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
     private LocalDateTime fechaActualizacion;
 
+    // Versión leída por el cliente; en PUT, si no hay If-Match, se comprueba esta
+    private Long version;
+
     // Constructores
     public DVDDTO() {}
 
@@ -146,6 +155,14 @@ public class DVDDTO {
         this.fechaActualizacion = fechaActualizacion;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     @Override
     public String toString() {
         return "DVDDTO{" +
@@ -0,0 +1,23 @@
+package com.biblioteca.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Criterios de /api/dvds/filtro: los campos nulos no filtran
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DVDFiltroDTO {
+    private String titulo;
+    private String director;
+    private String genero;
+    private String clasificacion;
+    private Boolean disponible;
+    private Integer anoMin;
+    private Integer anoMax;
+    private Integer duracionMin;
+    private Integer duracionMax;
+    private Double precioMin;
+    private Double precioMax;
+}
@@ -1,9 +1,12 @@
 package com.biblioteca.dto;
 
+import com.fasterxml.jackson.annotation.JsonFormat;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.time.LocalDateTime;
+
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -14,4 +17,15 @@ public class DashboardStatsDTO {
     private Long totalElementos;
     private Long elementosDisponibles;
     private Long elementosNoDisponibles;
-}
\ No newline at end of file
+
+    // Desglose por tipo
+    private Long librosDisponibles;
+    private Long librosNoDisponibles;
+    private Long revistasDisponibles;
+    private Long revistasNoDisponibles;
+    private Long dvdsDisponibles;
+    private Long dvdsNoDisponibles;
+
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    private LocalDateTime generadoEn;
+}
@@ -1,6 +1,7 @@
 package com.biblioteca.dto;
 
 import com.biblioteca.model.ElementoBiblioteca.TipoElemento;
+import jakarta.validation.constraints.NotBlank;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -12,7 +13,10 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 public class ElementoBibliotecaDTO {
     private Long id;
+
+    @NotBlank(message = "El título es obligatorio")
     private String titulo;
+
     private String autor;
     private Integer anoPublicacion;
     private String descripcion;
@@ -20,4 +24,7 @@ public class ElementoBibliotecaDTO {
     private TipoElemento tipo;
     private LocalDateTime fechaCreacion;
     private LocalDateTime fechaActualizacion;
+
+    // Versión leída por el cliente; en PUT, si no hay If-Match, se comprueba esta
+    private Long version;
 }
\ No newline at end of file
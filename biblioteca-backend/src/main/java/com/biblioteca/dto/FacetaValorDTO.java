@@ -0,0 +1,14 @@
+package com.biblioteca.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FacetaValorDTO {
+    // Nulo agrupa los elementos sin valor en ese campo
+    private Object valor;
+    private long conteo;
+}
@@ -0,0 +1,17 @@
+package com.biblioteca.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+// Página del filtro junto con los conteos por faceta de todo el resultado filtrado
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FacetasDTO<T> {
+    private CursorPageDTO<T> resultados;
+    private Map<String, List<FacetaValorDTO>> facetas;
+}
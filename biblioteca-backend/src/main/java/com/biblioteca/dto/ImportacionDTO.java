@@ -0,0 +1,37 @@
+package com.biblioteca.dto;
+
+import com.biblioteca.model.ElementoBiblioteca.TipoElemento;
+import com.biblioteca.model.Importacion.EstadoImportacion;
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportacionDTO {
+    private String id;
+    private TipoElemento tipo;
+    private EstadoImportacion estado;
+    private String formato;
+    private String nombreArchivo;
+
+    // Registros del fichero ya confirmados en base de datos
+    private Long procesados;
+    private Long creados;
+    private Long duplicados;
+    private Long invalidos;
+    private String ultimoError;
+
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    private LocalDateTime fechaCreacion;
+
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    private LocalDateTime fechaActualizacion;
+
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    private LocalDateTime fechaFin;
+}
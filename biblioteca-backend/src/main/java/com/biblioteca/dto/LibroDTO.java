@@ -15,4 +15,6 @@ public class LibroDTO extends ElementoBibliotecaDTO {
     private String idioma;
     private Double precio;
     private Integer stock;
+    // Solo lectura: lo mantienen el préstamo y la devolución
+    private Integer prestados;
 }
\ No newline at end of file
@@ -0,0 +1,23 @@
+package com.biblioteca.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Criterios de /api/libros/filtro: los campos nulos no filtran
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LibroFiltroDTO {
+    private String titulo;
+    private String autor;
+    private String genero;
+    private String editorial;
+    private String idioma;
+    private String isbn;
+    private Boolean disponible;
+    private Integer anoMin;
+    private Integer anoMax;
+    private Double precioMin;
+    private Double precioMax;
+}
@@ -0,0 +1,23 @@
+package com.biblioteca.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Criterios de /api/revistas/filtro: los campos nulos no filtran
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RevistaFiltroDTO {
+    private String titulo;
+    private String autor;
+    private String categoria;
+    private String periodicidad;
+    private String editorial;
+    private String issn;
+    private Boolean disponible;
+    private Integer anoMin;
+    private Integer anoMax;
+    private Double precioMin;
+    private Double precioMax;
+}
@@ -0,0 +1,8 @@
+package com.biblioteca.exception;
+
+// If-Match (o la versión enviada) ya no corresponde a la del recurso
+public class PreconditionFailedException extends RuntimeException {
+    public PreconditionFailedException(String message) {
+        super(message);
+    }
+}
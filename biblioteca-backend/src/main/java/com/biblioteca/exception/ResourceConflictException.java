@@ -0,0 +1,8 @@
+package com.biblioteca.exception;
+
+// El estado actual del recurso no permite la operación (p. ej. prestar sin ejemplares)
+public class ResourceConflictException extends RuntimeException {
+    public ResourceConflictException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,40 @@
+package com.biblioteca.mapper;
+
+import com.biblioteca.dto.DVDDTO;
+import com.biblioteca.model.DVD;
+import com.biblioteca.repository.projection.DVDResumen;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.MappingTarget;
+import org.mapstruct.ReportingPolicy;
+
+@Mapper(componentModel = "spring", unmappedTargetPolicy = ReportingPolicy.ERROR)
+public interface DVDMapper {
+
+    DVDDTO toDTO(DVD dvd);
+
+    // Los listados no cargan las columnas TEXT; el director es el autor común del catálogo
+    @Mapping(target = "director", source = "autor")
+    @Mapping(target = "anoLanzamiento", source = "anoPublicacion")
+    @Mapping(target = "actores", ignore = true)
+    @Mapping(target = "sinopsis", ignore = true)
+    @Mapping(target = "version", ignore = true)
+    DVDDTO toDTO(DVDResumen resumen);
+
+    // Las fechas las gestiona el servicio/entidad, no el cliente.
+    // autor y anoPublicacion se rellenan a través de director y anoLanzamiento
+    @Mapping(target = "autor", ignore = true)
+    @Mapping(target = "anoPublicacion", ignore = true)
+    @Mapping(target = "fechaCreacion", ignore = true)
+    @Mapping(target = "fechaActualizacion", ignore = true)
+    @Mapping(target = "disponible", defaultValue = "true")
+    DVD toEntity(DVDDTO dto);
+
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "autor", ignore = true)
+    @Mapping(target = "anoPublicacion", ignore = true)
+    @Mapping(target = "fechaCreacion", ignore = true)
+    @Mapping(target = "fechaActualizacion", ignore = true)
+    @Mapping(target = "disponible", defaultValue = "true")
+    void updateEntity(DVDDTO dto, @MappingTarget DVD dvd);
+}
@@ -0,0 +1,16 @@
+package com.biblioteca.mapper;
+
+import com.biblioteca.dto.ElementoBibliotecaDTO;
+import com.biblioteca.repository.projection.ElementoResumen;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.ReportingPolicy;
+
+@Mapper(componentModel = "spring", unmappedTargetPolicy = ReportingPolicy.ERROR)
+public interface ElementoMapper {
+
+    // Vista común del catálogo: la descripción solo existe en libros y revistas
+    @Mapping(target = "descripcion", ignore = true)
+    @Mapping(target = "version", ignore = true)
+    ElementoBibliotecaDTO toDTO(ElementoResumen resumen);
+}
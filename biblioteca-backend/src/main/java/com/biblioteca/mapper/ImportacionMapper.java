@@ -0,0 +1,12 @@
+package com.biblioteca.mapper;
+
+import com.biblioteca.dto.ImportacionDTO;
+import com.biblioteca.model.Importacion;
+import org.mapstruct.Mapper;
+import org.mapstruct.ReportingPolicy;
+
+@Mapper(componentModel = "spring", unmappedTargetPolicy = ReportingPolicy.ERROR)
+public interface ImportacionMapper {
+
+    ImportacionDTO toDTO(Importacion importacion);
+}
@@ -0,0 +1,37 @@
+package com.biblioteca.mapper;
+
+import com.biblioteca.dto.LibroDTO;
+import com.biblioteca.model.Libro;
+import com.biblioteca.repository.projection.LibroResumen;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.MappingTarget;
+import org.mapstruct.ReportingPolicy;
+
+@Mapper(componentModel = "spring", unmappedTargetPolicy = ReportingPolicy.ERROR)
+public interface LibroMapper {
+
+    @Mapping(target = "tipo", ignore = true)
+    LibroDTO toDTO(Libro libro);
+
+    // Los listados no cargan las columnas TEXT
+    @Mapping(target = "tipo", ignore = true)
+    @Mapping(target = "descripcion", ignore = true)
+    @Mapping(target = "version", ignore = true)
+    @Mapping(target = "prestados", ignore = true)
+    LibroDTO toDTO(LibroResumen resumen);
+
+    // Igual que el valor por defecto de la entidad cuando el cliente no lo envía
+    @Mapping(target = "disponible", defaultValue = "true")
+    @Mapping(target = "prestados", ignore = true)
+    Libro toEntity(LibroDTO dto);
+
+    // PUT sobre la entidad ya cargada: el UPDATE lleva la versión y no hace falta merge.
+    // El id y las fechas no los cambia el cliente
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "fechaCreacion", ignore = true)
+    @Mapping(target = "fechaActualizacion", ignore = true)
+    @Mapping(target = "prestados", ignore = true)
+    @Mapping(target = "disponible", defaultValue = "true")
+    void updateEntity(LibroDTO dto, @MappingTarget Libro libro);
+}
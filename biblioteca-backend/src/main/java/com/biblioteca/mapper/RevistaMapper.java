@@ -0,0 +1,33 @@
+package com.biblioteca.mapper;
+
+import com.biblioteca.dto.RevistaDTO;
+import com.biblioteca.model.Revista;
+import com.biblioteca.repository.projection.RevistaResumen;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.MappingTarget;
+import org.mapstruct.ReportingPolicy;
+
+@Mapper(componentModel = "spring", unmappedTargetPolicy = ReportingPolicy.ERROR)
+public interface RevistaMapper {
+
+    @Mapping(target = "tipo", ignore = true)
+    RevistaDTO toDTO(Revista revista);
+
+    // Los listados no cargan las columnas TEXT
+    @Mapping(target = "tipo", ignore = true)
+    @Mapping(target = "descripcion", ignore = true)
+    @Mapping(target = "version", ignore = true)
+    RevistaDTO toDTO(RevistaResumen resumen);
+
+    @Mapping(target = "disponible", defaultValue = "true")
+    Revista toEntity(RevistaDTO dto);
+
+    // PUT sobre la entidad ya cargada: el UPDATE lleva la versión y no hace falta merge.
+    // El id y las fechas no los cambia el cliente
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "fechaCreacion", ignore = true)
+    @Mapping(target = "fechaActualizacion", ignore = true)
+    @Mapping(target = "disponible", defaultValue = "true")
+    void updateEntity(RevistaDTO dto, @MappingTarget Revista revista);
+}
@@ -1,24 +1,10 @@
 package com.biblioteca.model;
 
 import jakarta.persistence.*;
-import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "dvds")
-public class DVD {
-
-    @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
-    private Long id;
-
-    @Column(nullable = false)
-    private String titulo;
-
-    @Column(nullable = false)
-    private String director;
-
-    @Column(name = "ano_lanzamiento")
-    private Integer anoLanzamiento;
+@DiscriminatorValue("DVD")
+public class DVD extends ElementoBiblioteca {
 
     private String genero;
     private Integer duracion;
@@ -30,67 +16,40 @@ public class DVD {
     @Column(columnDefinition = "TEXT")
     private String sinopsis;
 
-    // ✅ CORRECCIÓN: Sin precision y scale para Double
-    private Double precio;
-
-    @Column(nullable = false)
-    private Boolean disponible = true;
-
-    @Column(name = "fecha_creacion")
-    private LocalDateTime fechaCreacion;
-
-    @Column(name = "fecha_actualizacion")
-    private LocalDateTime fechaActualizacion;
-
     // Constructores
     public DVD() {}
 
     public DVD(String titulo, String director, Integer anoLanzamiento, String genero,
                Integer duracion, String clasificacion, String actores, String sinopsis,
                Double precio, Boolean disponible) {
-        this.titulo = titulo;
-        this.director = director;
-        this.anoLanzamiento = anoLanzamiento;
+        setTitulo(titulo);
+        setDirector(director);
+        setAnoLanzamiento(anoLanzamiento);
         this.genero = genero;
         this.duracion = duracion;
         this.clasificacion = clasificacion;
         this.actores = actores;
         this.sinopsis = sinopsis;
-        this.precio = precio;
-        this.disponible = disponible;
+        setPrecio(precio);
+        setDisponible(disponible);
     }
 
     // Getters y Setters (todos los métodos que agregamos anteriormente)
-    public Long getId() {
-        return id;
-    }
-
-    public void setId(Long id) {
-        this.id = id;
-    }
-
-    public String getTitulo() {
-        return titulo;
-    }
-
-    public void setTitulo(String titulo) {
-        this.titulo = titulo;
-    }
-
+    // El director y el año de lanzamiento se guardan en las columnas comunes autor y ano_publicacion
     public String getDirector() {
-        return director;
+        return getAutor();
     }
 
     public void setDirector(String director) {
-        this.director = director;
+        setAutor(director);
     }
 
     public Integer getAnoLanzamiento() {
-        return anoLanzamiento;
+        return getAnoPublicacion();
     }
 
     public void setAnoLanzamiento(Integer anoLanzamiento) {
-        this.anoLanzamiento = anoLanzamiento;
+        setAnoPublicacion(anoLanzamiento);
     }
 
     public String getGenero() {
@@ -133,61 +92,18 @@ public class DVD {
         this.sinopsis = sinopsis;
     }
 
-    public Double getPrecio() {
-        return precio;
-    }
-
-    public void setPrecio(Double precio) {
-        this.precio = precio;
-    }
-
-    public Boolean getDisponible() {
-        return disponible;
-    }
-
-    public void setDisponible(Boolean disponible) {
-        this.disponible = disponible;
-    }
-
-    public LocalDateTime getFechaCreacion() {
-        return fechaCreacion;
-    }
-
-    public void setFechaCreacion(LocalDateTime fechaCreacion) {
-        this.fechaCreacion = fechaCreacion;
-    }
-
-    public LocalDateTime getFechaActualizacion() {
-        return fechaActualizacion;
-    }
-
-    public void setFechaActualizacion(LocalDateTime fechaActualizacion) {
-        this.fechaActualizacion = fechaActualizacion;
-    }
-
-    @PrePersist
-    protected void onCreate() {
-        fechaCreacion = LocalDateTime.now();
-        fechaActualizacion = LocalDateTime.now();
-    }
-
-    @PreUpdate
-    protected void onUpdate() {
-        fechaActualizacion = LocalDateTime.now();
-    }
-
     @Override
     public String toString() {
         return "DVD{" +
-                "id=" + id +
-                ", titulo='" + titulo + '\'' +
-                ", director='" + director + '\'' +
-                ", anoLanzamiento=" + anoLanzamiento +
+                "id=" + getId() +
+                ", titulo='" + getTitulo() + '\'' +
+                ", director='" + getDirector() + '\'' +
+                ", anoLanzamiento=" + getAnoLanzamiento() +
                 ", genero='" + genero + '\'' +
                 ", duracion=" + duracion +
                 ", clasificacion='" + clasificacion + '\'' +
-                ", precio=" + precio +
-                ", disponible=" + disponible +
+                ", precio=" + getPrecio() +
+                ", disponible=" + getDisponible() +
                 '}';
     }
 }
\ No newline at end of file
@@ -1,49 +1,68 @@
 package com.biblioteca.model;
 
 import jakarta.persistence.*;
-import jakarta.validation.constraints.NotBlank;
-import jakarta.validation.constraints.NotNull;
-import jakarta.validation.constraints.Min;
-import lombok.AllArgsConstructor;
-import lombok.Data;
+import lombok.AccessLevel;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDateTime;
 
-@Data
+/**
+ * Raíz del catálogo: libros, revistas y DVDs comparten la tabla
+ * elementos_biblioteca y se distinguen por la columna tipo. Con una sola tabla
+ * los listados de varios tipos, los conteos por disponibilidad y la búsqueda
+ * común son una única consulta sobre un índice (ver HerenciaBenchmark para la
+ * comparación con JOINED).
+ */
+@Getter
+@Setter
 @NoArgsConstructor
-@AllArgsConstructor
 @Entity
-@Table(name = "elementos_biblioteca")
-@Inheritance(strategy = InheritanceType.JOINED)
+@Table(name = "elementos_biblioteca", indexes = {
+        @Index(name = "idx_elementos_tipo_disponible_id", columnList = "tipo, disponible, id"),
+        @Index(name = "idx_elementos_disponible_id", columnList = "disponible, id"),
+        @Index(name = "idx_elementos_titulo", columnList = "titulo"),
+        @Index(name = "idx_elementos_tipo_precio", columnList = "tipo, precio"),
+        @Index(name = "idx_elementos_tipo_ano", columnList = "tipo, ano_publicacion"),
+        @Index(name = "idx_elementos_tipo_fecha", columnList = "tipo, fecha_actualizacion"),
+        @Index(name = "uk_elementos_isbn", columnList = "isbn", unique = true),
+        @Index(name = "uk_elementos_issn", columnList = "issn", unique = true)
+})
+@Inheritance(strategy = InheritanceType.SINGLE_TABLE)
 @DiscriminatorColumn(name = "tipo", discriminatorType = DiscriminatorType.STRING)
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "biblioteca-elementos")
 public abstract class ElementoBiblioteca {
 
+    // Secuencia con pool compartida por todos los tipos (en MySQL se emula con la tabla
+    // elementos_seq): a diferencia de IDENTITY, permite agrupar los INSERT en batches JDBC
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "elementos_seq")
+    @SequenceGenerator(name = "elementos_seq", sequenceName = "elementos_seq", allocationSize = 50)
     private Long id;
 
-    @NotBlank(message = "El título es obligatorio")
-    @Column(nullable = false, length = 200)
+    @Column(nullable = false)
     private String titulo;
 
-    @NotBlank(message = "El autor es obligatorio")
-    @Column(nullable = false, length = 150)
+    // En los DVDs es el director
     private String autor;
 
-    @NotNull(message = "El año de publicación es obligatorio")
-    @Min(value = 1000, message = "El año debe ser mayor a 1000")
-    @Column(name = "ano_publicacion", nullable = false)
+    // En los DVDs es el año de lanzamiento
+    @Column(name = "ano_publicacion")
     private Integer anoPublicacion;
 
-    @Column(length = 500)
-    private String descripcion;
+    private Double precio;
 
-    @Column(name = "disponible")
+    @Column(nullable = false)
     private Boolean disponible = true;
 
+    // Solo lectura: el valor lo pone Hibernate según la subclase
+    @Setter(AccessLevel.NONE)
     @Enumerated(EnumType.STRING)
     @Column(name = "tipo", insertable = false, updatable = false)
     private TipoElemento tipo;
@@ -56,7 +75,12 @@ public abstract class ElementoBiblioteca {
     @Column(name = "fecha_actualizacion")
     private LocalDateTime fechaActualizacion;
 
+    // Bloqueo optimista; solo lo cambia Hibernate (y los UPDATE de préstamo, que lo incrementan)
+    @Version
+    @Setter(AccessLevel.NONE)
+    private Long version;
+
     public enum TipoElemento {
         LIBRO, REVISTA, DVD
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,181 @@
+package com.biblioteca.model;
+
+import com.biblioteca.model.ElementoBiblioteca.TipoElemento;
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Trabajo de importación masiva. {@code procesados} es el número de registros
+ * del fichero ya confirmados en base de datos: tras una caída la importación se
+ * reanuda saltando exactamente esos registros.
+ */
+@Entity
+@Table(name = "importaciones")
+public class Importacion {
+
+    @Id
+    @Column(length = 36)
+    private String id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private TipoElemento tipo;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private EstadoImportacion estado;
+
+    @Column(nullable = false, length = 10)
+    private String formato;
+
+    @Column(name = "nombre_archivo")
+    private String nombreArchivo;
+
+    @Column(name = "ruta_archivo", nullable = false, length = 500)
+    private String rutaArchivo;
+
+    private Long procesados = 0L;
+    private Long creados = 0L;
+    private Long duplicados = 0L;
+    private Long invalidos = 0L;
+
+    @Column(name = "ultimo_error", length = 1000)
+    private String ultimoError;
+
+    @Column(name = "fecha_creacion")
+    private LocalDateTime fechaCreacion;
+
+    @Column(name = "fecha_actualizacion")
+    private LocalDateTime fechaActualizacion;
+
+    @Column(name = "fecha_fin")
+    private LocalDateTime fechaFin;
+
+    public enum EstadoImportacion {
+        PENDIENTE, EN_CURSO, COMPLETADA, FALLIDA
+    }
+
+    // Getters y Setters
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public TipoElemento getTipo() {
+        return tipo;
+    }
+
+    public void setTipo(TipoElemento tipo) {
+        this.tipo = tipo;
+    }
+
+    public EstadoImportacion getEstado() {
+        return estado;
+    }
+
+    public void setEstado(EstadoImportacion estado) {
+        this.estado = estado;
+    }
+
+    public String getFormato() {
+        return formato;
+    }
+
+    public void setFormato(String formato) {
+        this.formato = formato;
+    }
+
+    public String getNombreArchivo() {
+        return nombreArchivo;
+    }
+
+    public void setNombreArchivo(String nombreArchivo) {
+        this.nombreArchivo = nombreArchivo;
+    }
+
+    public String getRutaArchivo() {
+        return rutaArchivo;
+    }
+
+    public void setRutaArchivo(String rutaArchivo) {
+        this.rutaArchivo = rutaArchivo;
+    }
+
+    public Long getProcesados() {
+        return procesados;
+    }
+
+    public void setProcesados(Long procesados) {
+        this.procesados = procesados;
+    }
+
+    public Long getCreados() {
+        return creados;
+    }
+
+    public void setCreados(Long creados) {
+        this.creados = creados;
+    }
+
+    public Long getDuplicados() {
+        return duplicados;
+    }
+
+    public void setDuplicados(Long duplicados) {
+        this.duplicados = duplicados;
+    }
+
+    public Long getInvalidos() {
+        return invalidos;
+    }
+
+    public void setInvalidos(Long invalidos) {
+        this.invalidos = invalidos;
+    }
+
+    public String getUltimoError() {
+        return ultimoError;
+    }
+
+    public void setUltimoError(String ultimoError) {
+        this.ultimoError = ultimoError;
+    }
+
+    public LocalDateTime getFechaCreacion() {
+        return fechaCreacion;
+    }
+
+    public void setFechaCreacion(LocalDateTime fechaCreacion) {
+        this.fechaCreacion = fechaCreacion;
+    }
+
+    public LocalDateTime getFechaActualizacion() {
+        return fechaActualizacion;
+    }
+
+    public void setFechaActualizacion(LocalDateTime fechaActualizacion) {
+        this.fechaActualizacion = fechaActualizacion;
+    }
+
+    public LocalDateTime getFechaFin() {
+        return fechaFin;
+    }
+
+    public void setFechaFin(LocalDateTime fechaFin) {
+        this.fechaFin = fechaFin;
+    }
+
+    @PrePersist
+    protected void onCreate() {
+        fechaCreacion = LocalDateTime.now();
+        fechaActualizacion = LocalDateTime.now();
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        fechaActualizacion = LocalDateTime.now();
+    }
+}
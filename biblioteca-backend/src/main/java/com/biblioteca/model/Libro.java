@@ -1,24 +1,10 @@
 package com.biblioteca.model;
 
 import jakarta.persistence.*;
-import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "libros")
-public class Libro {
-
-    @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
-    private Long id;
-
-    @Column(nullable = false)
-    private String titulo;
-
-    @Column(nullable = false)
-    private String autor;
-
-    @Column(name = "ano_publicacion")
-    private Integer anoPublicacion;
+@DiscriminatorValue("LIBRO")
+public class Libro extends ElementoBiblioteca {
 
     private String isbn;
 
@@ -29,22 +15,14 @@ public class Libro {
     private String editorial;
     private String idioma;
 
-    // ✅ CORRECCIÓN: Sin precision y scale para Double
-    private Double precio;
-
     private Integer stock;
 
-    @Column(columnDefinition = "TEXT")
-    private String descripcion;
-
+    // Ejemplares prestados: los cambian solo el préstamo y la devolución
     @Column(nullable = false)
-    private Boolean disponible = true;
-
-    @Column(name = "fecha_creacion")
-    private LocalDateTime fechaCreacion;
+    private Integer prestados = 0;
 
-    @Column(name = "fecha_actualizacion")
-    private LocalDateTime fechaActualizacion;
+    @Column(columnDefinition = "TEXT")
+    private String descripcion;
 
     // Constructores
     public Libro() {}
@@ -52,53 +30,21 @@ public class Libro {
     public Libro(String titulo, String autor, Integer anoPublicacion, String isbn,
                  Integer numeroPaginas, String genero, String editorial, String idioma,
                  Double precio, Integer stock, String descripcion, Boolean disponible) {
-        this.titulo = titulo;
-        this.autor = autor;
-        this.anoPublicacion = anoPublicacion;
+        setTitulo(titulo);
+        setAutor(autor);
+        setAnoPublicacion(anoPublicacion);
         this.isbn = isbn;
         this.numeroPaginas = numeroPaginas;
         this.genero = genero;
         this.editorial = editorial;
         this.idioma = idioma;
-        this.precio = precio;
+        setPrecio(precio);
         this.stock = stock;
         this.descripcion = descripcion;
-        this.disponible = disponible;
+        setDisponible(disponible);
     }
 
     // Getters y Setters
-    public Long getId() {
-        return id;
-    }
-
-    public void setId(Long id) {
-        this.id = id;
-    }
-
-    public String getTitulo() {
-        return titulo;
-    }
-
-    public void setTitulo(String titulo) {
-        this.titulo = titulo;
-    }
-
-    public String getAutor() {
-        return autor;
-    }
-
-    public void setAutor(String autor) {
-        this.autor = autor;
-    }
-
-    public Integer getAnoPublicacion() {
-        return anoPublicacion;
-    }
-
-    public void setAnoPublicacion(Integer anoPublicacion) {
-        this.anoPublicacion = anoPublicacion;
-    }
-
     public String getIsbn() {
         return isbn;
     }
@@ -139,14 +85,6 @@ public class Libro {
         this.idioma = idioma;
     }
 
-    public Double getPrecio() {
-        return precio;
-    }
-
-    public void setPrecio(Double precio) {
-        this.precio = precio;
-    }
-
     public Integer getStock() {
         return stock;
     }
@@ -155,60 +93,33 @@ public class Libro {
         this.stock = stock;
     }
 
-    public String getDescripcion() {
-        return descripcion;
-    }
-
-    public void setDescripcion(String descripcion) {
-        this.descripcion = descripcion;
-    }
-
-    public Boolean getDisponible() {
-        return disponible;
-    }
-
-    public void setDisponible(Boolean disponible) {
-        this.disponible = disponible;
-    }
-
-    public LocalDateTime getFechaCreacion() {
-        return fechaCreacion;
-    }
-
-    public void setFechaCreacion(LocalDateTime fechaCreacion) {
-        this.fechaCreacion = fechaCreacion;
+    public Integer getPrestados() {
+        return prestados;
     }
 
-    public LocalDateTime getFechaActualizacion() {
-        return fechaActualizacion;
+    public void setPrestados(Integer prestados) {
+        this.prestados = prestados;
     }
 
-    public void setFechaActualizacion(LocalDateTime fechaActualizacion) {
-        this.fechaActualizacion = fechaActualizacion;
-    }
-
-    @PrePersist
-    protected void onCreate() {
-        fechaCreacion = LocalDateTime.now();
-        fechaActualizacion = LocalDateTime.now();
+    public String getDescripcion() {
+        return descripcion;
     }
 
-    @PreUpdate
-    protected void onUpdate() {
-        fechaActualizacion = LocalDateTime.now();
+    public void setDescripcion(String descripcion) {
+        this.descripcion = descripcion;
     }
 
     @Override
     public String toString() {
         return "Libro{" +
-                "id=" + id +
-                ", titulo='" + titulo + '\'' +
-                ", autor='" + autor + '\'' +
-                ", anoPublicacion=" + anoPublicacion +
+                "id=" + getId() +
+                ", titulo='" + getTitulo() + '\'' +
+                ", autor='" + getAutor() + '\'' +
+                ", anoPublicacion=" + getAnoPublicacion() +
                 ", isbn='" + isbn + '\'' +
                 ", genero='" + genero + '\'' +
-                ", precio=" + precio +
-                ", disponible=" + disponible +
+                ", precio=" + getPrecio() +
+                ", disponible=" + getDisponible() +
                 '}';
     }
 }
\ No newline at end of file
@@ -1,23 +1,10 @@
 package com.biblioteca.model;
 
 import jakarta.persistence.*;
-import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "revistas")
-public class Revista {
-
-    @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
-    private Long id;
-
-    @Column(nullable = false)
-    private String titulo;
-
-    private String autor;
-
-    @Column(name = "ano_publicacion")
-    private Integer anoPublicacion;
+@DiscriminatorValue("REVISTA")
+public class Revista extends ElementoBiblioteca {
 
     @Column(name = "numero_edicion")
     private Integer numeroEdicion;
@@ -26,9 +13,6 @@ public class Revista {
     private String periodicidad;
     private String issn;
 
-    // ✅ CORRECCIÓN: Sin precision y scale para Double
-    private Double precio;
-
     @Column(name = "numero_paginas")
     private Integer numeroPaginas;
 
@@ -37,68 +21,27 @@ public class Revista {
     @Column(columnDefinition = "TEXT")
     private String descripcion;
 
-    @Column(nullable = false)
-    private Boolean disponible = true;
-
-    @Column(name = "fecha_creacion")
-    private LocalDateTime fechaCreacion;
-
-    @Column(name = "fecha_actualizacion")
-    private LocalDateTime fechaActualizacion;
-
     // Constructores
     public Revista() {}
 
     public Revista(String titulo, String autor, Integer anoPublicacion, Integer numeroEdicion,
                    String categoria, String periodicidad, String issn, Double precio,
                    Integer numeroPaginas, String editorial, String descripcion, Boolean disponible) {
-        this.titulo = titulo;
-        this.autor = autor;
-        this.anoPublicacion = anoPublicacion;
+        setTitulo(titulo);
+        setAutor(autor);
+        setAnoPublicacion(anoPublicacion);
         this.numeroEdicion = numeroEdicion;
         this.categoria = categoria;
         this.periodicidad = periodicidad;
         this.issn = issn;
-        this.precio = precio;
+        setPrecio(precio);
         this.numeroPaginas = numeroPaginas;
         this.editorial = editorial;
         this.descripcion = descripcion;
-        this.disponible = disponible;
+        setDisponible(disponible);
     }
 
     // Getters y Setters
-    public Long getId() {
-        return id;
-    }
-
-    public void setId(Long id) {
-        this.id = id;
-    }
-
-    public String getTitulo() {
-        return titulo;
-    }
-
-    public void setTitulo(String titulo) {
-        this.titulo = titulo;
-    }
-
-    public String getAutor() {
-        return autor;
-    }
-
-    public void setAutor(String autor) {
-        this.autor = autor;
-    }
-
-    public Integer getAnoPublicacion() {
-        return anoPublicacion;
-    }
-
-    public void setAnoPublicacion(Integer anoPublicacion) {
-        this.anoPublicacion = anoPublicacion;
-    }
-
     public Integer getNumeroEdicion() {
         return numeroEdicion;
     }
@@ -131,14 +74,6 @@ public class Revista {
         this.issn = issn;
     }
 
-    public Double getPrecio() {
-        return precio;
-    }
-
-    public void setPrecio(Double precio) {
-        this.precio = precio;
-    }
-
     public Integer getNumeroPaginas() {
         return numeroPaginas;
     }
@@ -163,52 +98,17 @@ public class Revista {
         this.descripcion = descripcion;
     }
 
-    public Boolean getDisponible() {
-        return disponible;
-    }
-
-    public void setDisponible(Boolean disponible) {
-        this.disponible = disponible;
-    }
-
-    public LocalDateTime getFechaCreacion() {
-        return fechaCreacion;
-    }
-
-    public void setFechaCreacion(LocalDateTime fechaCreacion) {
-        this.fechaCreacion = fechaCreacion;
-    }
-
-    public LocalDateTime getFechaActualizacion() {
-        return fechaActualizacion;
-    }
-
-    public void setFechaActualizacion(LocalDateTime fechaActualizacion) {
-        this.fechaActualizacion = fechaActualizacion;
-    }
-
-    @PrePersist
-    protected void onCreate() {
-        fechaCreacion = LocalDateTime.now();
-        fechaActualizacion = LocalDateTime.now();
-    }
-
-    @PreUpdate
-    protected void onUpdate() {
-        fechaActualizacion = LocalDateTime.now();
-    }
-
     @Override
     public String toString() {
         return "Revista{" +
-                "id=" + id +
-                ", titulo='" + titulo + '\'' +
-                ", autor='" + autor + '\'' +
-                ", anoPublicacion=" + anoPublicacion +
+                "id=" + getId() +
+                ", titulo='" + getTitulo() + '\'' +
+                ", autor='" + getAutor() + '\'' +
+                ", anoPublicacion=" + getAnoPublicacion() +
                 ", categoria='" + categoria + '\'' +
                 ", periodicidad='" + periodicidad + '\'' +
-                ", precio=" + precio +
-                ", disponible=" + disponible +
+                ", precio=" + getPrecio() +
+                ", disponible=" + getDisponible() +
                 '}';
     }
 }
\ No newline at end of file
@@ -1,21 +1,33 @@
 package com.biblioteca.repository;
 
 import com.biblioteca.model.DVD;
+import com.biblioteca.repository.projection.DVDResumen;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface DVDRepository extends JpaRepository<DVD, Long> {
 
-    // Búsquedas básicas
+    // El director y el año de lanzamiento son los atributos comunes autor y anoPublicacion
+
+    // Búsquedas básicas. Las que usa la API no tienen límite de filas: no pasan por la cache
+    // de segundo nivel, igual que la exportación
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "IGNORE"))
     List<DVD> findByTituloContainingIgnoreCase(String titulo);
-    List<DVD> findByDirectorContainingIgnoreCase(String director);
+    List<DVD> findByAutorContainingIgnoreCase(String director);
     List<DVD> findByGeneroContainingIgnoreCase(String genero);
-    List<DVD> findByAnoLanzamiento(Integer anoLanzamiento);
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "IGNORE"))
+    List<DVD> findByAnoPublicacion(Integer anoLanzamiento);
     List<DVD> findByDisponible(Boolean disponible);
 
     // MÉTODOS FALTANTES ↓
@@ -23,12 +35,15 @@ public interface DVDRepository extends JpaRepository<DVD, Long> {
     List<DVD> findByClasificacionContainingIgnoreCase(String clasificacion);
 
     // Búsquedas adicionales
-    List<DVD> findByAnoLanzamientoBetween(Integer anoInicio, Integer anoFin);
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "IGNORE"))
+    List<DVD> findByAnoPublicacionBetween(Integer anoInicio, Integer anoFin);
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "IGNORE"))
     List<DVD> findByPrecioBetween(Double precioMin, Double precioMax);
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "IGNORE"))
     List<DVD> findByActoresContainingIgnoreCase(String actor);
 
     // Consultas personalizadas
-    @Query("SELECT d FROM DVD d WHERE d.titulo LIKE %:termino% OR d.director LIKE %:termino% OR d.genero LIKE %:termino%")
+    @Query("SELECT d FROM DVD d WHERE d.titulo LIKE %:termino% OR d.autor LIKE %:termino% OR d.genero LIKE %:termino%")
     List<DVD> buscarPorTermino(@Param("termino") String termino);
 
     @Query("SELECT d FROM DVD d WHERE d.disponible = true ORDER BY d.fechaCreacion DESC")
@@ -37,9 +52,18 @@ public interface DVDRepository extends JpaRepository<DVD, Long> {
     @Query("SELECT d FROM DVD d WHERE d.precio <= :precio ORDER BY d.precio ASC")
     List<DVD> findByPrecioMenorIgual(@Param("precio") Double precio);
 
+    // Cache de consultas: se invalida sola cuando cambia la tabla elementos_biblioteca
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "biblioteca-consultas")
+    })
     @Query("SELECT DISTINCT d.genero FROM DVD d WHERE d.genero IS NOT NULL ORDER BY d.genero")
     List<String> findAllGeneros();
 
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "biblioteca-consultas")
+    })
     @Query("SELECT DISTINCT d.clasificacion FROM DVD d WHERE d.clasificacion IS NOT NULL ORDER BY d.clasificacion")
     List<String> findAllClasificaciones();
 
@@ -48,4 +72,26 @@ public interface DVDRepository extends JpaRepository<DVD, Long> {
 
     @Query("SELECT AVG(d.precio) FROM DVD d WHERE d.disponible = true")
     Double findPrecioPromedio();
+
+    // Listados: proyección sin columnas TEXT, fuera del contexto de persistencia
+    List<DVDResumen> findByIdIn(Collection<Long> ids);
+
+    // Paginación por cursor (WHERE id > :afterId ORDER BY id)
+    List<DVDResumen> findByIdGreaterThan(Long afterId, Pageable pageable);
+    List<DVDResumen> findByDisponibleAndIdGreaterThan(Boolean disponible, Long afterId, Pageable pageable);
+    List<DVDResumen> findByGeneroContainingIgnoreCaseAndIdGreaterThan(String genero, Long afterId, Pageable pageable);
+    List<DVDResumen> findByAutorContainingIgnoreCaseAndIdGreaterThan(String director, Long afterId, Pageable pageable);
+    List<DVDResumen> findByClasificacionContainingIgnoreCaseAndIdGreaterThan(String clasificacion, Long afterId, Pageable pageable);
+    List<DVDResumen> findByDuracionBetweenAndIdGreaterThan(Integer minDuracion, Integer maxDuracion, Long afterId, Pageable pageable);
+
+    // Exportación: lectura en streaming con fetch size acotado y entidades de solo lectura.
+    // Quien la recorre pone la sesión en CacheMode.IGNORE: un hint de la consulta solo dura
+    // hasta abrir el stream, y cada fila leída después entraría en la cache de segundo nivel
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("SELECT d FROM DVD d ORDER BY d.id")
+    Stream<DVD> streamAll();
 }
\ No newline at end of file
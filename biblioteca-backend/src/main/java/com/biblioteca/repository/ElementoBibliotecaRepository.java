@@ -1,11 +1,21 @@
 package com.biblioteca.repository;
 
 import com.biblioteca.model.ElementoBiblioteca;
+import com.biblioteca.model.ElementoBiblioteca.TipoElemento;
+import com.biblioteca.repository.projection.ElementoResumen;
+import com.biblioteca.repository.projection.VersionCatalogo;
+import com.biblioteca.repository.projection.VersionElemento;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface ElementoBibliotecaRepository extends JpaRepository<ElementoBiblioteca, Long> {
@@ -19,4 +29,46 @@ public interface ElementoBibliotecaRepository extends JpaRepository<ElementoBibl
 
     @Query("SELECT COUNT(e) FROM ElementoBiblioteca e WHERE e.disponible = false")
     Long countByDisponibleFalse();
-}
\ No newline at end of file
+
+    // Conteos de todo el catálogo en una sola pasada sobre idx_elementos_tipo_disponible_id
+    @Query(value = "SELECT " +
+            "COUNT(CASE WHEN tipo = 'LIBRO' THEN 1 END) AS totalLibros, " +
+            "COUNT(CASE WHEN tipo = 'LIBRO' AND disponible = true THEN 1 END) AS librosDisponibles, " +
+            "COUNT(CASE WHEN tipo = 'REVISTA' THEN 1 END) AS totalRevistas, " +
+            "COUNT(CASE WHEN tipo = 'REVISTA' AND disponible = true THEN 1 END) AS revistasDisponibles, " +
+            "COUNT(CASE WHEN tipo = 'DVD' THEN 1 END) AS totalDVDs, " +
+            "COUNT(CASE WHEN tipo = 'DVD' AND disponible = true THEN 1 END) AS dvdsDisponibles " +
+            "FROM elementos_biblioteca",
+            nativeQuery = true)
+    ResumenCatalogo obtenerResumenCatalogo();
+
+    // Peticiones condicionales (ETag): solo la versión y la fecha, sin cargar la entidad. En
+    // la cache de consultas hasta que cambia elementos_biblioteca, así que un 304 no llega a la base
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "biblioteca-consultas")
+    })
+    @Query("SELECT new com.biblioteca.repository.projection.VersionElemento(e.version, e.fechaActualizacion) " +
+            "FROM ElementoBiblioteca e WHERE e.id = :id AND e.tipo = :tipo")
+    Optional<VersionElemento> findVersionElemento(@Param("id") Long id, @Param("tipo") TipoElemento tipo);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "biblioteca-consultas")
+    })
+    @Query("SELECT new com.biblioteca.repository.projection.VersionCatalogo(COUNT(e), MAX(e.fechaActualizacion)) " +
+            "FROM ElementoBiblioteca e WHERE e.tipo IN :tipos")
+    VersionCatalogo findVersion(@Param("tipos") Collection<TipoElemento> tipos);
+
+    // Listados mezclados: solo columnas comunes, la misma vista para los tres tipos
+    List<ElementoResumen> findByTipoAndIdIn(TipoElemento tipo, Collection<Long> ids);
+
+    interface ResumenCatalogo {
+        Long getTotalLibros();
+        Long getLibrosDisponibles();
+        Long getTotalRevistas();
+        Long getRevistasDisponibles();
+        Long getTotalDVDs();
+        Long getDvdsDisponibles();
+    }
+}
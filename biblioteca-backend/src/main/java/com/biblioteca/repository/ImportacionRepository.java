@@ -0,0 +1,27 @@
+package com.biblioteca.repository;
+
+import com.biblioteca.model.Importacion;
+import com.biblioteca.model.Importacion.EstadoImportacion;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ImportacionRepository extends JpaRepository<Importacion, String> {
+
+    List<Importacion> findByEstadoIn(Collection<EstadoImportacion> estados);
+
+    // Solo una de varias peticiones simultáneas pasa la importación de FALLIDA a PENDIENTE:
+    // 0 filas si no existe o ya no está fallida
+    @Modifying
+    @Query("UPDATE Importacion i SET i.estado = com.biblioteca.model.Importacion.EstadoImportacion.PENDIENTE, "
+            + "i.fechaFin = null, i.fechaActualizacion = :ahora "
+            + "WHERE i.id = :id AND i.estado = com.biblioteca.model.Importacion.EstadoImportacion.FALLIDA")
+    int reanudar(@Param("id") String id, @Param("ahora") LocalDateTime ahora);
+}
@@ -0,0 +1,206 @@
+package com.biblioteca.repository;
+
+import com.biblioteca.model.ElementoBiblioteca.TipoElemento;
+import com.biblioteca.repository.projection.DVDResumen;
+import com.biblioteca.repository.projection.LibroResumen;
+import com.biblioteca.repository.projection.RevistaResumen;
+import com.biblioteca.repository.specification.CatalogoSpecifications;
+import io.r2dbc.spi.Readable;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Lecturas del catálogo sobre R2DBC. Son las mismas consultas keyset que los
+ * repositorios JPA ({@code WHERE tipo = ? AND id > ? ORDER BY id}) y devuelven las
+ * mismas proyecciones sin columnas TEXT, pero las filas llegan como un Flux a
+ * medida que el suscriptor las pide: el driver no lee del socket más de lo que
+ * consume el cliente HTTP.
+ */
+@Repository
+@ConditionalOnProperty(prefix = "biblioteca.reactivo", name = "enabled", havingValue = "true")
+public class LecturaReactivaRepository {
+
+    private static final String COLUMNAS_LIBRO = "id, titulo, autor, ano_publicacion, isbn, numero_paginas, genero, "
+            + "editorial, idioma, precio, stock, disponible, fecha_creacion, fecha_actualizacion";
+    private static final String COLUMNAS_REVISTA = "id, titulo, autor, ano_publicacion, numero_edicion, categoria, "
+            + "periodicidad, issn, precio, numero_paginas, editorial, disponible, fecha_creacion, fecha_actualizacion";
+    private static final String COLUMNAS_DVD = "id, titulo, autor, ano_publicacion, genero, duracion, clasificacion, "
+            + "precio, disponible, fecha_creacion, fecha_actualizacion";
+
+    // Columnas por las que se puede filtrar; el nombre se concatena en el SQL
+    private static final Set<String> FILTRABLES =
+            Set.of("autor", "genero", "editorial", "categoria", "periodicidad", "clasificacion", "duracion");
+
+    private final DatabaseClient databaseClient;
+
+    public LecturaReactivaRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    /**
+     * Criterios de un listado; los que son nulos no se aplican.
+     *
+     * @param limite máximo de filas, o {@code null} para recorrer hasta el final
+     */
+    public record Filtro(long afterId, Integer limite, Boolean disponible,
+                         String columnaTexto, String texto,
+                         String columnaRango, Integer minimo, Integer maximo) {
+
+        public static Filtro todos(long afterId, Integer limite) {
+            return new Filtro(afterId, limite, null, null, null, null, null, null);
+        }
+
+        public static Filtro disponibles(long afterId, Integer limite) {
+            return new Filtro(afterId, limite, true, null, null, null, null, null);
+        }
+
+        public static Filtro contiene(String columna, String texto, long afterId, Integer limite) {
+            return new Filtro(afterId, limite, null, columna, texto, null, null, null);
+        }
+
+        public static Filtro entre(String columna, Integer minimo, Integer maximo, long afterId, Integer limite) {
+            return new Filtro(afterId, limite, null, null, null, columna, minimo, maximo);
+        }
+    }
+
+    public Flux<LibroResumen> libros(Filtro filtro) {
+        return listar(TipoElemento.LIBRO, COLUMNAS_LIBRO, filtro, LecturaReactivaRepository::libro);
+    }
+
+    public Mono<LibroResumen> libroPorId(long id) {
+        return porId(TipoElemento.LIBRO, COLUMNAS_LIBRO, id, LecturaReactivaRepository::libro);
+    }
+
+    public Mono<LibroResumen> libroPorIsbn(String isbn) {
+        return databaseClient.sql("SELECT " + COLUMNAS_LIBRO
+                        + " FROM elementos_biblioteca WHERE tipo = :tipo AND isbn = :isbn")
+                .bind("tipo", TipoElemento.LIBRO.name())
+                .bind("isbn", isbn)
+                .map(LecturaReactivaRepository::libro)
+                .one();
+    }
+
+    public Flux<RevistaResumen> revistas(Filtro filtro) {
+        return listar(TipoElemento.REVISTA, COLUMNAS_REVISTA, filtro, LecturaReactivaRepository::revista);
+    }
+
+    public Mono<RevistaResumen> revistaPorId(long id) {
+        return porId(TipoElemento.REVISTA, COLUMNAS_REVISTA, id, LecturaReactivaRepository::revista);
+    }
+
+    public Flux<DVDResumen> dvds(Filtro filtro) {
+        return listar(TipoElemento.DVD, COLUMNAS_DVD, filtro, LecturaReactivaRepository::dvd);
+    }
+
+    public Mono<DVDResumen> dvdPorId(long id) {
+        return porId(TipoElemento.DVD, COLUMNAS_DVD, id, LecturaReactivaRepository::dvd);
+    }
+
+    private <R> Flux<R> listar(TipoElemento tipo, String columnas, Filtro filtro, Function<Readable, R> fila) {
+        StringBuilder sql = new StringBuilder("SELECT ").append(columnas)
+                .append(" FROM elementos_biblioteca WHERE tipo = :tipo AND id > :afterId");
+        Map<String, Object> parametros = new LinkedHashMap<>();
+        parametros.put("tipo", tipo.name());
+        parametros.put("afterId", filtro.afterId());
+
+        if (filtro.disponible() != null) {
+            sql.append(" AND disponible = :disponible");
+            parametros.put("disponible", filtro.disponible());
+        }
+        if (filtro.columnaTexto() != null) {
+            sql.append(" AND LOWER(").append(columna(filtro.columnaTexto())).append(") LIKE :texto ESCAPE '")
+                    .append(CatalogoSpecifications.ESCAPE).append("'");
+            parametros.put("texto", CatalogoSpecifications.patronContiene(filtro.texto()));
+        }
+        if (filtro.columnaRango() != null) {
+            sql.append(" AND ").append(columna(filtro.columnaRango())).append(" BETWEEN :minimo AND :maximo");
+            parametros.put("minimo", filtro.minimo());
+            parametros.put("maximo", filtro.maximo());
+        }
+        sql.append(" ORDER BY id");
+        if (filtro.limite() != null) {
+            sql.append(" LIMIT ").append((int) filtro.limite());
+        }
+
+        DatabaseClient.GenericExecuteSpec consulta = databaseClient.sql(sql.toString());
+        for (Map.Entry<String, Object> parametro : parametros.entrySet()) {
+            consulta = consulta.bind(parametro.getKey(), parametro.getValue());
+        }
+        return consulta.map(fila).all();
+    }
+
+    private <R> Mono<R> porId(TipoElemento tipo, String columnas, long id, Function<Readable, R> fila) {
+        return databaseClient.sql("SELECT " + columnas + " FROM elementos_biblioteca WHERE id = :id AND tipo = :tipo")
+                .bind("id", id)
+                .bind("tipo", tipo.name())
+                .map(fila)
+                .one();
+    }
+
+    private static String columna(String nombre) {
+        if (!FILTRABLES.contains(nombre)) {
+            throw new IllegalArgumentException("Columna no filtrable: " + nombre);
+        }
+        return nombre;
+    }
+
+    private static LibroResumen libro(Readable fila) {
+        return new LibroResumen(
+                fila.get("id", Long.class),
+                fila.get("titulo", String.class),
+                fila.get("autor", String.class),
+                fila.get("ano_publicacion", Integer.class),
+                fila.get("isbn", String.class),
+                fila.get("numero_paginas", Integer.class),
+                fila.get("genero", String.class),
+                fila.get("editorial", String.class),
+                fila.get("idioma", String.class),
+                fila.get("precio", Double.class),
+                fila.get("stock", Integer.class),
+                fila.get("disponible", Boolean.class),
+                fila.get("fecha_creacion", LocalDateTime.class),
+                fila.get("fecha_actualizacion", LocalDateTime.class));
+    }
+
+    private static RevistaResumen revista(Readable fila) {
+        return new RevistaResumen(
+                fila.get("id", Long.class),
+                fila.get("titulo", String.class),
+                fila.get("autor", String.class),
+                fila.get("ano_publicacion", Integer.class),
+                fila.get("numero_edicion", Integer.class),
+                fila.get("categoria", String.class),
+                fila.get("periodicidad", String.class),
+                fila.get("issn", String.class),
+                fila.get("precio", Double.class),
+                fila.get("numero_paginas", Integer.class),
+                fila.get("editorial", String.class),
+                fila.get("disponible", Boolean.class),
+                fila.get("fecha_creacion", LocalDateTime.class),
+                fila.get("fecha_actualizacion", LocalDateTime.class));
+    }
+
+    private static DVDResumen dvd(Readable fila) {
+        return new DVDResumen(
+                fila.get("id", Long.class),
+                fila.get("titulo", String.class),
+                fila.get("autor", String.class),
+                fila.get("ano_publicacion", Integer.class),
+                fila.get("genero", String.class),
+                fila.get("duracion", Integer.class),
+                fila.get("clasificacion", String.class),
+                fila.get("precio", Double.class),
+                fila.get("disponible", Boolean.class),
+                fila.get("fecha_creacion", LocalDateTime.class),
+                fila.get("fecha_actualizacion", LocalDateTime.class));
+    }
+}
@@ -1,13 +1,20 @@
 package com.biblioteca.repository;
 
 import com.biblioteca.model.Libro;
+import com.biblioteca.repository.projection.LibroResumen;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface LibroRepository extends JpaRepository<Libro, Long> {
@@ -16,6 +23,11 @@ public interface LibroRepository extends JpaRepository<Libro, Long> {
     List<Libro> findByAutorContainingIgnoreCase(String autor);
     List<Libro> findByGeneroContainingIgnoreCase(String genero);
     List<Libro> findByEditorialContainingIgnoreCase(String editorial);
+    // Cache de consultas: se invalida sola cuando cambia la tabla elementos_biblioteca
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "biblioteca-consultas")
+    })
     Optional<Libro> findByIsbn(String isbn);
     List<Libro> findByIsbnContaining(String isbn);
     List<Libro> findByDisponible(Boolean disponible);
@@ -27,4 +39,29 @@ public interface LibroRepository extends JpaRepository<Libro, Long> {
             "LOWER(l.editorial) LIKE LOWER(CONCAT('%', :query, '%')) OR " +
             "l.isbn LIKE CONCAT('%', :query, '%')")
     List<Libro> searchLibros(@Param("query") String query);
+
+    // Importación: códigos del tramo que ya existen en el catálogo
+    @Query("SELECT l.isbn FROM Libro l WHERE l.isbn IN :isbns")
+    List<String> findIsbnExistentes(@Param("isbns") Collection<String> isbns);
+
+    // Listados: proyección sin columnas TEXT, fuera del contexto de persistencia
+    List<LibroResumen> findByIdIn(Collection<Long> ids);
+
+    // Paginación por cursor (WHERE id > :afterId ORDER BY id)
+    List<LibroResumen> findByIdGreaterThan(Long afterId, Pageable pageable);
+    List<LibroResumen> findByDisponibleAndIdGreaterThan(Boolean disponible, Long afterId, Pageable pageable);
+    List<LibroResumen> findByGeneroContainingIgnoreCaseAndIdGreaterThan(String genero, Long afterId, Pageable pageable);
+    List<LibroResumen> findByEditorialContainingIgnoreCaseAndIdGreaterThan(String editorial, Long afterId, Pageable pageable);
+    List<LibroResumen> findByAutorContainingIgnoreCaseAndIdGreaterThan(String autor, Long afterId, Pageable pageable);
+
+    // Exportación: lectura en streaming con fetch size acotado y entidades de solo lectura.
+    // Quien la recorre pone la sesión en CacheMode.IGNORE: un hint de la consulta solo dura
+    // hasta abrir el stream, y cada fila leída después entraría en la cache de segundo nivel
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("SELECT l FROM Libro l ORDER BY l.id")
+    Stream<Libro> streamAll();
 }
\ No newline at end of file
@@ -1,12 +1,19 @@
 package com.biblioteca.repository;
 
 import com.biblioteca.model.Revista;
+import com.biblioteca.repository.projection.RevistaResumen;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface RevistaRepository extends JpaRepository<Revista, Long> {
@@ -25,4 +32,30 @@ public interface RevistaRepository extends JpaRepository<Revista, Long> {
             "LOWER(r.editorial) LIKE LOWER(CONCAT('%', :query, '%')) OR " +
             "r.issn LIKE CONCAT('%', :query, '%')")
     List<Revista> searchRevistas(@Param("query") String query);
+
+    // Importación: códigos del tramo que ya existen en el catálogo
+    @Query("SELECT r.issn FROM Revista r WHERE r.issn IN :issns")
+    List<String> findIssnExistentes(@Param("issns") Collection<String> issns);
+
+    // Listados: proyección sin columnas TEXT, fuera del contexto de persistencia
+    List<RevistaResumen> findByIdIn(Collection<Long> ids);
+
+    // Paginación por cursor (WHERE id > :afterId ORDER BY id)
+    List<RevistaResumen> findByIdGreaterThan(Long afterId, Pageable pageable);
+    List<RevistaResumen> findByDisponibleAndIdGreaterThan(Boolean disponible, Long afterId, Pageable pageable);
+    List<RevistaResumen> findByCategoriaContainingIgnoreCaseAndIdGreaterThan(String categoria, Long afterId, Pageable pageable);
+    List<RevistaResumen> findByPeriodicidadContainingIgnoreCaseAndIdGreaterThan(String periodicidad, Long afterId, Pageable pageable);
+    List<RevistaResumen> findByEditorialContainingIgnoreCaseAndIdGreaterThan(String editorial, Long afterId, Pageable pageable);
+    List<RevistaResumen> findByAutorContainingIgnoreCaseAndIdGreaterThan(String autor, Long afterId, Pageable pageable);
+
+    // Exportación: lectura en streaming con fetch size acotado y entidades de solo lectura.
+    // Quien la recorre pone la sesión en CacheMode.IGNORE: un hint de la consulta solo dura
+    // hasta abrir el stream, y cada fila leída después entraría en la cache de segundo nivel
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("SELECT r FROM Revista r ORDER BY r.id")
+    Stream<Revista> streamAll();
 }
\ No newline at end of file
@@ -0,0 +1,19 @@
+package com.biblioteca.repository.projection;
+
+import java.time.LocalDateTime;
+
+// Vista de listado de DVD: sin las columnas TEXT actores y sinopsis.
+// autor y anoPublicacion son el director y el año de lanzamiento
+public record DVDResumen(
+        Long id,
+        String titulo,
+        String autor,
+        Integer anoPublicacion,
+        String genero,
+        Integer duracion,
+        String clasificacion,
+        Double precio,
+        Boolean disponible,
+        LocalDateTime fechaCreacion,
+        LocalDateTime fechaActualizacion) {
+}
@@ -0,0 +1,18 @@
+package com.biblioteca.repository.projection;
+
+import com.biblioteca.model.ElementoBiblioteca.TipoElemento;
+
+import java.time.LocalDateTime;
+
+// Vista de listado común a todo el catálogo: solo columnas de ElementoBiblioteca
+public record ElementoResumen(
+        Long id,
+        TipoElemento tipo,
+        String titulo,
+        String autor,
+        Integer anoPublicacion,
+        Double precio,
+        Boolean disponible,
+        LocalDateTime fechaCreacion,
+        LocalDateTime fechaActualizacion) {
+}
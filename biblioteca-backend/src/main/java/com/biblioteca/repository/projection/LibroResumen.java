@@ -0,0 +1,21 @@
+package com.biblioteca.repository.projection;
+
+import java.time.LocalDateTime;
+
+// Vista de listado de Libro: sin la columna TEXT descripcion
+public record LibroResumen(
+        Long id,
+        String titulo,
+        String autor,
+        Integer anoPublicacion,
+        String isbn,
+        Integer numeroPaginas,
+        String genero,
+        String editorial,
+        String idioma,
+        Double precio,
+        Integer stock,
+        Boolean disponible,
+        LocalDateTime fechaCreacion,
+        LocalDateTime fechaActualizacion) {
+}
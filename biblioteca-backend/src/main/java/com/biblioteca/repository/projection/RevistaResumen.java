@@ -0,0 +1,21 @@
+package com.biblioteca.repository.projection;
+
+import java.time.LocalDateTime;
+
+// Vista de listado de Revista: sin la columna TEXT descripcion
+public record RevistaResumen(
+        Long id,
+        String titulo,
+        String autor,
+        Integer anoPublicacion,
+        Integer numeroEdicion,
+        String categoria,
+        String periodicidad,
+        String issn,
+        Double precio,
+        Integer numeroPaginas,
+        String editorial,
+        Boolean disponible,
+        LocalDateTime fechaCreacion,
+        LocalDateTime fechaActualizacion) {
+}
@@ -0,0 +1,9 @@
+package com.biblioteca.repository.projection;
+
+import java.time.LocalDateTime;
+
+// Versión de un listado: cambia con cada alta o baja (total) y con cada modificación (fecha)
+public record VersionCatalogo(
+        Long total,
+        LocalDateTime ultimaModificacion) {
+}
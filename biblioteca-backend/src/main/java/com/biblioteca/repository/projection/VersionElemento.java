@@ -0,0 +1,9 @@
+package com.biblioteca.repository.projection;
+
+import java.time.LocalDateTime;
+
+// Versión de un elemento: la de bloqueo optimista (ETag) y su fecha (Last-Modified)
+public record VersionElemento(
+        Long version,
+        LocalDateTime fechaActualizacion) {
+}
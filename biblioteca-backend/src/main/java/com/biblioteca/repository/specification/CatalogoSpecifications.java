@@ -0,0 +1,131 @@
+package com.biblioteca.repository.specification;
+
+import com.biblioteca.dto.CatalogoFiltroDTO;
+import com.biblioteca.dto.DVDFiltroDTO;
+import com.biblioteca.dto.LibroFiltroDTO;
+import com.biblioteca.dto.RevistaFiltroDTO;
+import com.biblioteca.model.DVD;
+import com.biblioteca.model.ElementoBiblioteca;
+import com.biblioteca.model.Libro;
+import com.biblioteca.model.Revista;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+
+/**
+ * Traduce los filtros de la API a predicados que se combinan con AND en una
+ * sola sentencia. Cada criterio vacío devuelve {@code null} y no aparece en el
+ * WHERE, así que solo se filtra por lo que el cliente envía.
+ */
+public final class CatalogoSpecifications {
+
+    // Sin barra invertida, que MySQL y H2 interpretan distinto dentro de un literal SQL
+    public static final char ESCAPE = '!';
+
+    private CatalogoSpecifications() {}
+
+    public static Specification<Libro> libros(LibroFiltroDTO filtro) {
+        return todas(
+                contiene("titulo", filtro.getTitulo()),
+                contiene("autor", filtro.getAutor()),
+                contiene("genero", filtro.getGenero()),
+                contiene("editorial", filtro.getEditorial()),
+                contiene("idioma", filtro.getIdioma()),
+                igual("isbn", filtro.getIsbn()),
+                igual("disponible", filtro.getDisponible()),
+                entre("anoPublicacion", filtro.getAnoMin(), filtro.getAnoMax()),
+                entre("precio", filtro.getPrecioMin(), filtro.getPrecioMax()));
+    }
+
+    public static Specification<Revista> revistas(RevistaFiltroDTO filtro) {
+        return todas(
+                contiene("titulo", filtro.getTitulo()),
+                contiene("autor", filtro.getAutor()),
+                contiene("categoria", filtro.getCategoria()),
+                contiene("periodicidad", filtro.getPeriodicidad()),
+                contiene("editorial", filtro.getEditorial()),
+                igual("issn", filtro.getIssn()),
+                igual("disponible", filtro.getDisponible()),
+                entre("anoPublicacion", filtro.getAnoMin(), filtro.getAnoMax()),
+                entre("precio", filtro.getPrecioMin(), filtro.getPrecioMax()));
+    }
+
+    public static Specification<DVD> dvds(DVDFiltroDTO filtro) {
+        return todas(
+                contiene("titulo", filtro.getTitulo()),
+                contiene("autor", filtro.getDirector()),
+                contiene("genero", filtro.getGenero()),
+                contiene("clasificacion", filtro.getClasificacion()),
+                igual("disponible", filtro.getDisponible()),
+                entre("anoPublicacion", filtro.getAnoMin(), filtro.getAnoMax()),
+                entre("duracion", filtro.getDuracionMin(), filtro.getDuracionMax()),
+                entre("precio", filtro.getPrecioMin(), filtro.getPrecioMax()));
+    }
+
+    // Criterios comunes a todo el catálogo; el tipo es la columna discriminadora
+    public static Specification<ElementoBiblioteca> elementos(CatalogoFiltroDTO filtro) {
+        return todas(
+                en("tipo", filtro.getTipos()),
+                contiene("titulo", filtro.getTitulo()),
+                contiene("autor", filtro.getAutor()),
+                igual("disponible", filtro.getDisponible()),
+                entre("anoPublicacion", filtro.getAnoMin(), filtro.getAnoMax()),
+                entre("precio", filtro.getPrecioMin(), filtro.getPrecioMax()));
+    }
+
+    // Mismo criterio que los finders ...ContainingIgnoreCase
+    public static <E> Specification<E> contiene(String atributo, String valor) {
+        if (valor == null || valor.isBlank()) {
+            return null;
+        }
+        String patron = patronContiene(valor);
+        return (root, query, cb) -> cb.like(cb.lower(root.get(atributo)), patron, ESCAPE);
+    }
+
+    // Patrón LIKE en minúsculas con ESCAPE como carácter de escape
+    public static String patronContiene(String valor) {
+        return "%" + escaparLike(valor.trim().toLowerCase(Locale.ROOT)) + "%";
+    }
+
+    public static <E> Specification<E> igual(String atributo, Object valor) {
+        if (valor == null || (valor instanceof String texto && texto.isBlank())) {
+            return null;
+        }
+        return (root, query, cb) -> cb.equal(root.get(atributo), valor);
+    }
+
+    public static <E> Specification<E> en(String atributo, Collection<?> valores) {
+        if (valores == null || valores.isEmpty()) {
+            return null;
+        }
+        return (root, query, cb) -> root.get(atributo).in(valores);
+    }
+
+    // Rango cerrado; cualquiera de los extremos puede faltar
+    public static <E, C extends Comparable<? super C>> Specification<E> entre(String atributo, C min, C max) {
+        if (min != null && max != null) {
+            return (root, query, cb) -> cb.between(root.get(atributo), min, max);
+        }
+        if (min != null) {
+            return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get(atributo), min);
+        }
+        if (max != null) {
+            return (root, query, cb) -> cb.lessThanOrEqualTo(root.get(atributo), max);
+        }
+        return null;
+    }
+
+    @SafeVarargs
+    private static <E> Specification<E> todas(Specification<E>... criterios) {
+        List<Specification<E>> presentes = Arrays.stream(criterios).filter(Objects::nonNull).toList();
+        return Specification.allOf(presentes);
+    }
+
+    private static String escaparLike(String valor) {
+        return valor.replace("!", "!!").replace("%", "!%").replace("_", "!_");
+    }
+}
@@ -0,0 +1,375 @@
+package com.biblioteca.search;
+
+import com.biblioteca.model.DVD;
+import com.biblioteca.model.ElementoBiblioteca.TipoElemento;
+import com.biblioteca.model.Libro;
+import com.biblioteca.model.Revista;
+import com.biblioteca.repository.DVDRepository;
+import com.biblioteca.repository.LibroRepository;
+import com.biblioteca.repository.RevistaRepository;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause.Occur;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.BoostQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.PrefixQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.store.Directory;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Índice invertido en memoria (Lucene) sobre los campos de búsqueda de libros,
+ * revistas y DVDs. Se reconstruye desde la base de datos al arrancar y los
+ * servicios lo mantienen al día tras cada commit de save/update/delete.
+ */
+@Component
+public class CatalogoIndex implements SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(CatalogoIndex.class);
+
+    static final String KEY = "key";
+    static final String TIPO = "tipo";
+    static final String ID = "id";
+    static final String TITULO = "titulo";
+    static final String AUTOR = "autor";
+    static final String TEMA = "tema";
+    static final String EDITORIAL = "editorial";
+    static final String CODIGO = "codigo";
+
+    // Peso de cada campo en el ranking
+    private static final Map<String, Float> BOOSTS = Map.of(
+            TITULO, 3.0f,
+            AUTOR, 2.0f,
+            TEMA, 1.0f,
+            EDITORIAL, 1.0f
+    );
+
+    // Atributos de la entidad que entran en el documento de cada tipo (ver toDocument)
+    private static final Map<TipoElemento, Set<String>> ATRIBUTOS_INDEXADOS = Map.of(
+            TipoElemento.LIBRO, Set.of("titulo", "autor", "genero", "editorial", "isbn"),
+            TipoElemento.REVISTA, Set.of("titulo", "autor", "categoria", "periodicidad", "editorial", "issn"),
+            TipoElemento.DVD, Set.of("titulo", "autor", "genero", "clasificacion"));
+
+    private static final Pattern SEPARADORES_CODIGO = Pattern.compile("[\\s-]");
+
+    private final LibroRepository libroRepository;
+    private final RevistaRepository revistaRepository;
+    private final DVDRepository dvdRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Analyzer analyzer = new CatalogoAnalyzer();
+    private final Directory directory = new ByteBuffersDirectory();
+    private final IndexWriter writer;
+    private final SearcherManager searcherManager;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public CatalogoIndex(LibroRepository libroRepository,
+                         RevistaRepository revistaRepository,
+                         DVDRepository dvdRepository,
+                         PlatformTransactionManager transactionManager) throws IOException {
+        this.libroRepository = libroRepository;
+        this.revistaRepository = revistaRepository;
+        this.dvdRepository = dvdRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.writer = new IndexWriter(directory, new IndexWriterConfig(analyzer));
+        this.searcherManager = new SearcherManager(writer, null);
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        rebuild();
+    }
+
+    public void rebuild() {
+        long inicio = System.currentTimeMillis();
+        readOnlyTransaction.executeWithoutResult(status -> {
+            // Todo el catálogo de una vez: no debe ocupar la cache de segundo nivel
+            entityManager.unwrap(Session.class).setCacheMode(CacheMode.IGNORE);
+            try {
+                writer.deleteAll();
+                try (Stream<Libro> libros = libroRepository.streamAll()) {
+                    libros.forEach(libro -> addDocument(toDocument(libro), libro));
+                }
+                try (Stream<Revista> revistas = revistaRepository.streamAll()) {
+                    revistas.forEach(revista -> addDocument(toDocument(revista), revista));
+                }
+                try (Stream<DVD> dvds = dvdRepository.streamAll()) {
+                    dvds.forEach(dvd -> addDocument(toDocument(dvd), dvd));
+                }
+                writer.commit();
+                searcherManager.maybeRefresh();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        log.info("Índice de búsqueda reconstruido con {} documentos en {} ms",
+                writer.getDocStats().numDocs, System.currentTimeMillis() - inicio);
+    }
+
+    public void index(Libro libro) {
+        upsertAfterCommit(TipoElemento.LIBRO, libro.getId(), toDocument(libro));
+    }
+
+    public void index(Revista revista) {
+        upsertAfterCommit(TipoElemento.REVISTA, revista.getId(), toDocument(revista));
+    }
+
+    public void index(DVD dvd) {
+        upsertAfterCommit(TipoElemento.DVD, dvd.getId(), toDocument(dvd));
+    }
+
+    // Un cambio que no toca estos atributos no necesita reindexar (ni cargar) el elemento
+    public static boolean afectaAlIndice(TipoElemento tipo, Collection<String> atributos) {
+        return atributos.stream().anyMatch(ATRIBUTOS_INDEXADOS.get(tipo)::contains);
+    }
+
+    public void delete(TipoElemento tipo, Long id) {
+        afterCommit(w -> w.deleteDocuments(new Term(KEY, key(tipo, id))));
+    }
+
+    /**
+     * Devuelve los resultados ordenados por relevancia. {@code tipo} nulo busca en
+     * todo el catálogo.
+     */
+    public List<ResultadoBusqueda> search(TipoElemento tipo, String texto, int offset, int limit) {
+        Query query = buildQuery(tipo, texto);
+        if (query == null) {
+            return List.of();
+        }
+        try {
+            IndexSearcher searcher = searcherManager.acquire();
+            try {
+                TopDocs topDocs = searcher.search(query, offset + limit);
+                List<ResultadoBusqueda> resultados = new ArrayList<>();
+                ScoreDoc[] hits = topDocs.scoreDocs;
+                for (int i = offset; i < hits.length; i++) {
+                    Document doc = searcher.storedFields().document(hits[i].doc);
+                    resultados.add(new ResultadoBusqueda(
+                            TipoElemento.valueOf(doc.get(TIPO)),
+                            doc.getField(ID).numericValue().longValue(),
+                            hits[i].score));
+                }
+                return resultados;
+            } finally {
+                searcherManager.release(searcher);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        searcherManager.close();
+        writer.close();
+        directory.close();
+    }
+
+    Query buildQuery(TipoElemento tipo, String texto) {
+        if (texto == null || texto.isBlank()) {
+            return null;
+        }
+
+        List<String> tokens = analyze(texto);
+        BooleanQuery.Builder coincidencias = new BooleanQuery.Builder();
+
+        if (!tokens.isEmpty()) {
+            // Todos los términos deben aparecer en algún campo; el último admite prefijo
+            BooleanQuery.Builder todos = new BooleanQuery.Builder();
+            for (int i = 0; i < tokens.size(); i++) {
+                boolean prefijo = i == tokens.size() - 1;
+                todos.add(termAcrossFields(tokens.get(i), prefijo), Occur.MUST);
+            }
+            coincidencias.add(todos.build(), Occur.SHOULD);
+        }
+
+        String codigo = normalizeCodigo(texto);
+        if (!codigo.isEmpty()) {
+            coincidencias.add(new BoostQuery(new PrefixQuery(new Term(CODIGO, codigo)), 5.0f), Occur.SHOULD);
+        }
+
+        BooleanQuery.Builder query = new BooleanQuery.Builder()
+                .add(coincidencias.setMinimumNumberShouldMatch(1).build(), Occur.MUST);
+        if (tipo != null) {
+            query.add(new TermQuery(new Term(TIPO, tipo.name())), Occur.FILTER);
+        }
+        return query.build();
+    }
+
+    private Query termAcrossFields(String token, boolean prefijo) {
+        BooleanQuery.Builder campos = new BooleanQuery.Builder();
+        for (Map.Entry<String, Float> campo : BOOSTS.entrySet()) {
+            Term term = new Term(campo.getKey(), token);
+            campos.add(new BoostQuery(new TermQuery(term), campo.getValue()), Occur.SHOULD);
+            if (prefijo) {
+                campos.add(new BoostQuery(new PrefixQuery(term), campo.getValue() * 0.5f), Occur.SHOULD);
+            }
+        }
+        return campos.build();
+    }
+
+    private List<String> analyze(String texto) {
+        List<String> tokens = new ArrayList<>();
+        try (TokenStream stream = analyzer.tokenStream(TITULO, texto)) {
+            CharTermAttribute term = stream.addAttribute(CharTermAttribute.class);
+            stream.reset();
+            while (stream.incrementToken()) {
+                tokens.add(term.toString());
+            }
+            stream.end();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return tokens;
+    }
+
+    private Document toDocument(Libro libro) {
+        return document(TipoElemento.LIBRO, libro.getId(), libro.getTitulo(), libro.getAutor(),
+                libro.getGenero(), libro.getEditorial(), libro.getIsbn());
+    }
+
+    private Document toDocument(Revista revista) {
+        return document(TipoElemento.REVISTA, revista.getId(), revista.getTitulo(), revista.getAutor(),
+                join(revista.getCategoria(), revista.getPeriodicidad()), revista.getEditorial(), revista.getIssn());
+    }
+
+    private Document toDocument(DVD dvd) {
+        return document(TipoElemento.DVD, dvd.getId(), dvd.getTitulo(), dvd.getDirector(),
+                join(dvd.getGenero(), dvd.getClasificacion()), null, null);
+    }
+
+    private Document document(TipoElemento tipo, Long id, String titulo, String autor,
+                              String tema, String editorial, String codigo) {
+        Document doc = new Document();
+        doc.add(new StringField(KEY, key(tipo, id), Field.Store.NO));
+        doc.add(new StringField(TIPO, tipo.name(), Field.Store.YES));
+        doc.add(new StoredField(ID, id));
+        addText(doc, TITULO, titulo);
+        addText(doc, AUTOR, autor);
+        addText(doc, TEMA, tema);
+        addText(doc, EDITORIAL, editorial);
+        if (codigo != null && !codigo.isBlank()) {
+            doc.add(new StringField(CODIGO, normalizeCodigo(codigo), Field.Store.NO));
+        }
+        return doc;
+    }
+
+    private void addDocument(Document doc, Object entity) {
+        try {
+            writer.addDocument(doc);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        entityManager.detach(entity);
+    }
+
+    private void upsertAfterCommit(TipoElemento tipo, Long id, Document doc) {
+        afterCommit(w -> w.updateDocument(new Term(KEY, key(tipo, id)), doc));
+    }
+
+    // El índice solo refleja lo que realmente llegó a la base de datos
+    private void afterCommit(CambioIndice cambio) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            aplicar(List.of(cambio));
+            return;
+        }
+        CambiosPendientes pendientes = null;
+        for (TransactionSynchronization sync : TransactionSynchronizationManager.getSynchronizations()) {
+            if (sync instanceof CambiosPendientes actual) {
+                pendientes = actual;
+            }
+        }
+        if (pendientes == null) {
+            pendientes = new CambiosPendientes();
+            TransactionSynchronizationManager.registerSynchronization(pendientes);
+        }
+        pendientes.cambios.add(cambio);
+    }
+
+    // Un único refresh por transacción: las cargas masivas no reabren el lector por documento
+    private void aplicar(List<CambioIndice> cambios) {
+        try {
+            for (CambioIndice cambio : cambios) {
+                cambio.aplicar(writer);
+            }
+            searcherManager.maybeRefresh();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @FunctionalInterface
+    private interface CambioIndice {
+        void aplicar(IndexWriter writer) throws IOException;
+    }
+
+    private class CambiosPendientes implements TransactionSynchronization {
+        private final List<CambioIndice> cambios = new ArrayList<>();
+
+        @Override
+        public void afterCommit() {
+            aplicar(cambios);
+        }
+    }
+
+    private static void addText(Document doc, String field, String value) {
+        if (value != null && !value.isBlank()) {
+            doc.add(new TextField(field, value, Field.Store.NO));
+        }
+    }
+
+    private static String key(TipoElemento tipo, Long id) {
+        return tipo.name() + ":" + id;
+    }
+
+    private static String join(String a, String b) {
+        if (a == null) return b;
+        if (b == null) return a;
+        return a + " " + b;
+    }
+
+    // ISBN/ISSN se comparan sin guiones ni espacios
+    private static String normalizeCodigo(String codigo) {
+        return SEPARADORES_CODIGO.matcher(codigo).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,6 @@
+package com.biblioteca.search;
+
+import com.biblioteca.model.ElementoBiblioteca.TipoElemento;
+
+public record ResultadoBusqueda(TipoElemento tipo, Long id, float score) {
+}
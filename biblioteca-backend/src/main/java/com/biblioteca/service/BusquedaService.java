@@ -0,0 +1,7 @@
+package com.biblioteca.service;
+
+import com.biblioteca.dto.BusquedaGlobalDTO;
+
+public interface BusquedaService {
+    BusquedaGlobalDTO search(String query, Integer size);
+}
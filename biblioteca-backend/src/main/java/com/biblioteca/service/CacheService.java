@@ -0,0 +1,9 @@
+package com.biblioteca.service;
+
+import com.biblioteca.dto.CacheRegionStatsDTO;
+
+import java.util.List;
+
+public interface CacheService {
+    List<CacheRegionStatsDTO> getStats();
+}
@@ -0,0 +1,19 @@
+package com.biblioteca.service;
+
+import com.biblioteca.dto.CatalogoFiltroDTO;
+import com.biblioteca.dto.CursorPageDTO;
+import com.biblioteca.dto.ElementoBibliotecaDTO;
+import com.biblioteca.model.ElementoBiblioteca.TipoElemento;
+import com.biblioteca.repository.projection.VersionCatalogo;
+import com.biblioteca.repository.projection.VersionElemento;
+
+import java.util.Collection;
+import java.util.Optional;
+
+public interface CatalogoService {
+    CursorPageDTO<ElementoBibliotecaDTO> filtrar(CatalogoFiltroDTO filtro, String orden, String cursor, Integer size);
+
+    // Versiones para las peticiones condicionales; no cargan entidades ni DTOs
+    Optional<VersionElemento> versionElemento(TipoElemento tipo, Long id);
+    VersionCatalogo version(Collection<TipoElemento> tipos);
+}
@@ -1,31 +1,58 @@
 package com.biblioteca.service;
 
+import com.biblioteca.dto.BatchResultDTO;
+import com.biblioteca.dto.CursorPageDTO;
+import com.biblioteca.dto.FacetasDTO;
 import com.biblioteca.dto.DVDDTO;
+import com.biblioteca.dto.DVDFiltroDTO;
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
 import java.util.Optional;
 
 public interface DVDService {
 
     // Métodos CRUD básicos
-    List<DVDDTO> findAll();
+    CursorPageDTO<DVDDTO> findAll(String cursor, Integer size);
     Optional<DVDDTO> findById(Long id);
     DVDDTO save(DVDDTO dvdDTO);
     DVDDTO update(Long id, DVDDTO dvdDTO);
     void deleteById(Long id);
 
+    // Préstamo y devolución atómicos (un solo ejemplar); ResourceConflictException si no procede
+    DVDDTO prestar(Long id);
+    DVDDTO devolver(Long id);
+
+    // JSON Merge Patch en un único UPDATE; versión resultante si el cliente indicó la que esperaba
+    Optional<Long> patch(Long id, JsonNode parche, Long versionEsperada);
+
+    // Operaciones masivas
+    BatchResultDTO saveAll(List<DVDDTO> dvdDTOs);
+    BatchResultDTO updateAll(List<DVDDTO> dvdDTOs);
+    BatchResultDTO deleteAllById(List<Long> ids);
+
     // Métodos de búsqueda básicos
     List<DVDDTO> findByTitulo(String titulo);
-    List<DVDDTO> findByDisponible(Boolean disponible);
-    List<DVDDTO> search(String termino);
+    CursorPageDTO<DVDDTO> findByDisponible(Boolean disponible, String cursor, Integer size);
+    CursorPageDTO<DVDDTO> search(String termino, String cursor, Integer size);
+    void export(FormatoExportacion formato, OutputStream out) throws IOException;
 
     // Métodos específicos de DVD
-    List<DVDDTO> findByDirector(String director);
-    List<DVDDTO> findByGenero(String genero);
+    CursorPageDTO<DVDDTO> findByDirector(String director, String cursor, Integer size);
+    CursorPageDTO<DVDDTO> findByGenero(String genero, String cursor, Integer size);
     List<DVDDTO> findByAnoLanzamiento(Integer ano);
-    List<DVDDTO> findByDuracionBetween(Integer minDuracion, Integer maxDuracion);
-    List<DVDDTO> findByClasificacion(String clasificacion);
+    CursorPageDTO<DVDDTO> findByDuracionBetween(Integer minDuracion, Integer maxDuracion, String cursor, Integer size);
+    CursorPageDTO<DVDDTO> findByClasificacion(String clasificacion, String cursor, Integer size);
     List<DVDDTO> findByActores(String actor);
 
+    // Cualquier combinación de criterios en una sola consulta
+    CursorPageDTO<DVDDTO> filtrar(DVDFiltroDTO filtro, String orden, String cursor, Integer size);
+
+    // Página del filtro más conteos por faceta del resultado completo
+    FacetasDTO<DVDDTO> facetas(DVDFiltroDTO filtro, String orden, String cursor, Integer size);
+
     // Métodos adicionales
     List<DVDDTO> findByAnoLanzamientoBetween(Integer anoInicio, Integer anoFin);
     List<DVDDTO> findByPrecioBetween(Double precioMin, Double precioMax);
@@ -1,4 +1,7 @@
 package com.biblioteca.service;
 
-public class DashboardService {
+import com.biblioteca.dto.DashboardStatsDTO;
+
+public interface DashboardService {
+    DashboardStatsDTO getStats();
 }
@@ -1,14 +1,35 @@
 package com.biblioteca.service;
 
+import com.biblioteca.dto.BatchResultDTO;
+import com.biblioteca.dto.CursorPageDTO;
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
 import java.util.Optional;
 
 public interface ElementoBibliotecaService<T, D> {
-    List<D> findAll();
+    CursorPageDTO<D> findAll(String cursor, Integer size);
     Optional<D> findById(Long id);
     D save(D dto);
     D update(Long id, D dto);
     void deleteById(Long id);
-    List<D> search(String query);
-    List<D> findByDisponible(Boolean disponible);
-}
\ No newline at end of file
+    CursorPageDTO<D> search(String query, String cursor, Integer size);
+    CursorPageDTO<D> findByDisponible(Boolean disponible, String cursor, Integer size);
+    void export(FormatoExportacion formato, OutputStream out) throws IOException;
+
+    // Préstamo y devolución atómicos; sin ejemplares que prestar (o nada que devolver)
+    // lanzan ResourceConflictException
+    D prestar(Long id);
+    D devolver(Long id);
+
+    // JSON Merge Patch en un único UPDATE. Devuelve la versión resultante cuando se conoce
+    // sin leer la fila, es decir, cuando el cliente indicó la que esperaba
+    Optional<Long> patch(Long id, JsonNode parche, Long versionEsperada);
+
+    // Operaciones masivas
+    BatchResultDTO saveAll(List<D> dtos);
+    BatchResultDTO updateAll(List<D> dtos);
+    BatchResultDTO deleteAllById(List<Long> ids);
+}
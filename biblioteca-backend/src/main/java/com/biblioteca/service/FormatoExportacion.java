@@ -0,0 +1,35 @@
+package com.biblioteca.service;
+
+import org.springframework.http.MediaType;
+
+public enum FormatoExportacion {
+    NDJSON(MediaType.APPLICATION_NDJSON, "ndjson"),
+    CSV(new MediaType("text", "csv"), "csv"),
+    // Binario compacto: nombres de campo y valores repetidos se escriben una vez
+    SMILE(new MediaType("application", "x-jackson-smile"), "smile");
+
+    private final MediaType mediaType;
+    private final String extension;
+
+    FormatoExportacion(MediaType mediaType, String extension) {
+        this.mediaType = mediaType;
+        this.extension = extension;
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    public static FormatoExportacion from(String formato) {
+        for (FormatoExportacion valor : values()) {
+            if (valor.extension.equalsIgnoreCase(formato)) {
+                return valor;
+            }
+        }
+        throw new IllegalArgumentException("Formato de exportación no soportado: " + formato);
+    }
+}
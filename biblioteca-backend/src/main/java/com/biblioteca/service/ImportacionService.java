@@ -0,0 +1,14 @@
+package com.biblioteca.service;
+
+import com.biblioteca.dto.ImportacionDTO;
+import com.biblioteca.model.ElementoBiblioteca.TipoElemento;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Optional;
+
+public interface ImportacionService {
+    ImportacionDTO iniciar(TipoElemento tipo, String nombreArchivo, InputStream contenido) throws IOException;
+    Optional<ImportacionDTO> findById(String id);
+    ImportacionDTO reanudar(String id);
+}
@@ -0,0 +1,44 @@
+package com.biblioteca.service;
+
+import com.biblioteca.dto.CursorPageDTO;
+import com.biblioteca.dto.DVDDTO;
+import com.biblioteca.dto.LibroDTO;
+import com.biblioteca.dto.RevistaDTO;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.function.Function;
+
+// Lecturas de la API reactiva (/api/reactivo). Los listados son flujos (NDJSON): sin size se
+// recorre hasta el final del catálogo. pagina() los convierte en páginas acotadas con cursor
+public interface LecturaReactivaService {
+
+    // Cualquiera de los listados, con el cursor y el número de filas
+    @FunctionalInterface
+    interface Listado<T> {
+        Flux<T> leer(String cursor, Integer size);
+    }
+
+    // size por defecto y con máximo, como en la API JPA; nextCursor sigue desde la última fila
+    <T> Mono<CursorPageDTO<T>> pagina(Listado<T> listado, Function<T, Long> id, String cursor, Integer size);
+
+    Flux<LibroDTO> findLibros(String cursor, Integer size);
+    Flux<LibroDTO> findLibrosDisponibles(String cursor, Integer size);
+    // campo: genero, editorial o autor
+    Flux<LibroDTO> findLibrosBy(String campo, String valor, String cursor, Integer size);
+    Mono<LibroDTO> findLibroById(Long id);
+    Mono<LibroDTO> findLibroByIsbn(String isbn);
+
+    Flux<RevistaDTO> findRevistas(String cursor, Integer size);
+    Flux<RevistaDTO> findRevistasDisponibles(String cursor, Integer size);
+    // campo: categoria, periodicidad, editorial o autor
+    Flux<RevistaDTO> findRevistasBy(String campo, String valor, String cursor, Integer size);
+    Mono<RevistaDTO> findRevistaById(Long id);
+
+    Flux<DVDDTO> findDVDs(String cursor, Integer size);
+    Flux<DVDDTO> findDVDsDisponibles(String cursor, Integer size);
+    // campo: genero, director o clasificacion
+    Flux<DVDDTO> findDVDsBy(String campo, String valor, String cursor, Integer size);
+    Flux<DVDDTO> findDVDsByDuracionBetween(Integer minDuracion, Integer maxDuracion, String cursor, Integer size);
+    Mono<DVDDTO> findDVDById(Long id);
+}
@@ -1,14 +1,22 @@
 package com.biblioteca.service;
 
+import com.biblioteca.dto.CursorPageDTO;
+import com.biblioteca.dto.FacetasDTO;
 import com.biblioteca.dto.LibroDTO;
+import com.biblioteca.dto.LibroFiltroDTO;
 import com.biblioteca.model.Libro;
 
-import java.util.List;
 import java.util.Optional;
 
 public interface LibroService extends ElementoBibliotecaService<Libro, LibroDTO> {
-    List<LibroDTO> findByGenero(String genero);
-    List<LibroDTO> findByEditorial(String editorial);
+    CursorPageDTO<LibroDTO> findByGenero(String genero, String cursor, Integer size);
+    CursorPageDTO<LibroDTO> findByEditorial(String editorial, String cursor, Integer size);
     Optional<LibroDTO> findByIsbn(String isbn);
-    List<LibroDTO> findByAutor(String autor);
-}
\ No newline at end of file
+    CursorPageDTO<LibroDTO> findByAutor(String autor, String cursor, Integer size);
+
+    // Cualquier combinación de criterios en una sola consulta
+    CursorPageDTO<LibroDTO> filtrar(LibroFiltroDTO filtro, String orden, String cursor, Integer size);
+
+    // Página del filtro más conteos por faceta del resultado completo
+    FacetasDTO<LibroDTO> facetas(LibroFiltroDTO filtro, String orden, String cursor, Integer size);
+}
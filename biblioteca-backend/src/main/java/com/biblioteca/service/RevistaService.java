@@ -1,13 +1,20 @@
 package com.biblioteca.service;
 
+import com.biblioteca.dto.CursorPageDTO;
+import com.biblioteca.dto.FacetasDTO;
 import com.biblioteca.dto.RevistaDTO;
+import com.biblioteca.dto.RevistaFiltroDTO;
 import com.biblioteca.model.Revista;
 
-import java.util.List;
-
 public interface RevistaService extends ElementoBibliotecaService<Revista, RevistaDTO> {
-    List<RevistaDTO> findByCategoria(String categoria);
-    List<RevistaDTO> findByPeriodicidad(String periodicidad);
-    List<RevistaDTO> findByEditorial(String editorial);
-    List<RevistaDTO> findByAutor(String autor);
-}
\ No newline at end of file
+    CursorPageDTO<RevistaDTO> findByCategoria(String categoria, String cursor, Integer size);
+    CursorPageDTO<RevistaDTO> findByPeriodicidad(String periodicidad, String cursor, Integer size);
+    CursorPageDTO<RevistaDTO> findByEditorial(String editorial, String cursor, Integer size);
+    CursorPageDTO<RevistaDTO> findByAutor(String autor, String cursor, Integer size);
+
+    // Cualquier combinación de criterios en una sola consulta
+    CursorPageDTO<RevistaDTO> filtrar(RevistaFiltroDTO filtro, String orden, String cursor, Integer size);
+
+    // Página del filtro más conteos por faceta del resultado completo
+    FacetasDTO<RevistaDTO> facetas(RevistaFiltroDTO filtro, String orden, String cursor, Integer size);
+}
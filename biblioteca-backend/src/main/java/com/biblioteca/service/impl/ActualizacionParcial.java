@@ -0,0 +1,152 @@
+package com.biblioteca.service.impl;
+
+import com.biblioteca.model.ElementoBiblioteca;
+import com.biblioteca.model.ElementoBiblioteca.TipoElemento;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.metamodel.EntityType;
+import jakarta.persistence.metamodel.SingularAttribute;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.metamodel.mapping.BasicValuedModelPart;
+import org.hibernate.metamodel.mapping.JdbcMapping;
+import org.hibernate.persister.entity.EntityPersister;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * PATCH con JSON Merge Patch (RFC 7396) como un único UPDATE: solo las columnas
+ * presentes en el parche y sin cargar antes la entidad. Un campo a null borra el
+ * valor y uno ausente no se toca. En la misma sentencia se pone
+ * fechaActualizacion y se incrementa version, que entra en el WHERE si el
+ * cliente indicó la que esperaba. Va por {@link SentenciaElemento} para no vaciar
+ * la cache de segundo nivel del catálogo.
+ */
+final class ActualizacionParcial {
+
+    // Los gestiona Hibernate o la sentencia; si vienen en el parche (p. ej. el cliente
+    // reenvía lo que leyó) se ignoran, igual que en PUT
+    private static final Set<String> NO_MODIFICABLES =
+            Set.of("id", "version", "tipo", "fechaCreacion", "fechaActualizacion", "prestados");
+
+    private ActualizacionParcial() {}
+
+    /**
+     * Convierte el parche en atributo de la entidad → valor, con el tipo Java del
+     * atributo. {@code nombres} traduce los nombres de la API que no coinciden con
+     * la entidad (director → autor); {@code obligatorios} no admiten null ni texto vacío.
+     */
+    static <E extends ElementoBiblioteca> Map<String, Object> valores(EntityManager entityManager,
+                                                                      ObjectMapper objectMapper, Class<E> entidad,
+                                                                      JsonNode parche, Map<String, String> nombres,
+                                                                      Set<String> obligatorios) {
+        if (parche == null || !parche.isObject()) {
+            throw new IllegalArgumentException("El cuerpo de un PATCH debe ser un objeto JSON (merge patch)");
+        }
+        EntityType<E> tipo = entityManager.getMetamodel().entity(entidad);
+        Map<String, Object> valores = new LinkedHashMap<>();
+        for (Map.Entry<String, JsonNode> campo : parche.properties()) {
+            if (NO_MODIFICABLES.contains(campo.getKey())) {
+                continue;
+            }
+            String nombre = nombres.getOrDefault(campo.getKey(), campo.getKey());
+            // Con alias, el nombre de la entidad no forma parte de la API
+            if (nombres.containsValue(campo.getKey()) && !nombres.containsKey(campo.getKey())) {
+                throw new IllegalArgumentException("Campo desconocido: " + campo.getKey());
+            }
+            SingularAttribute<? super E, ?> atributo = atributo(tipo, campo.getKey(), nombre);
+            Object valor = valor(objectMapper, campo.getKey(), campo.getValue(), atributo.getJavaType());
+            if (obligatorios.contains(nombre) && (valor == null || (valor instanceof String texto && texto.isBlank()))) {
+                throw new IllegalArgumentException("El campo " + campo.getKey() + " es obligatorio");
+            }
+            valores.put(nombre, valor);
+        }
+        return valores;
+    }
+
+    // Como en PUT, la versión del cuerpo vale como If-Match cuando no hay cabecera
+    static Long versionEnviada(JsonNode parche) {
+        return parche != null && parche.path("version").canConvertToLong() ? parche.get("version").asLong() : null;
+    }
+
+    /** Asignación que depende de la fila (un CASE sobre sus columnas) con su único parámetro. */
+    record Calculada(String asignacion, Object valor) {}
+
+    static <E extends ElementoBiblioteca> int actualizar(EntityManager entityManager, Class<E> entidad,
+                                                         TipoElemento tipo, Long id, Long versionEsperada,
+                                                         Map<String, Object> valores) {
+        return actualizar(entityManager, entidad, tipo, id, versionEsperada, valores, null);
+    }
+
+    /**
+     * Ejecuta el UPDATE y devuelve las filas afectadas: 0 si el elemento no existe,
+     * es de otro tipo o su versión ya no es {@code versionEsperada}. Las columnas y
+     * la conversión de cada valor salen del mapeo de Hibernate.
+     */
+    static <E extends ElementoBiblioteca> int actualizar(EntityManager entityManager, Class<E> entidad,
+                                                         TipoElemento tipo, Long id, Long versionEsperada,
+                                                         Map<String, Object> valores, Calculada calculada) {
+        EntityPersister persister = entityManager.getEntityManagerFactory().unwrap(SessionFactoryImplementor.class)
+                .getMappingMetamodel().getEntityDescriptor(entidad);
+        Map<BasicValuedModelPart, Object> columnas = new LinkedHashMap<>();
+        valores.forEach((nombre, valor) ->
+                columnas.put(persister.findAttributeMapping(nombre).asBasicValuedModelPart(), valor));
+
+        StringBuilder sql = new StringBuilder("UPDATE ").append(SentenciaElemento.TABLA).append(" SET ");
+        columnas.keySet().forEach(columna -> sql.append(columna.getSelectionExpression()).append(" = ?, "));
+        if (calculada != null) {
+            sql.append(calculada.asignacion()).append(", ");
+        }
+        sql.append("fecha_actualizacion = ?, version = version + 1 WHERE id = ? AND tipo = ?");
+        if (versionEsperada != null) {
+            sql.append(" AND version = ?");
+        }
+
+        return SentenciaElemento.ejecutar(entityManager, entidad, id, sql.toString(), (sentencia, session) -> {
+            int indice = 1;
+            for (Map.Entry<BasicValuedModelPart, Object> columna : columnas.entrySet()) {
+                asignar(sentencia, indice++, columna.getKey().getJdbcMapping(), columna.getValue(), session);
+            }
+            if (calculada != null) {
+                sentencia.setObject(indice++, calculada.valor());
+            }
+            sentencia.setObject(indice++, LocalDateTime.now());
+            sentencia.setLong(indice++, id);
+            sentencia.setString(indice++, tipo.name());
+            if (versionEsperada != null) {
+                sentencia.setLong(indice, versionEsperada);
+            }
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void asignar(PreparedStatement sentencia, int indice, JdbcMapping mapeo, Object valor,
+                                SessionImplementor session) throws SQLException {
+        mapeo.getJdbcValueBinder().bind(sentencia, mapeo.convertToRelationalValue(valor), indice, session);
+    }
+
+    private static <E> SingularAttribute<? super E, ?> atributo(EntityType<E> tipo, String campo, String nombre) {
+        try {
+            return tipo.getSingularAttribute(nombre);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Campo desconocido: " + campo);
+        }
+    }
+
+    private static Object valor(ObjectMapper objectMapper, String campo, JsonNode valor, Class<?> tipo) {
+        if (valor.isNull()) {
+            return null;
+        }
+        try {
+            return objectMapper.convertValue(valor, tipo);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Valor no válido para " + campo + ": " + valor);
+        }
+    }
+}
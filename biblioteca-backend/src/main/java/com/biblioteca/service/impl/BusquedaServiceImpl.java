@@ -0,0 +1,143 @@
+package com.biblioteca.service.impl;
+
+import com.biblioteca.dto.BusquedaGlobalDTO;
+import com.biblioteca.dto.ElementoBibliotecaDTO;
+import com.biblioteca.mapper.ElementoMapper;
+import com.biblioteca.model.ElementoBiblioteca.TipoElemento;
+import com.biblioteca.repository.ElementoBibliotecaRepository;
+import com.biblioteca.search.CatalogoIndex;
+import com.biblioteca.search.ResultadoBusqueda;
+import com.biblioteca.service.BusquedaService;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+
+/**
+ * Búsqueda en todo el catálogo: una sola consulta al índice sin filtro de tipo,
+ * de modo que libros, revistas y DVDs compiten por la misma puntuación de Lucene
+ * y el orden final es el de relevancia. Después se cargan las filas de cada tipo
+ * en paralelo, con un plazo común; el tipo que no llega a tiempo se cancela
+ * (interrumpiendo su hilo) y sus resultados se omiten. Todos los resultados
+ * tienen la forma común del catálogo ({@link ElementoMapper}), sea cual sea su tipo.
+ */
+@Service
+public class BusquedaServiceImpl implements BusquedaService {
+
+    private static final Logger log = LoggerFactory.getLogger(BusquedaServiceImpl.class);
+
+    private final CatalogoIndex catalogoIndex;
+    private final ElementoBibliotecaRepository elementoRepository;
+    private final ElementoMapper elementoMapper;
+    private final long timeoutMillis;
+    private final ThreadPoolTaskExecutor executor;
+
+    @Autowired
+    public BusquedaServiceImpl(CatalogoIndex catalogoIndex,
+                               ElementoBibliotecaRepository elementoRepository,
+                               ElementoMapper elementoMapper,
+                               @Value("${biblioteca.search.timeout-ms:800}") long timeoutMillis,
+                               @Value("${biblioteca.search.pool-size:8}") int poolSize,
+                               @Value("${biblioteca.search.queue-capacity:64}") int queueCapacity) {
+        this.catalogoIndex = catalogoIndex;
+        this.elementoRepository = elementoRepository;
+        this.elementoMapper = elementoMapper;
+        this.timeoutMillis = timeoutMillis;
+
+        // Pool acotado; si se llena se rechaza la tarea en lugar de encolar sin límite
+        this.executor = new ThreadPoolTaskExecutor();
+        this.executor.setCorePoolSize(poolSize);
+        this.executor.setMaxPoolSize(poolSize);
+        this.executor.setQueueCapacity(queueCapacity);
+        this.executor.setThreadNamePrefix("busqueda-");
+        this.executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        this.executor.initialize();
+    }
+
+    @Override
+    public BusquedaGlobalDTO search(String query, Integer size) {
+        int limit = CursorPagination.size(size);
+        List<ResultadoBusqueda> ranking = catalogoIndex.search(null, query, 0, limit);
+
+        Map<TipoElemento, List<Long>> idsPorTipo = ranking.stream().collect(Collectors.groupingBy(
+                ResultadoBusqueda::tipo, () -> new EnumMap<>(TipoElemento.class),
+                Collectors.mapping(ResultadoBusqueda::id, Collectors.toList())));
+        Map<TipoElemento, Future<List<ElementoBibliotecaDTO>>> futures = new EnumMap<>(TipoElemento.class);
+        idsPorTipo.forEach((tipo, ids) -> futures.put(tipo, submit(() -> cargar(tipo, ids))));
+
+        // Un único plazo para toda la consulta: cada espera usa lo que queda
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        Map<String, ElementoBibliotecaDTO> cargados = new HashMap<>();
+        List<TipoElemento> incompletos = new ArrayList<>();
+
+        futures.forEach((tipo, future) -> {
+            try {
+                long restante = Math.max(0, deadline - System.nanoTime());
+                future.get(restante, TimeUnit.NANOSECONDS).forEach(dto -> cargados.put(clave(tipo, dto.getId()), dto));
+            } catch (TimeoutException e) {
+                // Future de executor.submit: cancel(true) interrumpe el hilo que la ejecuta
+                future.cancel(true);
+                log.warn("Búsqueda de {} superó el plazo de {} ms", tipo, timeoutMillis);
+                incompletos.add(tipo);
+            } catch (ExecutionException e) {
+                log.warn("Búsqueda de {} falló: {}", tipo, e.getCause().getMessage());
+                incompletos.add(tipo);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                future.cancel(true);
+                incompletos.add(tipo);
+            }
+        });
+
+        // Orden del índice; se saltan los tipos incompletos y lo borrado desde la indexación
+        List<ElementoBibliotecaDTO> resultados = ranking.stream()
+                .map(resultado -> cargados.get(clave(resultado.tipo(), resultado.id())))
+                .filter(Objects::nonNull)
+                .toList();
+        return new BusquedaGlobalDTO(query, resultados, incompletos, !incompletos.isEmpty());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private Future<List<ElementoBibliotecaDTO>> submit(
+            Callable<List<ElementoBibliotecaDTO>> tarea) {
+        try {
+            return executor.submit(tarea);
+        } catch (RuntimeException e) {
+            // Pool saturado: se reporta como tipo incompleto
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    // Solo las columnas comunes (sin TEXT): un libro, una revista y un DVD dan el mismo JSON
+    private List<ElementoBibliotecaDTO> cargar(TipoElemento tipo, List<Long> ids) {
+        return elementoRepository.findByTipoAndIdIn(tipo, ids).stream()
+                .map(elementoMapper::toDTO)
+                .toList();
+    }
+
+    private static String clave(TipoElemento tipo, Long id) {
+        return tipo + ":" + id;
+    }
+}
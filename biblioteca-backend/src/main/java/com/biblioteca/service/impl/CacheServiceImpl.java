@@ -0,0 +1,66 @@
+package com.biblioteca.service.impl;
+
+import com.biblioteca.dto.CacheRegionStatsDTO;
+import com.biblioteca.service.CacheService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+@Service
+public class CacheServiceImpl implements CacheService {
+
+    // Regiones declaradas en caffeine-jcache.conf
+    private static final List<String> REGIONES = List.of(
+            "biblioteca-elementos",
+            "biblioteca-consultas"
+    );
+
+    private final Statistics statistics;
+    private final MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+
+    @Autowired
+    public CacheServiceImpl(EntityManagerFactory entityManagerFactory) {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Override
+    public List<CacheRegionStatsDTO> getStats() {
+        List<CacheRegionStatsDTO> stats = new ArrayList<>();
+        for (String region : REGIONES) {
+            CacheRegionStatistics regionStats = statistics.getCacheRegionStatistics(region);
+            long hits = regionStats != null ? regionStats.getHitCount() : 0L;
+            long misses = regionStats != null ? regionStats.getMissCount() : 0L;
+            long puts = regionStats != null ? regionStats.getPutCount() : 0L;
+            long lecturas = hits + misses;
+            stats.add(new CacheRegionStatsDTO(region, hits, misses, puts, evictions(region),
+                    lecturas > 0 ? (double) hits / lecturas : 0.0));
+        }
+        return stats;
+    }
+
+    // Hibernate no cuenta desalojos; se leen del MXBean de estadísticas de JCache
+    private long evictions(String region) {
+        try {
+            Set<ObjectName> nombres = mBeanServer.queryNames(
+                    new ObjectName("javax.cache:type=CacheStatistics,Cache=" + region + ",*"), null);
+            long total = 0L;
+            for (ObjectName nombre : nombres) {
+                total += (Long) mBeanServer.getAttribute(nombre, "CacheEvictions");
+            }
+            return total;
+        } catch (JMException e) {
+            return 0L;
+        }
+    }
+}
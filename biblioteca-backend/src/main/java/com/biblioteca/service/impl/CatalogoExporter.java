@@ -0,0 +1,71 @@
+package com.biblioteca.service.impl;
+
+import com.biblioteca.service.FormatoExportacion;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import jakarta.persistence.EntityManager;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Escribe un {@link Stream} de entidades directamente en la respuesta, fila a fila,
+ * desvinculando cada entidad del contexto de persistencia una vez serializada
+ * para que la memoria no crezca con el tamaño de la tabla.
+ */
+final class CatalogoExporter {
+
+    private static final int FLUSH_EVERY = 500;
+
+    private static final CsvMapper CSV_MAPPER = CsvMapper.builder()
+            .addModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+
+    // Las cadenas repetidas (género, editorial...) también se referencian en lugar de repetirse
+    private static final SmileMapper SMILE_MAPPER = SmileMapper.builder()
+            .addModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES)
+            .build();
+
+    private CatalogoExporter() {}
+
+    static <E, D> void write(Stream<E> rows, Function<E, D> mapper, Class<D> type,
+                             FormatoExportacion formato, OutputStream out,
+                             ObjectMapper objectMapper, EntityManager entityManager) throws IOException {
+        ObjectWriter writer = switch (formato) {
+            case NDJSON -> objectMapper.writerFor(type).withRootValueSeparator("\n");
+            case CSV -> CSV_MAPPER.writerFor(type).with(CSV_MAPPER.schemaFor(type).withHeader());
+            case SMILE -> SMILE_MAPPER.writerFor(type);
+        };
+
+        int count = 0;
+        try (SequenceWriter sequence = writer.without(JsonGenerator.Feature.AUTO_CLOSE_TARGET).writeValues(out)) {
+            Iterator<E> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                E entity = iterator.next();
+                sequence.write(mapper.apply(entity));
+                entityManager.detach(entity);
+                if (++count % FLUSH_EVERY == 0) {
+                    sequence.flush();
+                }
+            }
+        }
+        // El separador solo se escribe entre valores; NDJSON termina cada línea con \n
+        if (formato == FormatoExportacion.NDJSON && count > 0) {
+            out.write('\n');
+        }
+        out.flush();
+    }
+}
@@ -0,0 +1,67 @@
+package com.biblioteca.service.impl;
+
+import com.biblioteca.dto.CatalogoFiltroDTO;
+import com.biblioteca.dto.CursorPageDTO;
+import com.biblioteca.dto.ElementoBibliotecaDTO;
+import com.biblioteca.mapper.ElementoMapper;
+import com.biblioteca.model.ElementoBiblioteca;
+import com.biblioteca.model.ElementoBiblioteca.TipoElemento;
+import com.biblioteca.repository.ElementoBibliotecaRepository;
+import com.biblioteca.repository.projection.ElementoResumen;
+import com.biblioteca.repository.projection.VersionCatalogo;
+import com.biblioteca.repository.projection.VersionElemento;
+import com.biblioteca.repository.specification.CatalogoSpecifications;
+import com.biblioteca.service.CatalogoService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.Optional;
+
+/**
+ * Filtro común a libros, revistas y DVDs. Todos los tipos viven en
+ * elementos_biblioteca, así que el filtro, el orden y la página son una sola
+ * consulta polimórfica sobre ElementoBiblioteca; los tipos pedidos se filtran
+ * por la columna discriminadora.
+ */
+@Service
+@Transactional(readOnly = true)
+public class CatalogoServiceImpl implements CatalogoService {
+
+    private static final String ORDEN_POR_DEFECTO = "titulo";
+
+    private final ElementoBibliotecaRepository elementoBibliotecaRepository;
+    private final ElementoMapper elementoMapper;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    public CatalogoServiceImpl(ElementoBibliotecaRepository elementoBibliotecaRepository,
+                               ElementoMapper elementoMapper) {
+        this.elementoBibliotecaRepository = elementoBibliotecaRepository;
+        this.elementoMapper = elementoMapper;
+    }
+
+    @Override
+    public CursorPageDTO<ElementoBibliotecaDTO> filtrar(CatalogoFiltroDTO filtro, String orden, String cursor,
+                                                        Integer size) {
+        return ConsultaFiltrada.pagina(entityManager, ElementoBiblioteca.class, ElementoResumen.class,
+                CatalogoSpecifications.elementos(filtro),
+                orden == null || orden.isBlank() ? ORDEN_POR_DEFECTO : orden,
+                cursor, size, ElementoResumen::id, elementoMapper::toDTO);
+    }
+
+    @Override
+    public Optional<VersionElemento> versionElemento(TipoElemento tipo, Long id) {
+        return elementoBibliotecaRepository.findVersionElemento(id, tipo);
+    }
+
+    @Override
+    public VersionCatalogo version(Collection<TipoElemento> tipos) {
+        return elementoBibliotecaRepository.findVersion(tipos);
+    }
+}
@@ -0,0 +1,180 @@
+package com.biblioteca.service.impl;
+
+import com.biblioteca.dto.CursorPageDTO;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import java.lang.reflect.RecordComponent;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Ejecuta un filtro compuesto como una única consulta que selecciona
+ * directamente la proyección de listado (sin entidades ni columnas TEXT).
+ * Los componentes de la proyección son también los campos por los que se
+ * permite ordenar.
+ *
+ * <p>Ordenado por id, la página siguiente es un {@code id > ?} como en
+ * {@link CursorPagination}. Con otro orden el id desempata y el cursor lleva el
+ * valor del campo y el id de la última fila, así que la página siguiente es un
+ * {@code (campo, id) > (?, ?)} que recorre el índice del campo (en InnoDB
+ * termina en el id) en vez de contar y descartar las filas anteriores.
+ */
+final class ConsultaFiltrada {
+
+    private static final Sort POR_ID = Sort.by("id");
+
+    private ConsultaFiltrada() {}
+
+    static <E, R extends Record, D> CursorPageDTO<D> pagina(EntityManager entityManager, Class<E> entidad,
+                                                           Class<R> vista, Specification<E> filtro,
+                                                           String orden, String cursor, Integer size,
+                                                           Function<R, Long> idOf, Function<R, D> mapper) {
+        int limit = CursorPagination.size(size);
+        Sort sort = orden(orden, campos(vista));
+        if (sort.equals(POR_ID)) {
+            long afterId = CursorPagination.afterId(cursor);
+            Specification<E> seek = filtro.and((root, query, cb) -> cb.greaterThan(root.get("id"), afterId));
+            List<R> rows = buscar(entityManager, entidad, vista, seek, sort, 0, limit + 1);
+            return CursorPagination.toPage(rows, limit, idOf, mapper);
+        }
+        Sort.Order porCampo = sort.iterator().next();
+        String campo = porCampo.getProperty();
+        String clave = campo + "," + porCampo.getDirection().name().toLowerCase(Locale.ROOT);
+        RecordComponent componente = componente(vista, campo);
+
+        Specification<E> seek = filtro;
+        CursorPagination.Posicion desde = CursorPagination.posicion(cursor, clave);
+        if (desde != null) {
+            Comparable<?> valor = valor(componente.getType(), desde.valor(), cursor);
+            seek = filtro.and((root, query, cb) -> despues(cb, root.get(campo), root.get("id"), valor,
+                    desde.id(), porCampo.isAscending()));
+        }
+        List<R> rows = buscar(entityManager, entidad, vista, seek, sort.and(POR_ID), 0, limit + 1);
+        return CursorPagination.toSeekPage(rows, limit,
+                fila -> CursorPagination.encode(clave, idOf.apply(fila), leer(componente, fila)), mapper);
+    }
+
+    // Filas detrás de (valor, id) en "campo asc|desc, id asc". NULL va antes que cualquier
+    // valor, como ordenan MySQL y H2: primero en ascendente y al final en descendente
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Predicate despues(CriteriaBuilder cb, Path<?> campo, Path<Long> id, Comparable valor,
+                                     long afterId, boolean ascendente) {
+        Expression<Comparable> expresion = (Expression<Comparable>) campo;
+        Predicate empate = cb.greaterThan(id, afterId);
+        if (valor == null) {
+            Predicate nulos = cb.and(cb.isNull(expresion), empate);
+            return ascendente ? cb.or(nulos, cb.isNotNull(expresion)) : nulos;
+        }
+        Predicate siguientes = cb.or(
+                ascendente ? cb.greaterThan(expresion, valor) : cb.lessThan(expresion, valor),
+                cb.and(cb.equal(expresion, valor), empate));
+        return ascendente ? siguientes : cb.or(siguientes, cb.isNull(expresion));
+    }
+
+    // El valor del cursor vuelve al tipo del componente de la proyección
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Comparable<?> valor(Class<?> tipo, String texto, String cursor) {
+        if (texto == null) {
+            return null;
+        }
+        try {
+            if (tipo == String.class) {
+                return texto;
+            } else if (tipo == Long.class) {
+                return Long.valueOf(texto);
+            } else if (tipo == Integer.class) {
+                return Integer.valueOf(texto);
+            } else if (tipo == Double.class) {
+                return Double.valueOf(texto);
+            } else if (tipo == Boolean.class) {
+                return Boolean.valueOf(texto);
+            } else if (tipo == LocalDateTime.class) {
+                return LocalDateTime.parse(texto);
+            } else if (tipo.isEnum()) {
+                return Enum.valueOf((Class<? extends Enum>) tipo, texto);
+            }
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Cursor inválido: " + cursor);
+        }
+        throw new IllegalStateException("Tipo de orden no soportado: " + tipo.getName());
+    }
+
+    private static Object leer(RecordComponent componente, Record fila) {
+        try {
+            return componente.getAccessor().invoke(fila);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static RecordComponent componente(Class<? extends Record> vista, String campo) {
+        return Arrays.stream(vista.getRecordComponents())
+                .filter(componente -> componente.getName().equals(campo))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    static <E, R extends Record> List<R> buscar(EntityManager entityManager, Class<E> entidad, Class<R> vista,
+                                                Specification<E> filtro, Sort sort, int offset, int limite) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<R> query = cb.createQuery(vista);
+        Root<E> root = query.from(entidad);
+
+        Selection<?>[] columnas = Arrays.stream(vista.getRecordComponents())
+                .map(componente -> root.get(componente.getName()))
+                .toArray(Selection[]::new);
+        query.select(cb.construct(vista, columnas));
+
+        Predicate where = filtro.toPredicate(root, query, cb);
+        if (where != null) {
+            query.where(where);
+        }
+        query.orderBy(QueryUtils.toOrders(sort, root, cb));
+
+        return entityManager.createQuery(query)
+                .setFirstResult(offset)
+                .setMaxResults(limite)
+                .getResultList();
+    }
+
+    // "campo" o "campo,asc|desc"; sin orden se pagina por id
+    static Sort orden(String orden, Set<String> permitidos) {
+        if (orden == null || orden.isBlank()) {
+            return POR_ID;
+        }
+        String[] partes = orden.split(",");
+        String campo = partes[0].trim();
+        if (!permitidos.contains(campo)) {
+            throw new IllegalArgumentException("No se puede ordenar por '" + campo + "'; campos válidos: "
+                    + permitidos.stream().sorted().collect(Collectors.joining(", ")));
+        }
+        Sort.Direction direccion = Sort.Direction.ASC;
+        if (partes.length > 1) {
+            direccion = Sort.Direction.fromOptionalString(partes[1].trim().toUpperCase(Locale.ROOT))
+                    .orElseThrow(() -> new IllegalArgumentException("Dirección de orden inválida: " + orden));
+        }
+        return Sort.by(direccion, campo);
+    }
+
+    static Set<String> campos(Class<? extends Record> vista) {
+        return Arrays.stream(vista.getRecordComponents())
+                .map(RecordComponent::getName)
+                .collect(Collectors.toSet());
+    }
+}
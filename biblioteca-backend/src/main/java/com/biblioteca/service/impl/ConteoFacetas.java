@@ -0,0 +1,120 @@
+package com.biblioteca.service.impl;
+
+import com.biblioteca.dto.FacetaValorDTO;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiFunction;
+
+/**
+ * Conteos por faceta en una sola pasada: un GROUP BY por la combinación de
+ * todas las facetas sobre las filas filtradas, y cada faceta se obtiene
+ * sumando esa distribución conjunta en memoria. Las facetas tienen pocos
+ * valores, así que el número de grupos queda muy por debajo del de filas.
+ */
+final class ConteoFacetas {
+
+    // Tramos de precio: [0, 10), [10, 20), [20, 50), [50, 100) y 100 o más
+    private static final double[] LIMITES_PRECIO = {10, 20, 50, 100};
+    private static final List<String> TRAMOS_PRECIO = List.of("0-10", "10-20", "20-50", "50-100", "100+");
+
+    private static final Comparator<FacetaValorDTO> POR_CONTEO =
+            Comparator.comparingLong(FacetaValorDTO::getConteo).reversed()
+                    .thenComparing(valor -> String.valueOf(valor.getValor()));
+
+    record Faceta<E>(String nombre,
+                     BiFunction<Root<E>, CriteriaBuilder, Expression<?>> expresion,
+                     Comparator<FacetaValorDTO> orden) {}
+
+    private ConteoFacetas() {}
+
+    // Valores de una columna, de más a menos frecuente
+    static <E> Faceta<E> campo(String atributo) {
+        return new Faceta<>(atributo, (root, cb) -> root.get(atributo), POR_CONTEO);
+    }
+
+    static <E> Faceta<E> decada(String atributoAno) {
+        return new Faceta<>("decada", (root, cb) -> {
+            Expression<Integer> ano = root.get(atributoAno);
+            return cb.diff(ano, cb.mod(ano, cb.literal(10)));
+        }, Comparator.comparingInt(valor -> valor.getValor() == null
+                ? Integer.MAX_VALUE : ((Number) valor.getValor()).intValue()));
+    }
+
+    static <E> Faceta<E> precio() {
+        return new Faceta<>("precio", (root, cb) -> {
+            Expression<Double> precio = root.get("precio");
+            CriteriaBuilder.Case<String> tramo = cb.<String>selectCase()
+                    .when(cb.isNull(precio), cb.nullLiteral(String.class));
+            for (int i = 0; i < LIMITES_PRECIO.length; i++) {
+                tramo = tramo.when(cb.lessThan(precio, cb.literal(LIMITES_PRECIO[i])), cb.literal(TRAMOS_PRECIO.get(i)));
+            }
+            return tramo.otherwise(cb.literal(TRAMOS_PRECIO.get(LIMITES_PRECIO.length)));
+        }, Comparator.comparingInt(valor -> valor.getValor() == null
+                ? Integer.MAX_VALUE : TRAMOS_PRECIO.indexOf((String) valor.getValor())));
+    }
+
+    /**
+     * @param cacheable solo para el catálogo sin filtrar: la cache de consultas
+     *                  de Hibernate guarda el resultado hasta que cambia la tabla
+     */
+    static <E> Map<String, List<FacetaValorDTO>> contar(EntityManager entityManager, Class<E> entidad,
+                                                        Specification<E> filtro, List<Faceta<E>> facetas,
+                                                        boolean cacheable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Object[]> query = cb.createQuery(Object[].class);
+        Root<E> root = query.from(entidad);
+
+        List<Expression<?>> grupos = facetas.stream()
+                .<Expression<?>>map(faceta -> faceta.expresion().apply(root, cb))
+                .toList();
+        List<Selection<?>> columnas = new ArrayList<>(grupos);
+        columnas.add(cb.count(root));
+        query.multiselect(columnas);
+
+        Predicate where = filtro.toPredicate(root, query, cb);
+        if (where != null) {
+            query.where(where);
+        }
+        query.groupBy(grupos);
+
+        TypedQuery<Object[]> consulta = entityManager.createQuery(query);
+        if (cacheable) {
+            consulta.setHint(HibernateHints.HINT_CACHEABLE, true);
+            consulta.setHint(HibernateHints.HINT_CACHE_REGION, "biblioteca-consultas");
+        }
+
+        // HashMap porque el valor nulo también es una clave válida
+        List<Map<Object, Long>> conteos = facetas.stream().<Map<Object, Long>>map(faceta -> new HashMap<>()).toList();
+        for (Object[] fila : consulta.getResultList()) {
+            long conteo = (Long) fila[facetas.size()];
+            for (int i = 0; i < facetas.size(); i++) {
+                conteos.get(i).merge(fila[i], conteo, Long::sum);
+            }
+        }
+
+        Map<String, List<FacetaValorDTO>> resultado = new LinkedHashMap<>();
+        for (int i = 0; i < facetas.size(); i++) {
+            Faceta<E> faceta = facetas.get(i);
+            resultado.put(faceta.nombre(), conteos.get(i).entrySet().stream()
+                    .map(entrada -> new FacetaValorDTO(entrada.getKey(), entrada.getValue()))
+                    .sorted(faceta.orden())
+                    .toList());
+        }
+        return resultado;
+    }
+}
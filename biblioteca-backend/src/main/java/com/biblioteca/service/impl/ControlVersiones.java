@@ -0,0 +1,22 @@
+package com.biblioteca.service.impl;
+
+import com.biblioteca.exception.PreconditionFailedException;
+import com.biblioteca.model.ElementoBiblioteca;
+
+/**
+ * Compara la versión que el cliente leyó con la de la entidad recién cargada.
+ * Lo que protege de verdad es el UPDATE de Hibernate (WHERE version = ?), que
+ * cubre también una escritura entre esta lectura y el flush; esta comprobación
+ * solo evita aplicar cambios sobre una versión que ya se sabe distinta.
+ */
+final class ControlVersiones {
+
+    private ControlVersiones() {}
+
+    static void comprobar(ElementoBiblioteca elemento, Long esperada) {
+        if (esperada != null && !esperada.equals(elemento.getVersion())) {
+            throw new PreconditionFailedException("El elemento " + elemento.getId() + " ha cambiado: versión "
+                    + elemento.getVersion() + ", se esperaba " + esperada);
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.biblioteca.service.impl;
+
+import com.biblioteca.dto.CursorPageDTO;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Paginación por cursor (keyset) sobre el id. El cursor es opaco para el cliente
+ * y solo codifica el último id devuelto, de modo que cada página es un
+ * {@code WHERE id > ? ORDER BY id LIMIT ?} sin importar su profundidad.
+ */
+final class CursorPagination {
+
+    static final int DEFAULT_SIZE = 20;
+    static final int MAX_SIZE = 100;
+
+    private CursorPagination() {}
+
+    static long afterId(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0L;
+        }
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            return Long.parseLong(decoded);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Cursor inválido: " + cursor);
+        }
+    }
+
+    // En búsquedas por relevancia el cursor codifica la posición en el ranking
+    static int offset(String cursor) {
+        long offset = afterId(cursor);
+        if (offset < 0 || offset > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Cursor inválido: " + cursor);
+        }
+        return (int) offset;
+    }
+
+    static int size(Integer size) {
+        if (size == null || size <= 0) {
+            return DEFAULT_SIZE;
+        }
+        return Math.min(size, MAX_SIZE);
+    }
+
+    // Se pide una fila extra para saber si existe una página siguiente sin hacer COUNT
+    static Pageable seek(int size) {
+        return PageRequest.of(0, size + 1, Sort.by("id"));
+    }
+
+    static <E, D> CursorPageDTO<D> toPage(List<E> rows, int size,
+                                          Function<E, Long> idOf, Function<E, D> mapper) {
+        boolean hasNext = rows.size() > size;
+        List<E> pageRows = hasNext ? rows.subList(0, size) : rows;
+        List<D> content = pageRows.stream().map(mapper).toList();
+        String nextCursor = hasNext ? encode(idOf.apply(pageRows.get(pageRows.size() - 1))) : null;
+        return new CursorPageDTO<>(content, nextCursor, hasNext, content.size());
+    }
+
+    static <E, D> CursorPageDTO<D> toRankedPage(List<Long> rankedIds, List<E> rows, int offset, int size,
+                                                Function<E, Long> idOf, Function<E, D> mapper) {
+        boolean hasNext = rankedIds.size() > size;
+        Map<Long, E> byId = rows.stream().collect(Collectors.toMap(idOf, Function.identity()));
+        List<D> content = rankedIds.stream()
+                .limit(size)
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .map(mapper)
+                .toList();
+        String nextCursor = hasNext ? encode((long) offset + size) : null;
+        return new CursorPageDTO<>(content, nextCursor, hasNext, content.size());
+    }
+
+    // Orden distinto del id: el cursor es el valor del campo de orden y el id de la última fila
+    static <E, D> CursorPageDTO<D> toSeekPage(List<E> rows, int size,
+                                              Function<E, String> cursorOf, Function<E, D> mapper) {
+        boolean hasNext = rows.size() > size;
+        List<E> pageRows = hasNext ? rows.subList(0, size) : rows;
+        List<D> content = pageRows.stream().map(mapper).toList();
+        String nextCursor = hasNext ? cursorOf.apply(pageRows.get(pageRows.size() - 1)) : null;
+        return new CursorPageDTO<>(content, nextCursor, hasNext, content.size());
+    }
+
+    /** Última fila de una página ordenada por otro campo; {@code valor} es nulo si lo era en la fila. */
+    record Posicion(long id, String valor) {}
+
+    // "orden:id:valor", o "orden:id" si el valor es nulo. El orden va en el cursor para
+    // rechazar uno obtenido con otro orden, que saltaría o repetiría filas
+    static Posicion posicion(String cursor, String orden) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] partes = decoded.split(":", 3);
+            if (partes.length < 2 || !partes[0].equals(orden)) {
+                throw new IllegalArgumentException("Cursor inválido: " + cursor);
+            }
+            return new Posicion(Long.parseLong(partes[1]), partes.length == 3 ? partes[2] : null);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Cursor inválido: " + cursor);
+        }
+    }
+
+    static String encode(String orden, Long id, Object valor) {
+        String posicion = orden + ":" + id + (valor != null ? ":" + valor : "");
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(posicion.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static String encode(Long id) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(String.valueOf(id).getBytes(StandardCharsets.UTF_8));
+    }
+}
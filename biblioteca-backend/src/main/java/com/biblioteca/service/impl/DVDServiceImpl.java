@@ -1,32 +1,100 @@
 package com.biblioteca.service.impl;
 
+import com.biblioteca.dto.BatchResultDTO;
+import com.biblioteca.dto.CursorPageDTO;
+import com.biblioteca.dto.FacetaValorDTO;
+import com.biblioteca.dto.FacetasDTO;
 import com.biblioteca.dto.DVDDTO;
+import com.biblioteca.dto.DVDFiltroDTO;
+import com.biblioteca.exception.PreconditionFailedException;
+import com.biblioteca.exception.ResourceConflictException;
+import com.biblioteca.exception.ResourceNotFoundException;
+import com.biblioteca.mapper.DVDMapper;
 import com.biblioteca.model.DVD;
+import com.biblioteca.model.ElementoBiblioteca.TipoElemento;
 import com.biblioteca.repository.DVDRepository;
+import com.biblioteca.repository.projection.DVDResumen;
+import com.biblioteca.repository.specification.CatalogoSpecifications;
+import com.biblioteca.search.CatalogoIndex;
+import com.biblioteca.search.ResultadoBusqueda;
 import com.biblioteca.service.DVDService;
+import com.biblioteca.service.FormatoExportacion;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.CacheRetrieveMode;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.hibernate.jpa.SpecHints;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
+@Transactional
 public class DVDServiceImpl implements DVDService {
 
+    private static final Map<String, Object> SIN_CACHE =
+            Map.of(SpecHints.HINT_SPEC_CACHE_RETRIEVE_MODE, CacheRetrieveMode.BYPASS);
+
+    private static final List<ConteoFacetas.Faceta<DVD>> FACETAS = List.of(
+            ConteoFacetas.campo("genero"),
+            ConteoFacetas.campo("clasificacion"),
+            ConteoFacetas.decada("anoPublicacion"),
+            ConteoFacetas.campo("disponible"),
+            ConteoFacetas.precio());
+
+    // Nombres de la API que en la entidad son los atributos comunes (orden y PATCH)
+    private static final Map<String, String> CAMPOS_ENTIDAD = Map.of(
+            "director", "autor",
+            "anoLanzamiento", "anoPublicacion");
+
+    // Columnas que un PATCH no puede dejar a null
+    private static final Set<String> OBLIGATORIOS = Set.of("titulo", "autor", "disponible");
+
     @Autowired
     private DVDRepository dvdRepository;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private CatalogoIndex catalogoIndex;
+
+    @Autowired
+    private DVDMapper dvdMapper;
+
+    @Autowired
+    private ProcesadorLotes procesadorLotes;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
     // Métodos de ElementoBibliotecaService
     @Override
-    public List<DVDDTO> findAll() {
-        return dvdRepository.findAll().stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public CursorPageDTO<DVDDTO> findAll(String cursor, Integer size) {
+        int limit = CursorPagination.size(size);
+        List<DVDResumen> rows = dvdRepository.findByIdGreaterThan(
+                CursorPagination.afterId(cursor), CursorPagination.seek(limit));
+        return CursorPagination.toPage(rows, limit, DVDResumen::id, this::convertToDTO);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Optional<DVDDTO> findById(Long id) {
         return dvdRepository.findById(id)
                 .map(this::convertToDTO);
@@ -35,118 +103,205 @@ public class DVDServiceImpl implements DVDService {
     @Override
     public DVDDTO save(DVDDTO dvdDTO) {
         DVD dvd = convertToEntity(dvdDTO);
-        if (dvd.getId() == null) {
-            dvd.setFechaCreacion(LocalDateTime.now());
-        }
+        // Siempre un alta: con id y sin versión, save() intentaría un persist de un id existente
+        dvd.setId(null);
+        dvd.setFechaCreacion(LocalDateTime.now());
         dvd.setFechaActualizacion(LocalDateTime.now());
 
         DVD savedDVD = dvdRepository.save(dvd);
+        catalogoIndex.index(savedDVD);
         return convertToDTO(savedDVD);
     }
 
+    // En una transacción: la entidad queda gestionada y el UPDATE lleva la versión leída
     @Override
     public DVDDTO update(Long id, DVDDTO dvdDTO) {
-        Optional<DVD> existingDVD = dvdRepository.findById(id);
-        if (existingDVD.isPresent()) {
-            DVD dvd = existingDVD.get();
-            updateDVDFromDTO(dvd, dvdDTO);
-            dvd.setFechaActualizacion(LocalDateTime.now());
-
-            DVD updatedDVD = dvdRepository.save(dvd);
-            return convertToDTO(updatedDVD);
+        DVD dvd = dvdRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("DVD no encontrado con ID: " + id));
+        ControlVersiones.comprobar(dvd, dvdDTO.getVersion());
+        updateDVDFromDTO(dvd, dvdDTO);
+        dvd.setFechaActualizacion(LocalDateTime.now());
+
+        DVD updatedDVD = dvdRepository.saveAndFlush(dvd);
+        catalogoIndex.index(updatedDVD);
+        return convertToDTO(updatedDVD);
+    }
+
+    // Un solo DELETE; el número de filas dice si existía
+    @Override
+    public void deleteById(Long id) {
+        if (SentenciaElemento.eliminar(entityManager, DVD.class, TipoElemento.DVD, id) == 0) {
+            throw new ResourceNotFoundException("DVD no encontrado con ID: " + id);
         }
-        return null;
+        catalogoIndex.delete(TipoElemento.DVD, id);
     }
 
+    // Sin leer antes la fila; solo se carga después si el cambio afecta al índice de búsqueda
     @Override
-    public void deleteById(Long id) {  // ← CAMBIO: void en lugar de boolean
-        dvdRepository.deleteById(id);
+    public Optional<Long> patch(Long id, JsonNode parche, Long versionEsperada) {
+        Long esperada = versionEsperada != null ? versionEsperada : ActualizacionParcial.versionEnviada(parche);
+        Map<String, Object> valores = ActualizacionParcial.valores(entityManager, objectMapper, DVD.class,
+                parche, CAMPOS_ENTIDAD, OBLIGATORIOS);
+        if (ActualizacionParcial.actualizar(entityManager, DVD.class, TipoElemento.DVD, id, esperada, valores) == 0) {
+            if (!dvdRepository.existsById(id)) {
+                throw new ResourceNotFoundException("DVD no encontrado con ID: " + id);
+            }
+            throw new PreconditionFailedException("El DVD " + id + " ha cambiado: ya no está en la versión " + esperada);
+        }
+        if (CatalogoIndex.afectaAlIndice(TipoElemento.DVD, valores.keySet())) {
+            catalogoIndex.index(entityManager.find(DVD.class, id, SIN_CACHE));
+        }
+        return Optional.ofNullable(esperada).map(version -> version + 1);
     }
 
+    // Los DVDs tienen un solo ejemplar: se presta si está disponible
     @Override
-    public List<DVDDTO> search(String termino) {  // ← MÉTODO FALTANTE
-        return dvdRepository.buscarPorTermino(termino).stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+    public DVDDTO prestar(Long id) {
+        if (Prestamos.prestar(entityManager, DVD.class, TipoElemento.DVD, id) == 0) {
+            throw sinCambios(id, "El DVD ya está prestado, ID: ");
+        }
+        return leer(id);
     }
 
     @Override
-    public List<DVDDTO> findByTitulo(String titulo) {
-        return dvdRepository.findByTituloContainingIgnoreCase(titulo).stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+    public DVDDTO devolver(Long id) {
+        if (Prestamos.devolver(entityManager, DVD.class, TipoElemento.DVD, id) == 0) {
+            throw sinCambios(id, "El DVD no está prestado, ID: ");
+        }
+        return leer(id);
     }
 
+    // Los tramos abren su propia transacción; aquí no debe haber una envolvente
     @Override
-    public List<DVDDTO> findByDisponible(Boolean disponible) {
-        return dvdRepository.findByDisponible(disponible).stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public BatchResultDTO saveAll(List<DVDDTO> dvdDTOs) {
+        return procesadorLotes.procesar(dvdDTOs, tramo -> { }, dvdDTO -> {
+            DVD dvd = convertToEntity(dvdDTO);
+            dvd.setId(null);
+            DVD savedDVD = dvdRepository.save(dvd);
+            catalogoIndex.index(savedDVD);
+            return savedDVD.getId();
+        });
     }
 
-    // Método adicional para actualización parcial
-    public DVDDTO partialUpdate(Long id, DVDDTO dvdDTO) {
-        Optional<DVD> existingDVD = dvdRepository.findById(id);
-        if (existingDVD.isPresent()) {
-            DVD dvd = existingDVD.get();
-
-            // Solo actualizar campos no nulos
-            if (dvdDTO.getTitulo() != null) dvd.setTitulo(dvdDTO.getTitulo());
-            if (dvdDTO.getDirector() != null) dvd.setDirector(dvdDTO.getDirector());
-            if (dvdDTO.getAnoLanzamiento() != null) dvd.setAnoLanzamiento(dvdDTO.getAnoLanzamiento());
-            if (dvdDTO.getGenero() != null) dvd.setGenero(dvdDTO.getGenero());
-            if (dvdDTO.getDuracion() != null) dvd.setDuracion(dvdDTO.getDuracion());
-            if (dvdDTO.getClasificacion() != null) dvd.setClasificacion(dvdDTO.getClasificacion());
-            if (dvdDTO.getActores() != null) dvd.setActores(dvdDTO.getActores());
-            if (dvdDTO.getSinopsis() != null) dvd.setSinopsis(dvdDTO.getSinopsis());
-            if (dvdDTO.getPrecio() != null) dvd.setPrecio(dvdDTO.getPrecio());
-            if (dvdDTO.getDisponible() != null) dvd.setDisponible(dvdDTO.getDisponible());
-
-            dvd.setFechaActualizacion(LocalDateTime.now());
-
-            DVD updatedDVD = dvdRepository.save(dvd);
-            return convertToDTO(updatedDVD);
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public BatchResultDTO updateAll(List<DVDDTO> dvdDTOs) {
+        return procesadorLotes.procesar(dvdDTOs,
+                tramo -> dvdRepository.findAllById(tramo.stream().map(DVDDTO::getId).filter(Objects::nonNull).toList()),
+                dvdDTO -> {
+                    if (dvdDTO.getId() == null) {
+                        throw new IllegalArgumentException("El id es obligatorio");
+                    }
+                    DVD dvd = dvdRepository.findById(dvdDTO.getId())
+                            .orElseThrow(() -> new ResourceNotFoundException("DVD no encontrado con ID: " + dvdDTO.getId()));
+                    // La entidad ya está gestionada: el dirty checking genera el UPDATE en el batch
+                    ControlVersiones.comprobar(dvd, dvdDTO.getVersion());
+                    updateDVDFromDTO(dvd, dvdDTO);
+                    dvd.setFechaActualizacion(LocalDateTime.now());
+                    catalogoIndex.index(dvd);
+                    return dvd.getId();
+                });
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public BatchResultDTO deleteAllById(List<Long> ids) {
+        return procesadorLotes.procesar(ids, dvdRepository::findAllById, id -> {
+            DVD dvd = dvdRepository.findById(id)
+                    .orElseThrow(() -> new ResourceNotFoundException("DVD no encontrado con ID: " + id));
+            dvdRepository.delete(dvd);
+            catalogoIndex.delete(TipoElemento.DVD, id);
+            return id;
+        });
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageDTO<DVDDTO> search(String termino, String cursor, Integer size) {
+        int limit = CursorPagination.size(size);
+        int offset = CursorPagination.offset(cursor);
+        List<Long> ids = catalogoIndex.search(TipoElemento.DVD, termino, offset, limit + 1).stream()
+                .map(ResultadoBusqueda::id)
+                .toList();
+        List<DVDResumen> rows = dvdRepository.findByIdIn(ids.subList(0, Math.min(limit, ids.size())));
+        return CursorPagination.toRankedPage(ids, rows, offset, limit, DVDResumen::id, this::convertToDTO);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void export(FormatoExportacion formato, OutputStream out) throws IOException {
+        // Recorrer la tabla entera no debe desplazar de la cache de segundo nivel a las entidades consultadas
+        entityManager.unwrap(Session.class).setCacheMode(CacheMode.IGNORE);
+        try (Stream<DVD> rows = dvdRepository.streamAll()) {
+            CatalogoExporter.write(rows, this::convertToDTO, DVDDTO.class, formato, out, objectMapper, entityManager);
         }
-        return null;
     }
 
-    // Métodos específicos de DVD
     @Override
-    public List<DVDDTO> findByDirector(String director) {
-        return dvdRepository.findByDirectorContainingIgnoreCase(director).stream()
+    @Transactional(readOnly = true)
+    public List<DVDDTO> findByTitulo(String titulo) {
+        return dvdRepository.findByTituloContainingIgnoreCase(titulo).stream()
                 .map(this::convertToDTO)
                 .collect(Collectors.toList());
     }
 
     @Override
-    public List<DVDDTO> findByGenero(String genero) {
-        return dvdRepository.findByGeneroContainingIgnoreCase(genero).stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public CursorPageDTO<DVDDTO> findByDisponible(Boolean disponible, String cursor, Integer size) {
+        int limit = CursorPagination.size(size);
+        List<DVDResumen> rows = dvdRepository.findByDisponibleAndIdGreaterThan(disponible,
+                CursorPagination.afterId(cursor), CursorPagination.seek(limit));
+        return CursorPagination.toPage(rows, limit, DVDResumen::id, this::convertToDTO);
     }
 
+    // Métodos específicos de DVD
     @Override
+    @Transactional(readOnly = true)
+    public CursorPageDTO<DVDDTO> findByDirector(String director, String cursor, Integer size) {
+        int limit = CursorPagination.size(size);
+        List<DVDResumen> rows = dvdRepository.findByAutorContainingIgnoreCaseAndIdGreaterThan(director,
+                CursorPagination.afterId(cursor), CursorPagination.seek(limit));
+        return CursorPagination.toPage(rows, limit, DVDResumen::id, this::convertToDTO);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageDTO<DVDDTO> findByGenero(String genero, String cursor, Integer size) {
+        int limit = CursorPagination.size(size);
+        List<DVDResumen> rows = dvdRepository.findByGeneroContainingIgnoreCaseAndIdGreaterThan(genero,
+                CursorPagination.afterId(cursor), CursorPagination.seek(limit));
+        return CursorPagination.toPage(rows, limit, DVDResumen::id, this::convertToDTO);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public List<DVDDTO> findByAnoLanzamiento(Integer ano) {
-        return dvdRepository.findByAnoLanzamiento(ano).stream()
+        return dvdRepository.findByAnoPublicacion(ano).stream()
                 .map(this::convertToDTO)
                 .collect(Collectors.toList());
     }
 
     @Override
-    public List<DVDDTO> findByDuracionBetween(Integer minDuracion, Integer maxDuracion) {
-        return dvdRepository.findByDuracionBetween(minDuracion, maxDuracion).stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public CursorPageDTO<DVDDTO> findByDuracionBetween(Integer minDuracion, Integer maxDuracion, String cursor, Integer size) {
+        int limit = CursorPagination.size(size);
+        List<DVDResumen> rows = dvdRepository.findByDuracionBetweenAndIdGreaterThan(minDuracion, maxDuracion,
+                CursorPagination.afterId(cursor), CursorPagination.seek(limit));
+        return CursorPagination.toPage(rows, limit, DVDResumen::id, this::convertToDTO);
     }
 
     @Override
-    public List<DVDDTO> findByClasificacion(String clasificacion) {
-        return dvdRepository.findByClasificacionContainingIgnoreCase(clasificacion).stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public CursorPageDTO<DVDDTO> findByClasificacion(String clasificacion, String cursor, Integer size) {
+        int limit = CursorPagination.size(size);
+        List<DVDResumen> rows = dvdRepository.findByClasificacionContainingIgnoreCaseAndIdGreaterThan(clasificacion,
+                CursorPagination.afterId(cursor), CursorPagination.seek(limit));
+        return CursorPagination.toPage(rows, limit, DVDResumen::id, this::convertToDTO);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<DVDDTO> findByActores(String actor) {
         return dvdRepository.findByActoresContainingIgnoreCase(actor).stream()
                 .map(this::convertToDTO)
@@ -154,13 +309,32 @@ public class DVDServiceImpl implements DVDService {
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public CursorPageDTO<DVDDTO> filtrar(DVDFiltroDTO filtro, String orden, String cursor, Integer size) {
+        return ConsultaFiltrada.pagina(entityManager, DVD.class, DVDResumen.class,
+                CatalogoSpecifications.dvds(filtro), ordenEntidad(orden), cursor, size, DVDResumen::id,
+                this::convertToDTO);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public FacetasDTO<DVDDTO> facetas(DVDFiltroDTO filtro, String orden, String cursor, Integer size) {
+        CursorPageDTO<DVDDTO> resultados = filtrar(filtro, orden, cursor, size);
+        Map<String, List<FacetaValorDTO>> facetas = ConteoFacetas.contar(entityManager, DVD.class,
+                CatalogoSpecifications.dvds(filtro), FACETAS, filtro.equals(new DVDFiltroDTO()));
+        return new FacetasDTO<>(resultados, facetas);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public List<DVDDTO> findByAnoLanzamientoBetween(Integer anoInicio, Integer anoFin) {
-        return dvdRepository.findByAnoLanzamientoBetween(anoInicio, anoFin).stream()
+        return dvdRepository.findByAnoPublicacionBetween(anoInicio, anoFin).stream()
                 .map(this::convertToDTO)
                 .collect(Collectors.toList());
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<DVDDTO> findByPrecioBetween(Double precioMin, Double precioMax) {
         return dvdRepository.findByPrecioBetween(precioMin, precioMax).stream()
                 .map(this::convertToDTO)
@@ -168,70 +342,66 @@ public class DVDServiceImpl implements DVDService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<String> findAllGeneros() {
         return dvdRepository.findAllGeneros();
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<String> findAllClasificaciones() {
         return dvdRepository.findAllClasificaciones();
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Long countDisponibles() {
         return dvdRepository.countDisponibles();
     }
 
     @Override
+    @Transactional(readOnly = true)
     public Double findPrecioPromedio() {
         return dvdRepository.findPrecioPromedio();
     }
 
+    // La API ordena por director y anoLanzamiento, que en la entidad son autor y anoPublicacion
+    private static String ordenEntidad(String orden) {
+        if (orden == null || orden.isBlank()) {
+            return orden;
+        }
+        String[] partes = orden.split(",", 2);
+        String campo = CAMPOS_ENTIDAD.getOrDefault(partes[0].trim(), partes[0].trim());
+        return partes.length > 1 ? campo + "," + partes[1] : campo;
+    }
+
+    private RuntimeException sinCambios(Long id, String conflicto) {
+        if (!dvdRepository.existsById(id)) {
+            return new ResourceNotFoundException("DVD no encontrado con ID: " + id);
+        }
+        return new ResourceConflictException(conflicto + id);
+    }
+
+    // Los UPDATE sin la entidad no pasan por la cache de segundo nivel; se lee la fila
+    private DVDDTO leer(Long id) {
+        return Optional.ofNullable(entityManager.find(DVD.class, id, SIN_CACHE)).map(this::convertToDTO)
+                .orElseThrow(() -> new ResourceNotFoundException("DVD no encontrado con ID: " + id));
+    }
+
     // Métodos de conversión
     private DVDDTO convertToDTO(DVD dvd) {
-        DVDDTO dto = new DVDDTO();
-        dto.setId(dvd.getId());
-        dto.setTitulo(dvd.getTitulo());
-        dto.setDirector(dvd.getDirector());
-        dto.setAnoLanzamiento(dvd.getAnoLanzamiento());  // ← AHORA FUNCIONA
-        dto.setGenero(dvd.getGenero());
-        dto.setDuracion(dvd.getDuracion());  // ← AHORA FUNCIONA
-        dto.setClasificacion(dvd.getClasificacion());
-        dto.setActores(dvd.getActores());  // ← AHORA FUNCIONA
-        dto.setSinopsis(dvd.getSinopsis());  // ← AHORA FUNCIONA
-        dto.setPrecio(dvd.getPrecio());
-        dto.setDisponible(dvd.getDisponible());
-        dto.setFechaCreacion(dvd.getFechaCreacion());
-        dto.setFechaActualizacion(dvd.getFechaActualizacion());
-        return dto;
+        return dvdMapper.toDTO(dvd);
+    }
+
+    private DVDDTO convertToDTO(DVDResumen resumen) {
+        return dvdMapper.toDTO(resumen);
     }
 
     private DVD convertToEntity(DVDDTO dto) {
-        DVD dvd = new DVD();
-        dvd.setId(dto.getId());
-        dvd.setTitulo(dto.getTitulo());
-        dvd.setDirector(dto.getDirector());
-        dvd.setAnoLanzamiento(dto.getAnoLanzamiento());  // ← AHORA FUNCIONA
-        dvd.setGenero(dto.getGenero());
-        dvd.setDuracion(dto.getDuracion());  // ← AHORA FUNCIONA
-        dvd.setClasificacion(dto.getClasificacion());
-        dvd.setActores(dto.getActores());  // ← AHORA FUNCIONA
-        dvd.setSinopsis(dto.getSinopsis());  // ← AHORA FUNCIONA
-        dvd.setPrecio(dto.getPrecio());
-        dvd.setDisponible(dto.getDisponible());
-        return dvd;
+        return dvdMapper.toEntity(dto);
     }
 
     private void updateDVDFromDTO(DVD dvd, DVDDTO dto) {
-        dvd.setTitulo(dto.getTitulo());
-        dvd.setDirector(dto.getDirector());
-        dvd.setAnoLanzamiento(dto.getAnoLanzamiento());  // ← AHORA FUNCIONA
-        dvd.setGenero(dto.getGenero());
-        dvd.setDuracion(dto.getDuracion());  // ← AHORA FUNCIONA
-        dvd.setClasificacion(dto.getClasificacion());
-        dvd.setActores(dto.getActores());  // ← AHORA FUNCIONA
-        dvd.setSinopsis(dto.getSinopsis());  // ← AHORA FUNCIONA
-        dvd.setPrecio(dto.getPrecio());
-        dvd.setDisponible(dto.getDisponible());
+        dvdMapper.updateEntity(dto, dvd);
     }
 }
\ No newline at end of file
@@ -1,4 +1,93 @@
 package com.biblioteca.service.impl;
 
-public class DashboardServiceImpl {
+import com.biblioteca.dto.DashboardStatsDTO;
+import com.biblioteca.repository.ElementoBibliotecaRepository;
+import com.biblioteca.repository.ElementoBibliotecaRepository.ResumenCatalogo;
+import com.biblioteca.service.DashboardService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.locks.ReentrantLock;
+
+@Service
+public class DashboardServiceImpl implements DashboardService {
+
+    private final ElementoBibliotecaRepository elementoBibliotecaRepository;
+    private final long ttlMillis;
+
+    // Última foto de las estadísticas; se comparte entre peticiones hasta que expira
+    private volatile Snapshot snapshot;
+
+    // ReentrantLock y no synchronized: el recálculo espera a la base de datos, y con hilos
+    // virtuales esa espera dentro de un monitor fijaría el hilo a su portador
+    private final ReentrantLock recalculo = new ReentrantLock();
+
+    @Autowired
+    public DashboardServiceImpl(ElementoBibliotecaRepository elementoBibliotecaRepository,
+                                @Value("${biblioteca.dashboard.cache-ttl-ms:5000}") long ttlMillis) {
+        this.elementoBibliotecaRepository = elementoBibliotecaRepository;
+        this.ttlMillis = ttlMillis;
+    }
+
+    @Override
+    public DashboardStatsDTO getStats() {
+        Snapshot actual = snapshot;
+        if (actual != null && !actual.isExpired(ttlMillis)) {
+            return actual.stats();
+        }
+        recalculo.lock();
+        try {
+            // Solo una petición recalcula; el resto reutiliza el resultado
+            actual = snapshot;
+            if (actual == null || actual.isExpired(ttlMillis)) {
+                actual = new Snapshot(calcularStats(), System.currentTimeMillis());
+                snapshot = actual;
+            }
+            return actual.stats();
+        } finally {
+            recalculo.unlock();
+        }
+    }
+
+    private DashboardStatsDTO calcularStats() {
+        ResumenCatalogo resumen = elementoBibliotecaRepository.obtenerResumenCatalogo();
+
+        long totalLibros = valor(resumen.getTotalLibros());
+        long librosDisponibles = valor(resumen.getLibrosDisponibles());
+        long totalRevistas = valor(resumen.getTotalRevistas());
+        long revistasDisponibles = valor(resumen.getRevistasDisponibles());
+        long totalDVDs = valor(resumen.getTotalDVDs());
+        long dvdsDisponibles = valor(resumen.getDvdsDisponibles());
+
+        long totalElementos = totalLibros + totalRevistas + totalDVDs;
+        long elementosDisponibles = librosDisponibles + revistasDisponibles + dvdsDisponibles;
+
+        DashboardStatsDTO stats = new DashboardStatsDTO();
+        stats.setTotalLibros(totalLibros);
+        stats.setTotalRevistas(totalRevistas);
+        stats.setTotalDVDs(totalDVDs);
+        stats.setTotalElementos(totalElementos);
+        stats.setElementosDisponibles(elementosDisponibles);
+        stats.setElementosNoDisponibles(totalElementos - elementosDisponibles);
+        stats.setLibrosDisponibles(librosDisponibles);
+        stats.setLibrosNoDisponibles(totalLibros - librosDisponibles);
+        stats.setRevistasDisponibles(revistasDisponibles);
+        stats.setRevistasNoDisponibles(totalRevistas - revistasDisponibles);
+        stats.setDvdsDisponibles(dvdsDisponibles);
+        stats.setDvdsNoDisponibles(totalDVDs - dvdsDisponibles);
+        stats.setGeneradoEn(LocalDateTime.now());
+        return stats;
+    }
+
+    private static long valor(Long conteo) {
+        return conteo != null ? conteo : 0L;
+    }
+
+    private record Snapshot(DashboardStatsDTO stats, long creadoEn) {
+        boolean isExpired(long ttlMillis) {
+            return System.currentTimeMillis() - creadoEn >= ttlMillis;
+        }
+    }
 }
@@ -0,0 +1,361 @@
+package com.biblioteca.service.impl;
+
+import com.biblioteca.model.Importacion;
+import com.biblioteca.model.Importacion.EstadoImportacion;
+import com.biblioteca.repository.ImportacionRepository;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectReader;
+import jakarta.persistence.EntityManager;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.hibernate.exception.ConstraintViolationException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+
+/**
+ * Ejecuta una importación como tres etapas conectadas por colas acotadas:
+ * lectura del fichero → validación → deduplicación y escritura por tramos.
+ * Si la escritura se retrasa, las colas se llenan y la lectura se detiene, así
+ * que la memoria usada no depende del tamaño del fichero.
+ *
+ * <p>Cada tramo se confirma junto con el progreso del trabajo en la misma
+ * transacción; al reanudar se saltan los registros ya confirmados. El fichero
+ * subido se borra cuando el trabajo ya no se puede reanudar.
+ */
+final class ImportacionPipeline<D> {
+
+    private static final Logger log = LoggerFactory.getLogger(ImportacionPipeline.class);
+
+    /**
+     * Lo que cambia según el tipo importado. {@code codigo} es el ISBN/ISSN usado
+     * para deduplicar (nulo si el tipo no tiene) y {@code guardar} persiste un
+     * elemento dentro de la transacción del tramo.
+     */
+    record Destino<D>(Class<D> tipoDTO,
+                      Function<D, String> codigo,
+                      Function<Collection<String>, List<String>> existentes,
+                      Function<D, Long> guardar) {}
+
+    private record Registro<D>(long numero, D dto, String codigo, String error, boolean duplicado) {
+        Registro<D> conError(String mensaje) {
+            return new Registro<>(numero, dto, codigo, mensaje, false);
+        }
+
+        Registro<D> comoDuplicado() {
+            return new Registro<>(numero, dto, codigo, null, true);
+        }
+    }
+
+    private final String importacionId;
+    private final Path archivo;
+    private final ObjectReader reader;
+    private final Destino<D> destino;
+    private final ProcesadorLotes procesadorLotes;
+    private final ImportacionRepository importacionRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManager entityManager;
+    private final int tamanoTramo;
+
+    private final BlockingQueue<Registro<D>> leidos;
+    private final BlockingQueue<Registro<D>> validados;
+    private final Registro<D> fin = new Registro<>(-1, null, null, null, false);
+
+    // Error irrecuperable de la lectura (p. ej. JSON mal formado); se informa al terminar
+    private volatile Exception falloLectura;
+
+    // Último progreso confirmado en base de datos
+    private Progreso confirmado;
+
+    ImportacionPipeline(String importacionId, Path archivo, ObjectReader reader, Destino<D> destino,
+                        ProcesadorLotes procesadorLotes, ImportacionRepository importacionRepository,
+                        TransactionTemplate transactionTemplate, EntityManager entityManager,
+                        int tamanoTramo, int capacidadCola) {
+        this.importacionId = importacionId;
+        this.archivo = archivo;
+        this.reader = reader;
+        this.destino = destino;
+        this.procesadorLotes = procesadorLotes;
+        this.importacionRepository = importacionRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.entityManager = entityManager;
+        this.tamanoTramo = tamanoTramo;
+        this.leidos = new ArrayBlockingQueue<>(capacidadCola);
+        this.validados = new ArrayBlockingQueue<>(capacidadCola);
+    }
+
+    void ejecutar() {
+        confirmado = transactionTemplate.execute(status -> {
+            Importacion importacion = cargar();
+            importacion.setEstado(EstadoImportacion.EN_CURSO);
+            return Progreso.de(importacion);
+        });
+        log.info("Importación {} en curso desde el registro {}", importacionId, confirmado.procesados + 1);
+
+        ExecutorService etapas = Executors.newFixedThreadPool(2,
+                new CustomizableThreadFactory("importacion-" + importacionId.substring(0, 8) + "-"));
+        try {
+            long saltar = confirmado.procesados;
+            etapas.execute(() -> leer(saltar));
+            etapas.execute(this::validar);
+            escribir();
+
+            if (falloLectura != null) {
+                terminar(EstadoImportacion.FALLIDA, "Fichero ilegible: " + falloLectura.getMessage());
+            } else {
+                terminar(EstadoImportacion.COMPLETADA, confirmado.ultimoError);
+            }
+            // Completada, o con un fichero que fallaría igual al reanudar: ya no se necesita.
+            // Tras otros fallos (p. ej. la base de datos) se conserva para poder reanudar
+            borrarArchivo();
+        } catch (InterruptedException e) {
+            // Parada de la aplicación: el trabajo queda EN_CURSO y se reanuda al arrancar
+            Thread.currentThread().interrupt();
+            log.info("Importación {} interrumpida en el registro {}", importacionId, confirmado.procesados);
+        } catch (RuntimeException e) {
+            log.error("Importación {} fallida", importacionId, e);
+            terminar(EstadoImportacion.FALLIDA, ProcesadorLotes.mensaje(e));
+        } finally {
+            etapas.shutdownNow();
+        }
+    }
+
+    // Etapa 1: parseo en streaming; put() bloquea si las etapas siguientes van por detrás
+    private void leer(long saltar) {
+        try (InputStream in = Files.newInputStream(archivo);
+             MappingIterator<D> it = reader.readValues(in)) {
+            long numero = 0;
+            while (it.hasNextValue()) {
+                D dto = null;
+                String error = null;
+                try {
+                    dto = it.nextValue();
+                } catch (JsonMappingException e) {
+                    error = "Registro mal formado: " + e.getOriginalMessage();
+                }
+                numero++;
+                if (numero > saltar) {
+                    leidos.put(new Registro<>(numero, dto, null, error, false));
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        } catch (IOException | RuntimeException e) {
+            falloLectura = e;
+        }
+        try {
+            leidos.put(fin);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // Etapa 2: Bean Validation. Los duplicados se resuelven al escribir, contra la base de
+    // datos: un conjunto con todos los códigos vistos crecería con el tamaño del fichero
+    private void validar() {
+        try {
+            while (true) {
+                Registro<D> registro = leidos.take();
+                if (registro == fin) {
+                    validados.put(fin);
+                    return;
+                }
+                if (registro.error() == null) {
+                    String error = procesadorLotes.validar(registro.dto());
+                    if (error != null) {
+                        registro = registro.conError(error);
+                    } else {
+                        String codigo = normalizar(destino.codigo().apply(registro.dto()));
+                        registro = new Registro<>(registro.numero(), registro.dto(), codigo, null, false);
+                    }
+                }
+                validados.put(registro);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // Etapa 3: escritura por tramos en el hilo del trabajo
+    private void escribir() throws InterruptedException {
+        List<Registro<D>> tramo = new ArrayList<>(tamanoTramo);
+        while (true) {
+            Registro<D> registro = validados.take();
+            if (registro == fin) {
+                break;
+            }
+            tramo.add(registro);
+            if (tramo.size() >= tamanoTramo) {
+                confirmar(tramo);
+                tramo.clear();
+            }
+        }
+        if (!tramo.isEmpty()) {
+            confirmar(tramo);
+        }
+    }
+
+    private void confirmar(List<Registro<D>> tramo) {
+        Progreso base = confirmado;
+        try {
+            confirmado = transactionTemplate.execute(status -> persistir(tramo, base));
+        } catch (RuntimeException e) {
+            // Un elemento rompió el tramo: se repite de uno en uno para aislarlo
+            for (Registro<D> registro : tramo) {
+                Progreso anterior = confirmado;
+                try {
+                    confirmado = transactionTemplate.execute(status -> persistir(List.of(registro), anterior));
+                } catch (RuntimeException ex) {
+                    // El índice único rechaza un código que otra importación acaba de confirmar
+                    Registro<D> fallido = claveDuplicada(ex)
+                            ? registro.comoDuplicado()
+                            : registro.conError(ProcesadorLotes.mensaje(ex));
+                    confirmado = transactionTemplate.execute(status -> persistir(List.of(fallido), anterior));
+                }
+            }
+        }
+    }
+
+    private Progreso persistir(List<Registro<D>> tramo, Progreso base) {
+        entityManager.unwrap(Session.class).setCacheMode(CacheMode.IGNORE);
+
+        List<String> codigos = tramo.stream()
+                .filter(r -> r.error() == null && !r.duplicado() && r.codigo() != null)
+                .map(Registro::codigo)
+                .toList();
+        // Los tramos anteriores ya están confirmados, así que la consulta también encuentra los
+        // repetidos de más atrás en el fichero; dentro del tramo basta con un conjunto acotado
+        Set<String> existentes = codigos.isEmpty()
+                ? Set.of()
+                : new HashSet<>(destino.existentes().apply(codigos));
+        Set<String> delTramo = new HashSet<>();
+
+        Progreso progreso = base.copia();
+        for (Registro<D> registro : tramo) {
+            if (registro.error() != null) {
+                progreso.invalidos++;
+                progreso.ultimoError = "Registro " + registro.numero() + ": " + registro.error();
+            } else if (registro.duplicado() || existentes.contains(registro.codigo())
+                    || (registro.codigo() != null && !delTramo.add(registro.codigo()))) {
+                progreso.duplicados++;
+            } else {
+                destino.guardar().apply(registro.dto());
+                progreso.creados++;
+            }
+            progreso.procesados = registro.numero();
+        }
+
+        // El progreso se confirma con los datos: reanudar nunca duplica ni pierde un tramo
+        progreso.aplicar(cargar());
+        return progreso;
+    }
+
+    private void terminar(EstadoImportacion estado, String mensaje) {
+        Progreso progreso = confirmado;
+        transactionTemplate.executeWithoutResult(status -> {
+            Importacion importacion = cargar();
+            progreso.aplicar(importacion);
+            importacion.setEstado(estado);
+            importacion.setUltimoError(abreviar(mensaje));
+            importacion.setFechaFin(LocalDateTime.now());
+        });
+        log.info("Importación {} {}: {} creados, {} duplicados, {} inválidos", importacionId, estado,
+                progreso.creados, progreso.duplicados, progreso.invalidos);
+    }
+
+    private void borrarArchivo() {
+        try {
+            Files.deleteIfExists(archivo);
+        } catch (IOException e) {
+            log.warn("No se pudo borrar el fichero {} de la importación {}: {}", archivo, importacionId,
+                    e.getMessage());
+        }
+    }
+
+    private Importacion cargar() {
+        return importacionRepository.findById(importacionId)
+                .orElseThrow(() -> new IllegalStateException("Importación no encontrada: " + importacionId));
+    }
+
+    // Violación de un índice único: 23505 en el estándar (H2), error 1062 en MySQL
+    private static boolean claveDuplicada(RuntimeException e) {
+        for (Throwable causa = e; causa != null; causa = causa.getCause()) {
+            if (causa instanceof ConstraintViolationException violacion
+                    && violacion.getKind() == ConstraintViolationException.ConstraintKind.UNIQUE) {
+                return true;
+            }
+            if (causa instanceof SQLException sql
+                    && ("23505".equals(sql.getSQLState()) || sql.getErrorCode() == 1062)) {
+                return true;
+            }
+            if (causa.getCause() == causa) {
+                break;
+            }
+        }
+        return false;
+    }
+
+    private static String normalizar(String codigo) {
+        return codigo == null || codigo.isBlank() ? null : codigo.trim();
+    }
+
+    private static String abreviar(String mensaje) {
+        return mensaje != null && mensaje.length() > 1000 ? mensaje.substring(0, 1000) : mensaje;
+    }
+
+    private static final class Progreso {
+        long procesados;
+        long creados;
+        long duplicados;
+        long invalidos;
+        String ultimoError;
+
+        static Progreso de(Importacion importacion) {
+            Progreso p = new Progreso();
+            p.procesados = importacion.getProcesados();
+            p.creados = importacion.getCreados();
+            p.duplicados = importacion.getDuplicados();
+            p.invalidos = importacion.getInvalidos();
+            p.ultimoError = importacion.getUltimoError();
+            return p;
+        }
+
+        Progreso copia() {
+            Progreso p = new Progreso();
+            p.procesados = procesados;
+            p.creados = creados;
+            p.duplicados = duplicados;
+            p.invalidos = invalidos;
+            p.ultimoError = ultimoError;
+            return p;
+        }
+
+        void aplicar(Importacion importacion) {
+            importacion.setProcesados(procesados);
+            importacion.setCreados(creados);
+            importacion.setDuplicados(duplicados);
+            importacion.setInvalidos(invalidos);
+            importacion.setUltimoError(abreviar(ultimoError));
+        }
+    }
+}
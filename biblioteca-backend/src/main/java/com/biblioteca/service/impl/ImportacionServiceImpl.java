@@ -0,0 +1,258 @@
+package com.biblioteca.service.impl;
+
+import com.biblioteca.dto.DVDDTO;
+import com.biblioteca.dto.ImportacionDTO;
+import com.biblioteca.dto.LibroDTO;
+import com.biblioteca.dto.RevistaDTO;
+import com.biblioteca.exception.ResourceConflictException;
+import com.biblioteca.exception.ResourceNotFoundException;
+import com.biblioteca.mapper.DVDMapper;
+import com.biblioteca.mapper.ImportacionMapper;
+import com.biblioteca.mapper.LibroMapper;
+import com.biblioteca.mapper.RevistaMapper;
+import com.biblioteca.model.DVD;
+import com.biblioteca.model.ElementoBiblioteca.TipoElemento;
+import com.biblioteca.model.Importacion;
+import com.biblioteca.model.Importacion.EstadoImportacion;
+import com.biblioteca.model.Libro;
+import com.biblioteca.model.Revista;
+import com.biblioteca.repository.DVDRepository;
+import com.biblioteca.repository.ImportacionRepository;
+import com.biblioteca.repository.LibroRepository;
+import com.biblioteca.repository.RevistaRepository;
+import com.biblioteca.search.CatalogoIndex;
+import com.biblioteca.service.ImportacionService;
+import com.biblioteca.service.impl.ImportacionPipeline.Destino;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvParser;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Service
+public class ImportacionServiceImpl implements ImportacionService {
+
+    private static final Logger log = LoggerFactory.getLogger(ImportacionServiceImpl.class);
+
+    private static final Set<EstadoImportacion> ACTIVAS = EnumSet.of(EstadoImportacion.PENDIENTE, EstadoImportacion.EN_CURSO);
+
+    private final ImportacionRepository importacionRepository;
+    private final ImportacionMapper importacionMapper;
+    private final LibroRepository libroRepository;
+    private final RevistaRepository revistaRepository;
+    private final DVDRepository dvdRepository;
+    private final LibroMapper libroMapper;
+    private final RevistaMapper revistaMapper;
+    private final DVDMapper dvdMapper;
+    private final CatalogoIndex catalogoIndex;
+    private final ProcesadorLotes procesadorLotes;
+    private final ObjectMapper objectMapper;
+    private final CsvMapper csvMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final Path directorio;
+    private final int tamanoTramo;
+    private final int capacidadCola;
+    private final ThreadPoolTaskExecutor executor;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    public ImportacionServiceImpl(ImportacionRepository importacionRepository,
+                                  ImportacionMapper importacionMapper,
+                                  LibroRepository libroRepository,
+                                  RevistaRepository revistaRepository,
+                                  DVDRepository dvdRepository,
+                                  LibroMapper libroMapper,
+                                  RevistaMapper revistaMapper,
+                                  DVDMapper dvdMapper,
+                                  CatalogoIndex catalogoIndex,
+                                  ProcesadorLotes procesadorLotes,
+                                  ObjectMapper objectMapper,
+                                  PlatformTransactionManager transactionManager,
+                                  @Value("${biblioteca.import.dir:${java.io.tmpdir}/biblioteca-importaciones}") String directorio,
+                                  @Value("${biblioteca.import.chunk-size:500}") int tamanoTramo,
+                                  @Value("${biblioteca.import.queue-capacity:1000}") int capacidadCola,
+                                  @Value("${biblioteca.import.max-concurrent:2}") int maxConcurrentes) {
+        this.importacionRepository = importacionRepository;
+        this.importacionMapper = importacionMapper;
+        this.libroRepository = libroRepository;
+        this.revistaRepository = revistaRepository;
+        this.dvdRepository = dvdRepository;
+        this.libroMapper = libroMapper;
+        this.revistaMapper = revistaMapper;
+        this.dvdMapper = dvdMapper;
+        this.catalogoIndex = catalogoIndex;
+        this.procesadorLotes = procesadorLotes;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.directorio = Paths.get(directorio);
+        this.tamanoTramo = tamanoTramo;
+        this.capacidadCola = capacidadCola;
+
+        this.csvMapper = CsvMapper.builder()
+                .enable(CsvParser.Feature.EMPTY_STRING_AS_NULL)
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                .addModule(new JavaTimeModule())
+                .build();
+
+        // Pocas importaciones a la vez: cada una ya ocupa tres hilos y una conexión por tramo
+        this.executor = new ThreadPoolTaskExecutor();
+        this.executor.setCorePoolSize(maxConcurrentes);
+        this.executor.setMaxPoolSize(maxConcurrentes);
+        this.executor.setQueueCapacity(100);
+        this.executor.setThreadNamePrefix("importacion-");
+        this.executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        this.executor.initialize();
+    }
+
+    @Override
+    public ImportacionDTO iniciar(TipoElemento tipo, String nombreArchivo, InputStream contenido) throws IOException {
+        String id = UUID.randomUUID().toString();
+        boolean csv = nombreArchivo != null && nombreArchivo.toLowerCase(Locale.ROOT).endsWith(".csv");
+
+        // Se copia a disco en streaming: el fichero nunca se carga entero en memoria
+        Files.createDirectories(directorio);
+        Path destino = directorio.resolve(id + (csv ? ".csv" : ".json"));
+        Files.copy(contenido, destino);
+
+        Importacion importacion = new Importacion();
+        importacion.setId(id);
+        importacion.setTipo(tipo);
+        importacion.setEstado(EstadoImportacion.PENDIENTE);
+        importacion.setFormato(csv ? "CSV" : "JSON");
+        importacion.setNombreArchivo(nombreArchivo);
+        importacion.setRutaArchivo(destino.toString());
+        importacion = importacionRepository.save(importacion);
+
+        return importacionMapper.toDTO(encolar(importacion));
+    }
+
+    @Override
+    public Optional<ImportacionDTO> findById(String id) {
+        return importacionRepository.findById(id).map(importacionMapper::toDTO);
+    }
+
+    @Override
+    public ImportacionDTO reanudar(String id) {
+        Importacion importacion = importacionRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Importación no encontrada con ID: " + id));
+        // El fichero se borra cuando el trabajo ya no se puede reanudar (p. ej. era ilegible)
+        if (importacion.getEstado() == EstadoImportacion.FALLIDA
+                && !Files.exists(Paths.get(importacion.getRutaArchivo()))) {
+            throw new ResourceConflictException("El fichero de la importación ya no existe; vuelva a subirlo");
+        }
+        // Comprobar el estado y cambiarlo en la misma sentencia: con dos peticiones a la vez
+        // solo una encola el trabajo; leer y luego guardar lo encolaba dos veces
+        Integer filas = transactionTemplate.execute(status ->
+                importacionRepository.reanudar(id, LocalDateTime.now()));
+        if (filas == null || filas == 0) {
+            throw new ResourceConflictException("Solo se pueden reanudar importaciones fallidas");
+        }
+        importacion = importacionRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Importación no encontrada con ID: " + id));
+        return importacionMapper.toDTO(encolar(importacion));
+    }
+
+    // Tras una caída o un reinicio, los trabajos a medias siguen desde su último tramo confirmado
+    @EventListener(ApplicationReadyEvent.class)
+    public void reanudarPendientes() {
+        for (Importacion importacion : importacionRepository.findByEstadoIn(ACTIVAS)) {
+            log.info("Reanudando importación {} ({} registros ya confirmados)",
+                    importacion.getId(), importacion.getProcesados());
+            encolar(importacion);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private Importacion encolar(Importacion importacion) {
+        ImportacionPipeline<?> pipeline = pipeline(importacion);
+        try {
+            executor.execute(pipeline::ejecutar);
+            return importacion;
+        } catch (TaskRejectedException e) {
+            importacion.setEstado(EstadoImportacion.FALLIDA);
+            importacion.setUltimoError("Demasiadas importaciones en cola; reinténtela más tarde");
+            importacion.setFechaFin(LocalDateTime.now());
+            return importacionRepository.save(importacion);
+        }
+    }
+
+    private ImportacionPipeline<?> pipeline(Importacion importacion) {
+        return switch (importacion.getTipo()) {
+            case LIBRO -> pipeline(importacion, new Destino<>(LibroDTO.class, LibroDTO::getIsbn,
+                    libroRepository::findIsbnExistentes, dto -> {
+                        Libro libro = libroMapper.toEntity(dto);
+                        libro.setId(null);
+                        libro = libroRepository.save(libro);
+                        catalogoIndex.index(libro);
+                        return libro.getId();
+                    }));
+            case REVISTA -> pipeline(importacion, new Destino<>(RevistaDTO.class, RevistaDTO::getIssn,
+                    revistaRepository::findIssnExistentes, dto -> {
+                        Revista revista = revistaMapper.toEntity(dto);
+                        revista.setId(null);
+                        revista = revistaRepository.save(revista);
+                        catalogoIndex.index(revista);
+                        return revista.getId();
+                    }));
+            // Los DVDs no tienen un código de catálogo con el que deduplicar
+            case DVD -> pipeline(importacion, new Destino<>(DVDDTO.class, dto -> null,
+                    codigos -> List.of(), dto -> {
+                        DVD dvd = dvdMapper.toEntity(dto);
+                        dvd.setId(null);
+                        dvd = dvdRepository.save(dvd);
+                        catalogoIndex.index(dvd);
+                        return dvd.getId();
+                    }));
+        };
+    }
+
+    private <D> ImportacionPipeline<D> pipeline(Importacion importacion, Destino<D> destino) {
+        return new ImportacionPipeline<>(importacion.getId(), Paths.get(importacion.getRutaArchivo()),
+                reader(importacion.getFormato(), destino.tipoDTO()), destino, procesadorLotes,
+                importacionRepository, transactionTemplate, entityManager, tamanoTramo, capacidadCola);
+    }
+
+    // JSON admite tanto un array como un objeto por línea (NDJSON); CSV exige cabecera
+    private ObjectReader reader(String formato, Class<?> tipoDTO) {
+        if ("CSV".equals(formato)) {
+            return csvMapper.readerFor(tipoDTO).with(CsvSchema.emptySchema().withHeader());
+        }
+        return objectMapper.readerFor(tipoDTO);
+    }
+}
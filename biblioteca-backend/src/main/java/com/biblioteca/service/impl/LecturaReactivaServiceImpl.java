@@ -0,0 +1,160 @@
+package com.biblioteca.service.impl;
+
+import com.biblioteca.dto.CursorPageDTO;
+import com.biblioteca.dto.DVDDTO;
+import com.biblioteca.dto.LibroDTO;
+import com.biblioteca.dto.RevistaDTO;
+import com.biblioteca.mapper.DVDMapper;
+import com.biblioteca.mapper.LibroMapper;
+import com.biblioteca.mapper.RevistaMapper;
+import com.biblioteca.repository.LecturaReactivaRepository;
+import com.biblioteca.repository.LecturaReactivaRepository.Filtro;
+import com.biblioteca.service.LecturaReactivaService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Mismas lecturas que los servicios JPA, sin transacción ni contexto de
+ * persistencia: cada fila se convierte a DTO con los mappers de siempre en cuanto
+ * llega, y el hilo de la petición queda libre mientras se espera a la base de datos.
+ */
+@Service
+@ConditionalOnProperty(prefix = "biblioteca.reactivo", name = "enabled", havingValue = "true")
+public class LecturaReactivaServiceImpl implements LecturaReactivaService {
+
+    // Parámetro de la API -> columna de elementos_biblioteca
+    private static final Map<String, String> CAMPOS_LIBRO =
+            Map.of("genero", "genero", "editorial", "editorial", "autor", "autor");
+    private static final Map<String, String> CAMPOS_REVISTA =
+            Map.of("categoria", "categoria", "periodicidad", "periodicidad", "editorial", "editorial", "autor", "autor");
+    private static final Map<String, String> CAMPOS_DVD =
+            Map.of("genero", "genero", "director", "autor", "clasificacion", "clasificacion");
+
+    private final LecturaReactivaRepository lecturaReactivaRepository;
+    private final LibroMapper libroMapper;
+    private final RevistaMapper revistaMapper;
+    private final DVDMapper dvdMapper;
+
+    @Autowired
+    public LecturaReactivaServiceImpl(LecturaReactivaRepository lecturaReactivaRepository, LibroMapper libroMapper,
+                                      RevistaMapper revistaMapper, DVDMapper dvdMapper) {
+        this.lecturaReactivaRepository = lecturaReactivaRepository;
+        this.libroMapper = libroMapper;
+        this.revistaMapper = revistaMapper;
+        this.dvdMapper = dvdMapper;
+    }
+
+    // Una fila más que la página para saber si hay siguiente, como CursorPagination.seek
+    @Override
+    public <T> Mono<CursorPageDTO<T>> pagina(Listado<T> listado, Function<T, Long> id, String cursor, Integer size) {
+        int limite = CursorPagination.size(size);
+        return listado.leer(cursor, limite + 1).collectList()
+                .map(filas -> CursorPagination.toPage(filas, limite, id, Function.identity()));
+    }
+
+    @Override
+    public Flux<LibroDTO> findLibros(String cursor, Integer size) {
+        return lecturaReactivaRepository.libros(Filtro.todos(CursorPagination.afterId(cursor), limite(size)))
+                .map(libroMapper::toDTO);
+    }
+
+    @Override
+    public Flux<LibroDTO> findLibrosDisponibles(String cursor, Integer size) {
+        return lecturaReactivaRepository.libros(Filtro.disponibles(CursorPagination.afterId(cursor), limite(size)))
+                .map(libroMapper::toDTO);
+    }
+
+    @Override
+    public Flux<LibroDTO> findLibrosBy(String campo, String valor, String cursor, Integer size) {
+        return lecturaReactivaRepository.libros(contiene(CAMPOS_LIBRO, campo, valor, cursor, size))
+                .map(libroMapper::toDTO);
+    }
+
+    @Override
+    public Mono<LibroDTO> findLibroById(Long id) {
+        return lecturaReactivaRepository.libroPorId(id).map(libroMapper::toDTO);
+    }
+
+    @Override
+    public Mono<LibroDTO> findLibroByIsbn(String isbn) {
+        return lecturaReactivaRepository.libroPorIsbn(isbn).map(libroMapper::toDTO);
+    }
+
+    @Override
+    public Flux<RevistaDTO> findRevistas(String cursor, Integer size) {
+        return lecturaReactivaRepository.revistas(Filtro.todos(CursorPagination.afterId(cursor), limite(size)))
+                .map(revistaMapper::toDTO);
+    }
+
+    @Override
+    public Flux<RevistaDTO> findRevistasDisponibles(String cursor, Integer size) {
+        return lecturaReactivaRepository.revistas(Filtro.disponibles(CursorPagination.afterId(cursor), limite(size)))
+                .map(revistaMapper::toDTO);
+    }
+
+    @Override
+    public Flux<RevistaDTO> findRevistasBy(String campo, String valor, String cursor, Integer size) {
+        return lecturaReactivaRepository.revistas(contiene(CAMPOS_REVISTA, campo, valor, cursor, size))
+                .map(revistaMapper::toDTO);
+    }
+
+    @Override
+    public Mono<RevistaDTO> findRevistaById(Long id) {
+        return lecturaReactivaRepository.revistaPorId(id).map(revistaMapper::toDTO);
+    }
+
+    @Override
+    public Flux<DVDDTO> findDVDs(String cursor, Integer size) {
+        return lecturaReactivaRepository.dvds(Filtro.todos(CursorPagination.afterId(cursor), limite(size)))
+                .map(dvdMapper::toDTO);
+    }
+
+    @Override
+    public Flux<DVDDTO> findDVDsDisponibles(String cursor, Integer size) {
+        return lecturaReactivaRepository.dvds(Filtro.disponibles(CursorPagination.afterId(cursor), limite(size)))
+                .map(dvdMapper::toDTO);
+    }
+
+    @Override
+    public Flux<DVDDTO> findDVDsBy(String campo, String valor, String cursor, Integer size) {
+        return lecturaReactivaRepository.dvds(contiene(CAMPOS_DVD, campo, valor, cursor, size))
+                .map(dvdMapper::toDTO);
+    }
+
+    @Override
+    public Flux<DVDDTO> findDVDsByDuracionBetween(Integer minDuracion, Integer maxDuracion, String cursor,
+                                                  Integer size) {
+        return lecturaReactivaRepository.dvds(Filtro.entre("duracion", minDuracion, maxDuracion,
+                        CursorPagination.afterId(cursor), limite(size)))
+                .map(dvdMapper::toDTO);
+    }
+
+    @Override
+    public Mono<DVDDTO> findDVDById(Long id) {
+        return lecturaReactivaRepository.dvdPorId(id).map(dvdMapper::toDTO);
+    }
+
+    private static Filtro contiene(Map<String, String> campos, String campo, String valor, String cursor,
+                                   Integer size) {
+        String columna = campos.get(campo);
+        if (columna == null) {
+            throw new IllegalArgumentException("Campo no soportado: " + campo);
+        }
+        if (valor == null || valor.isBlank()) {
+            throw new IllegalArgumentException("El parámetro " + campo + " es obligatorio");
+        }
+        return Filtro.contiene(columna, valor, CursorPagination.afterId(cursor), limite(size));
+    }
+
+    // Sin size no hay límite: el Flux se consume con contrapresión hasta la última fila. Con
+    // size es el número exacto de filas; el máximo de las páginas JSON lo pone pagina()
+    private static Integer limite(Integer size) {
+        return size == null || size <= 0 ? null : size;
+    }
+}
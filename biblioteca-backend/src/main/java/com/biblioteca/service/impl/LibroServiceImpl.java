@@ -1,36 +1,89 @@
 package com.biblioteca.service.impl;
 
+import com.biblioteca.dto.BatchResultDTO;
+import com.biblioteca.dto.CursorPageDTO;
+import com.biblioteca.dto.FacetaValorDTO;
+import com.biblioteca.dto.FacetasDTO;
 import com.biblioteca.dto.LibroDTO;
+import com.biblioteca.dto.LibroFiltroDTO;
+import com.biblioteca.exception.PreconditionFailedException;
+import com.biblioteca.exception.ResourceConflictException;
 import com.biblioteca.exception.ResourceNotFoundException;
+import com.biblioteca.mapper.LibroMapper;
+import com.biblioteca.model.ElementoBiblioteca.TipoElemento;
 import com.biblioteca.model.Libro;
 import com.biblioteca.repository.LibroRepository;
+import com.biblioteca.repository.projection.LibroResumen;
+import com.biblioteca.repository.specification.CatalogoSpecifications;
+import com.biblioteca.search.CatalogoIndex;
+import com.biblioteca.search.ResultadoBusqueda;
+import com.biblioteca.service.FormatoExportacion;
 import com.biblioteca.service.LibroService;
-import org.springframework.beans.BeanUtils;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.CacheRetrieveMode;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.hibernate.jpa.SpecHints;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.Set;
+import java.util.stream.Stream;
 
 @Service
 @Transactional
 public class LibroServiceImpl implements LibroService {
 
+    private static final Map<String, Object> SIN_CACHE =
+            Map.of(SpecHints.HINT_SPEC_CACHE_RETRIEVE_MODE, CacheRetrieveMode.BYPASS);
+
+    // Columnas que un PATCH no puede dejar a null
+    private static final Set<String> OBLIGATORIOS = Set.of("titulo", "disponible");
+
+    private static final List<ConteoFacetas.Faceta<Libro>> FACETAS = List.of(
+            ConteoFacetas.campo("genero"),
+            ConteoFacetas.decada("anoPublicacion"),
+            ConteoFacetas.campo("disponible"),
+            ConteoFacetas.precio());
+
     private final LibroRepository libroRepository;
+    private final ObjectMapper objectMapper;
+    private final CatalogoIndex catalogoIndex;
+    private final LibroMapper libroMapper;
+    private final ProcesadorLotes procesadorLotes;
+
+    @PersistenceContext
+    private EntityManager entityManager;
 
     @Autowired
-    public LibroServiceImpl(LibroRepository libroRepository) {
+    public LibroServiceImpl(LibroRepository libroRepository, ObjectMapper objectMapper,
+                           CatalogoIndex catalogoIndex, LibroMapper libroMapper,
+                           ProcesadorLotes procesadorLotes) {
         this.libroRepository = libroRepository;
+        this.objectMapper = objectMapper;
+        this.catalogoIndex = catalogoIndex;
+        this.libroMapper = libroMapper;
+        this.procesadorLotes = procesadorLotes;
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<LibroDTO> findAll() {
-        return libroRepository.findAll().stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+    public CursorPageDTO<LibroDTO> findAll(String cursor, Integer size) {
+        int limit = CursorPagination.size(size);
+        List<LibroResumen> rows = libroRepository.findByIdGreaterThan(
+                CursorPagination.afterId(cursor), CursorPagination.seek(limit));
+        return CursorPagination.toPage(rows, limit, LibroResumen::id, this::convertToDTO);
     }
 
     @Override
@@ -42,62 +95,151 @@ public class LibroServiceImpl implements LibroService {
     @Override
     public LibroDTO save(LibroDTO dto) {
         Libro libro = convertToEntity(dto);
+        // Siempre un alta: con id y sin versión, save() intentaría un persist de un id existente
+        libro.setId(null);
         libro = libroRepository.save(libro);
+        catalogoIndex.index(libro);
         return convertToDTO(libro);
     }
 
     @Override
     public LibroDTO update(Long id, LibroDTO dto) {
-        Libro existingLibro = libroRepository.findById(id)
+        Libro libro = libroRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Libro no encontrado con ID: " + id));
+        ControlVersiones.comprobar(libro, dto.getVersion());
+        aplicar(dto, libro);
 
-        // Mantener el ID original
-        dto.setId(id);
-        Libro updatedLibro = convertToEntity(dto);
-        updatedLibro.setFechaCreacion(existingLibro.getFechaCreacion());
-
-        updatedLibro = libroRepository.save(updatedLibro);
-        return convertToDTO(updatedLibro);
+        // El flush hace el UPDATE ... WHERE version = ? aquí, y el DTO sale con la versión nueva
+        libro = libroRepository.saveAndFlush(libro);
+        catalogoIndex.index(libro);
+        return convertToDTO(libro);
     }
 
+    // Un solo DELETE; el número de filas dice si existía
     @Override
     public void deleteById(Long id) {
-        if (!libroRepository.existsById(id)) {
+        if (SentenciaElemento.eliminar(entityManager, Libro.class, TipoElemento.LIBRO, id) == 0) {
             throw new ResourceNotFoundException("Libro no encontrado con ID: " + id);
         }
-        libroRepository.deleteById(id);
+        catalogoIndex.delete(TipoElemento.LIBRO, id);
+    }
+
+    // Sin leer antes la fila; solo se carga después si el cambio afecta al índice de búsqueda
+    @Override
+    public Optional<Long> patch(Long id, JsonNode parche, Long versionEsperada) {
+        Long esperada = versionEsperada != null ? versionEsperada : ActualizacionParcial.versionEnviada(parche);
+        Map<String, Object> valores = ActualizacionParcial.valores(entityManager, objectMapper, Libro.class,
+                parche, Map.of(), OBLIGATORIOS);
+        if (ActualizacionParcial.actualizar(entityManager, Libro.class, TipoElemento.LIBRO, id, esperada, valores,
+                disponibleSegunStock(valores)) == 0) {
+            if (!libroRepository.existsById(id)) {
+                throw new ResourceNotFoundException("Libro no encontrado con ID: " + id);
+            }
+            throw new PreconditionFailedException("El libro " + id + " ha cambiado: ya no está en la versión " + esperada);
+        }
+        if (CatalogoIndex.afectaAlIndice(TipoElemento.LIBRO, valores.keySet())) {
+            catalogoIndex.index(entityManager.find(Libro.class, id, SIN_CACHE));
+        }
+        return Optional.ofNullable(esperada).map(version -> version + 1);
+    }
+
+    // Sin leer antes la fila: la sentencia decide y el número de filas dice si se pudo
+    @Override
+    public LibroDTO prestar(Long id) {
+        if (Prestamos.prestar(entityManager, Libro.class, TipoElemento.LIBRO, id) == 0) {
+            throw sinCambios(id, "No quedan ejemplares disponibles del libro con ID: ");
+        }
+        return leer(id);
+    }
+
+    @Override
+    public LibroDTO devolver(Long id) {
+        if (Prestamos.devolver(entityManager, Libro.class, TipoElemento.LIBRO, id) == 0) {
+            throw sinCambios(id, "No hay ejemplares prestados del libro con ID: ");
+        }
+        return leer(id);
+    }
+
+    // Los tramos abren su propia transacción; aquí no debe haber una envolvente
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public BatchResultDTO saveAll(List<LibroDTO> dtos) {
+        return procesadorLotes.procesar(dtos, tramo -> { }, dto -> {
+            Libro libro = convertToEntity(dto);
+            libro.setId(null);
+            libro = libroRepository.save(libro);
+            catalogoIndex.index(libro);
+            return libro.getId();
+        });
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public BatchResultDTO updateAll(List<LibroDTO> dtos) {
+        return procesadorLotes.procesar(dtos,
+                tramo -> libroRepository.findAllById(tramo.stream().map(LibroDTO::getId).filter(Objects::nonNull).toList()),
+                dto -> {
+                    if (dto.getId() == null) {
+                        throw new IllegalArgumentException("El id es obligatorio");
+                    }
+                    Libro libro = libroRepository.findById(dto.getId())
+                            .orElseThrow(() -> new ResourceNotFoundException("Libro no encontrado con ID: " + dto.getId()));
+                    ControlVersiones.comprobar(libro, dto.getVersion());
+                    aplicar(dto, libro);
+                    catalogoIndex.index(libro);
+                    return libro.getId();
+                });
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public BatchResultDTO deleteAllById(List<Long> ids) {
+        return procesadorLotes.procesar(ids, libroRepository::findAllById, id -> {
+            Libro libro = libroRepository.findById(id)
+                    .orElseThrow(() -> new ResourceNotFoundException("Libro no encontrado con ID: " + id));
+            libroRepository.delete(libro);
+            catalogoIndex.delete(TipoElemento.LIBRO, id);
+            return id;
+        });
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<LibroDTO> search(String query) {
-        return libroRepository.searchLibros(query).stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+    public CursorPageDTO<LibroDTO> search(String query, String cursor, Integer size) {
+        int limit = CursorPagination.size(size);
+        int offset = CursorPagination.offset(cursor);
+        List<Long> ids = catalogoIndex.search(TipoElemento.LIBRO, query, offset, limit + 1).stream()
+                .map(ResultadoBusqueda::id)
+                .toList();
+        List<LibroResumen> rows = libroRepository.findByIdIn(ids.subList(0, Math.min(limit, ids.size())));
+        return CursorPagination.toRankedPage(ids, rows, offset, limit, LibroResumen::id, this::convertToDTO);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<LibroDTO> findByDisponible(Boolean disponible) {
-        return libroRepository.findByDisponible(disponible).stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+    public CursorPageDTO<LibroDTO> findByDisponible(Boolean disponible, String cursor, Integer size) {
+        int limit = CursorPagination.size(size);
+        List<LibroResumen> rows = libroRepository.findByDisponibleAndIdGreaterThan(disponible,
+                CursorPagination.afterId(cursor), CursorPagination.seek(limit));
+        return CursorPagination.toPage(rows, limit, LibroResumen::id, this::convertToDTO);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<LibroDTO> findByGenero(String genero) {
-        return libroRepository.findByGeneroContainingIgnoreCase(genero).stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+    public CursorPageDTO<LibroDTO> findByGenero(String genero, String cursor, Integer size) {
+        int limit = CursorPagination.size(size);
+        List<LibroResumen> rows = libroRepository.findByGeneroContainingIgnoreCaseAndIdGreaterThan(genero,
+                CursorPagination.afterId(cursor), CursorPagination.seek(limit));
+        return CursorPagination.toPage(rows, limit, LibroResumen::id, this::convertToDTO);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<LibroDTO> findByEditorial(String editorial) {
-        return libroRepository.findByEditorialContainingIgnoreCase(editorial).stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+    public CursorPageDTO<LibroDTO> findByEditorial(String editorial, String cursor, Integer size) {
+        int limit = CursorPagination.size(size);
+        List<LibroResumen> rows = libroRepository.findByEditorialContainingIgnoreCaseAndIdGreaterThan(editorial,
+                CursorPagination.afterId(cursor), CursorPagination.seek(limit));
+        return CursorPagination.toPage(rows, limit, LibroResumen::id, this::convertToDTO);
     }
 
     @Override
@@ -108,21 +250,92 @@ public class LibroServiceImpl implements LibroService {
 
     @Override
     @Transactional(readOnly = true)
-    public List<LibroDTO> findByAutor(String autor) {
-        return libroRepository.findByAutorContainingIgnoreCase(autor).stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+    public CursorPageDTO<LibroDTO> findByAutor(String autor, String cursor, Integer size) {
+        int limit = CursorPagination.size(size);
+        List<LibroResumen> rows = libroRepository.findByAutorContainingIgnoreCaseAndIdGreaterThan(autor,
+                CursorPagination.afterId(cursor), CursorPagination.seek(limit));
+        return CursorPagination.toPage(rows, limit, LibroResumen::id, this::convertToDTO);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageDTO<LibroDTO> filtrar(LibroFiltroDTO filtro, String orden, String cursor, Integer size) {
+        return ConsultaFiltrada.pagina(entityManager, Libro.class, LibroResumen.class,
+                CatalogoSpecifications.libros(filtro), orden, cursor, size, LibroResumen::id, this::convertToDTO);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public FacetasDTO<LibroDTO> facetas(LibroFiltroDTO filtro, String orden, String cursor, Integer size) {
+        CursorPageDTO<LibroDTO> resultados = filtrar(filtro, orden, cursor, size);
+        Map<String, List<FacetaValorDTO>> facetas = ConteoFacetas.contar(entityManager, Libro.class,
+                CatalogoSpecifications.libros(filtro), FACETAS, filtro.equals(new LibroFiltroDTO()));
+        return new FacetasDTO<>(resultados, facetas);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void export(FormatoExportacion formato, OutputStream out) throws IOException {
+        // Recorrer la tabla entera no debe desplazar de la cache de segundo nivel a las entidades consultadas
+        entityManager.unwrap(Session.class).setCacheMode(CacheMode.IGNORE);
+        try (Stream<Libro> rows = libroRepository.streamAll()) {
+            CatalogoExporter.write(rows, this::convertToDTO, LibroDTO.class, formato, out, objectMapper, entityManager);
+        }
+    }
+
+    private RuntimeException sinCambios(Long id, String conflicto) {
+        if (!libroRepository.existsById(id)) {
+            return new ResourceNotFoundException("Libro no encontrado con ID: " + id);
+        }
+        return new ResourceConflictException(conflicto + id);
+    }
+
+    // Los UPDATE sin la entidad no pasan por la cache de segundo nivel; se lee la fila
+    private LibroDTO leer(Long id) {
+        return Optional.ofNullable(entityManager.find(Libro.class, id, SIN_CACHE)).map(this::convertToDTO)
+                .orElseThrow(() -> new ResourceNotFoundException("Libro no encontrado con ID: " + id));
     }
 
     private LibroDTO convertToDTO(Libro libro) {
-        LibroDTO dto = new LibroDTO();
-        BeanUtils.copyProperties(libro, dto);
-        return dto;
+        return libroMapper.toDTO(libro);
+    }
+
+    private LibroDTO convertToDTO(LibroResumen resumen) {
+        return libroMapper.toDTO(resumen);
     }
 
     private Libro convertToEntity(LibroDTO dto) {
-        Libro libro = new Libro();
-        BeanUtils.copyProperties(dto, libro);
+        Libro libro = libroMapper.toEntity(dto);
+        disponibleSegunStock(libro);
         return libro;
     }
+
+    // Sobre la entidad cargada: sin merge y con la versión que se leyó
+    private void aplicar(LibroDTO dto, Libro libro) {
+        libroMapper.updateEntity(dto, libro);
+        disponibleSegunStock(libro);
+    }
+
+    // PATCH: lo mismo sin cargar la fila. Si el parche no trae stock, el de la fila se mira
+    // en la misma sentencia, y el disponible enviado solo cuenta para los libros sin stock
+    private static ActualizacionParcial.Calculada disponibleSegunStock(Map<String, Object> valores) {
+        if (valores.containsKey("stock")) {
+            if (valores.get("stock") instanceof Integer stock) {
+                valores.put("disponible", stock > 0);
+            }
+            return null;
+        }
+        if (!(valores.remove("disponible") instanceof Boolean disponible)) {
+            return null;
+        }
+        return new ActualizacionParcial.Calculada(
+                "disponible = CASE WHEN stock IS NULL THEN ? WHEN stock > 0 THEN true ELSE false END", disponible);
+    }
+
+    // Con stock, la disponibilidad no la decide el cliente: hay ejemplares o no los hay
+    private static void disponibleSegunStock(Libro libro) {
+        if (libro.getStock() != null) {
+            libro.setDisponible(libro.getStock() > 0);
+        }
+    }
 }
\ No newline at end of file
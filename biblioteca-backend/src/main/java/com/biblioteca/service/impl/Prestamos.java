@@ -0,0 +1,64 @@
+package com.biblioteca.service.impl;
+
+import com.biblioteca.model.ElementoBiblioteca;
+import com.biblioteca.model.ElementoBiblioteca.TipoElemento;
+import com.biblioteca.model.Libro;
+import jakarta.persistence.EntityManager;
+
+import java.time.LocalDateTime;
+
+/**
+ * Préstamo y devolución en una sola sentencia condicional: la comprobación y el
+ * cambio son atómicos en la base de datos, así que dos préstamos simultáneos del
+ * último ejemplar no pueden tener éxito los dos y el bloqueo de la fila dura solo
+ * la sentencia. Va por {@link SentenciaElemento} para no vaciar la cache de
+ * segundo nivel del catálogo.
+ */
+final class Prestamos {
+
+    // Sin stock (NULL) el libro es de un solo ejemplar y manda disponible. La asignación
+    // a disponible va primero porque MySQL evalúa el SET de izquierda a derecha
+    private static final String PRESTAR_LIBRO = "UPDATE elementos_biblioteca SET "
+            + "disponible = CASE WHEN stock > 1 THEN true ELSE false END, "
+            + "stock = stock - 1, prestados = prestados + 1, fecha_actualizacion = ?, version = version + 1 "
+            + "WHERE id = ? AND tipo = ? AND (stock > 0 OR (stock IS NULL AND disponible = true))";
+
+    // Con stock solo se devuelve lo que está prestado; sin él, basta con que no esté disponible
+    private static final String DEVOLVER_LIBRO = "UPDATE elementos_biblioteca SET "
+            + "disponible = true, stock = stock + 1, "
+            + "prestados = CASE WHEN prestados > 0 THEN prestados - 1 ELSE 0 END, "
+            + "fecha_actualizacion = ?, version = version + 1 "
+            + "WHERE id = ? AND tipo = ? AND (prestados > 0 OR (stock IS NULL AND disponible = false))";
+
+    // Revistas y DVDs tienen un solo ejemplar: solo una de varias peticiones cambia la fila
+    private static final String PRESTAR = "UPDATE elementos_biblioteca SET "
+            + "disponible = false, fecha_actualizacion = ?, version = version + 1 "
+            + "WHERE id = ? AND tipo = ? AND disponible = true";
+
+    private static final String DEVOLVER = "UPDATE elementos_biblioteca SET "
+            + "disponible = true, fecha_actualizacion = ?, version = version + 1 "
+            + "WHERE id = ? AND tipo = ? AND disponible = false";
+
+    private Prestamos() {}
+
+    /** Filas cambiadas: 0 si no existe, es de otro tipo o no se puede prestar. */
+    static int prestar(EntityManager entityManager, Class<? extends ElementoBiblioteca> entidad,
+                       TipoElemento tipo, Long id) {
+        return ejecutar(entityManager, entidad, tipo, id, entidad == Libro.class ? PRESTAR_LIBRO : PRESTAR);
+    }
+
+    /** Filas cambiadas: 0 si no existe, es de otro tipo o no está prestado. */
+    static int devolver(EntityManager entityManager, Class<? extends ElementoBiblioteca> entidad,
+                        TipoElemento tipo, Long id) {
+        return ejecutar(entityManager, entidad, tipo, id, entidad == Libro.class ? DEVOLVER_LIBRO : DEVOLVER);
+    }
+
+    private static int ejecutar(EntityManager entityManager, Class<? extends ElementoBiblioteca> entidad,
+                                TipoElemento tipo, Long id, String sql) {
+        return SentenciaElemento.ejecutar(entityManager, entidad, id, sql, (sentencia, session) -> {
+            sentencia.setObject(1, LocalDateTime.now());
+            sentencia.setLong(2, id);
+            sentencia.setString(3, tipo.name());
+        });
+    }
+}
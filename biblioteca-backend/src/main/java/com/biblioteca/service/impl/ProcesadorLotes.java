@@ -0,0 +1,138 @@
+package com.biblioteca.service.impl;
+
+import com.biblioteca.dto.BatchItemResultDTO;
+import com.biblioteca.dto.BatchResultDTO;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Ejecuta operaciones masivas en transacciones por tramos. Cada tramo se escribe
+ * con batching JDBC y un fallo de base de datos solo reintenta ese tramo elemento
+ * a elemento, para informar exactamente qué elementos no se pudieron guardar.
+ */
+@Component
+class ProcesadorLotes {
+
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+    private final int tamanoTramo;
+    private final int maxElementos;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    ProcesadorLotes(PlatformTransactionManager transactionManager, Validator validator,
+                    @Value("${biblioteca.batch.chunk-size:500}") int tamanoTramo,
+                    @Value("${biblioteca.batch.max-items:10000}") int maxElementos) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.validator = validator;
+        this.tamanoTramo = tamanoTramo;
+        this.maxElementos = maxElementos;
+    }
+
+    /**
+     * @param precarga  carga de una vez lo que el tramo necesite (p. ej. findAllById)
+     * @param operacion aplica un elemento y devuelve su id; las excepciones marcan
+     *                  solo ese elemento como fallido
+     */
+    <T> BatchResultDTO procesar(List<T> elementos, Consumer<List<T>> precarga, Function<T, Long> operacion) {
+        // La lista y sus resultados están enteros en memoria: las cargas grandes van por la importación
+        if (elementos.size() > maxElementos) {
+            throw new IllegalArgumentException("Un lote admite como máximo " + maxElementos + " elementos (recibidos "
+                    + elementos.size() + "); para cargas mayores use /api/importaciones");
+        }
+        BatchItemResultDTO[] resultados = new BatchItemResultDTO[elementos.size()];
+        List<Integer> validos = new ArrayList<>();
+        for (int i = 0; i < elementos.size(); i++) {
+            String error = validar(elementos.get(i));
+            if (error != null) {
+                resultados[i] = new BatchItemResultDTO(i, null, false, error);
+            } else {
+                validos.add(i);
+            }
+        }
+
+        for (int desde = 0; desde < validos.size(); desde += tamanoTramo) {
+            List<Integer> tramo = validos.subList(desde, Math.min(desde + tamanoTramo, validos.size()));
+            try {
+                guardar(ejecutar(tramo, elementos, precarga, operacion), resultados);
+            } catch (RuntimeException e) {
+                // El commit del tramo falló: se aísla el elemento culpable
+                for (Integer indice : tramo) {
+                    try {
+                        guardar(ejecutar(List.of(indice), elementos, precarga, operacion), resultados);
+                    } catch (RuntimeException ex) {
+                        resultados[indice] = new BatchItemResultDTO(indice, null, false, mensaje(ex));
+                    }
+                }
+            }
+        }
+
+        List<BatchItemResultDTO> lista = Arrays.asList(resultados);
+        int exitosos = (int) lista.stream().filter(BatchItemResultDTO::isExitoso).count();
+        return new BatchResultDTO(lista.size(), exitosos, lista.size() - exitosos, lista);
+    }
+
+    private <T> Map<Integer, BatchItemResultDTO> ejecutar(List<Integer> indices, List<T> elementos,
+                                                         Consumer<List<T>> precarga, Function<T, Long> operacion) {
+        return transactionTemplate.execute(status -> {
+            // Una carga masiva no debe desplazar de la cache de segundo nivel a las entidades consultadas
+            entityManager.unwrap(Session.class).setCacheMode(CacheMode.IGNORE);
+            precarga.accept(indices.stream().map(elementos::get).toList());
+            Map<Integer, BatchItemResultDTO> parcial = new HashMap<>();
+            for (Integer indice : indices) {
+                try {
+                    Long id = operacion.apply(elementos.get(indice));
+                    parcial.put(indice, new BatchItemResultDTO(indice, id, true, null));
+                } catch (RuntimeException e) {
+                    parcial.put(indice, new BatchItemResultDTO(indice, null, false, mensaje(e)));
+                }
+            }
+            return parcial;
+        });
+    }
+
+    private static void guardar(Map<Integer, BatchItemResultDTO> parcial, BatchItemResultDTO[] resultados) {
+        parcial.forEach((indice, resultado) -> resultados[indice] = resultado);
+    }
+
+    String validar(Object elemento) {
+        if (elemento == null) {
+            return "Elemento nulo";
+        }
+        Set<ConstraintViolation<Object>> violaciones = validator.validate(elemento);
+        if (violaciones.isEmpty()) {
+            return null;
+        }
+        return violaciones.stream()
+                .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    static String mensaje(RuntimeException e) {
+        Throwable causa = e;
+        while (causa.getCause() != null && causa.getCause() != causa) {
+            causa = causa.getCause();
+        }
+        return causa.getMessage() != null ? causa.getMessage() : causa.getClass().getSimpleName();
+    }
+}
@@ -1,36 +1,90 @@
 package com.biblioteca.service.impl;
 
+import com.biblioteca.dto.BatchResultDTO;
+import com.biblioteca.dto.CursorPageDTO;
+import com.biblioteca.dto.FacetaValorDTO;
+import com.biblioteca.dto.FacetasDTO;
 import com.biblioteca.dto.RevistaDTO;
+import com.biblioteca.dto.RevistaFiltroDTO;
+import com.biblioteca.exception.PreconditionFailedException;
+import com.biblioteca.exception.ResourceConflictException;
 import com.biblioteca.exception.ResourceNotFoundException;
+import com.biblioteca.mapper.RevistaMapper;
+import com.biblioteca.model.ElementoBiblioteca.TipoElemento;
 import com.biblioteca.model.Revista;
 import com.biblioteca.repository.RevistaRepository;
+import com.biblioteca.repository.projection.RevistaResumen;
+import com.biblioteca.repository.specification.CatalogoSpecifications;
+import com.biblioteca.search.CatalogoIndex;
+import com.biblioteca.search.ResultadoBusqueda;
+import com.biblioteca.service.FormatoExportacion;
 import com.biblioteca.service.RevistaService;
-import org.springframework.beans.BeanUtils;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.CacheRetrieveMode;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.hibernate.jpa.SpecHints;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.Set;
+import java.util.stream.Stream;
 
 @Service
 @Transactional
 public class RevistaServiceImpl implements RevistaService {
 
+    private static final Map<String, Object> SIN_CACHE =
+            Map.of(SpecHints.HINT_SPEC_CACHE_RETRIEVE_MODE, CacheRetrieveMode.BYPASS);
+
+    // Columnas que un PATCH no puede dejar a null
+    private static final Set<String> OBLIGATORIOS = Set.of("titulo", "disponible");
+
+    private static final List<ConteoFacetas.Faceta<Revista>> FACETAS = List.of(
+            ConteoFacetas.campo("categoria"),
+            ConteoFacetas.campo("periodicidad"),
+            ConteoFacetas.decada("anoPublicacion"),
+            ConteoFacetas.campo("disponible"),
+            ConteoFacetas.precio());
+
     private final RevistaRepository revistaRepository;
+    private final ObjectMapper objectMapper;
+    private final CatalogoIndex catalogoIndex;
+    private final RevistaMapper revistaMapper;
+    private final ProcesadorLotes procesadorLotes;
+
+    @PersistenceContext
+    private EntityManager entityManager;
 
     @Autowired
-    public RevistaServiceImpl(RevistaRepository revistaRepository) {
+    public RevistaServiceImpl(RevistaRepository revistaRepository, ObjectMapper objectMapper,
+                             CatalogoIndex catalogoIndex, RevistaMapper revistaMapper,
+                             ProcesadorLotes procesadorLotes) {
         this.revistaRepository = revistaRepository;
+        this.objectMapper = objectMapper;
+        this.catalogoIndex = catalogoIndex;
+        this.revistaMapper = revistaMapper;
+        this.procesadorLotes = procesadorLotes;
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<RevistaDTO> findAll() {
-        return revistaRepository.findAll().stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+    public CursorPageDTO<RevistaDTO> findAll(String cursor, Integer size) {
+        int limit = CursorPagination.size(size);
+        List<RevistaResumen> rows = revistaRepository.findByIdGreaterThan(
+                CursorPagination.afterId(cursor), CursorPagination.seek(limit));
+        return CursorPagination.toPage(rows, limit, RevistaResumen::id, this::convertToDTO);
     }
 
     @Override
@@ -42,88 +96,219 @@ public class RevistaServiceImpl implements RevistaService {
     @Override
     public RevistaDTO save(RevistaDTO dto) {
         Revista revista = convertToEntity(dto);
+        // Siempre un alta: con id y sin versión, save() intentaría un persist de un id existente
+        revista.setId(null);
         revista = revistaRepository.save(revista);
+        catalogoIndex.index(revista);
         return convertToDTO(revista);
     }
 
     @Override
     public RevistaDTO update(Long id, RevistaDTO dto) {
-        Revista existingRevista = revistaRepository.findById(id)
+        Revista revista = revistaRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Revista no encontrada con ID: " + id));
+        ControlVersiones.comprobar(revista, dto.getVersion());
+        revistaMapper.updateEntity(dto, revista);
 
-        dto.setId(id);
-        Revista updatedRevista = convertToEntity(dto);
-        updatedRevista.setFechaCreacion(existingRevista.getFechaCreacion());
-
-        updatedRevista = revistaRepository.save(updatedRevista);
-        return convertToDTO(updatedRevista);
+        // El flush hace el UPDATE ... WHERE version = ? aquí, y el DTO sale con la versión nueva
+        revista = revistaRepository.saveAndFlush(revista);
+        catalogoIndex.index(revista);
+        return convertToDTO(revista);
     }
 
+    // Un solo DELETE; el número de filas dice si existía
     @Override
     public void deleteById(Long id) {
-        if (!revistaRepository.existsById(id)) {
+        if (SentenciaElemento.eliminar(entityManager, Revista.class, TipoElemento.REVISTA, id) == 0) {
             throw new ResourceNotFoundException("Revista no encontrada con ID: " + id);
         }
-        revistaRepository.deleteById(id);
+        catalogoIndex.delete(TipoElemento.REVISTA, id);
+    }
+
+    // Sin leer antes la fila; solo se carga después si el cambio afecta al índice de búsqueda
+    @Override
+    public Optional<Long> patch(Long id, JsonNode parche, Long versionEsperada) {
+        Long esperada = versionEsperada != null ? versionEsperada : ActualizacionParcial.versionEnviada(parche);
+        Map<String, Object> valores = ActualizacionParcial.valores(entityManager, objectMapper, Revista.class,
+                parche, Map.of(), OBLIGATORIOS);
+        if (ActualizacionParcial.actualizar(entityManager, Revista.class, TipoElemento.REVISTA, id, esperada,
+                valores) == 0) {
+            if (!revistaRepository.existsById(id)) {
+                throw new ResourceNotFoundException("Revista no encontrada con ID: " + id);
+            }
+            throw new PreconditionFailedException("La revista " + id + " ha cambiado: ya no está en la versión " + esperada);
+        }
+        if (CatalogoIndex.afectaAlIndice(TipoElemento.REVISTA, valores.keySet())) {
+            catalogoIndex.index(entityManager.find(Revista.class, id, SIN_CACHE));
+        }
+        return Optional.ofNullable(esperada).map(version -> version + 1);
+    }
+
+    // Las revistas tienen un solo ejemplar: se presta si está disponible
+    @Override
+    public RevistaDTO prestar(Long id) {
+        if (Prestamos.prestar(entityManager, Revista.class, TipoElemento.REVISTA, id) == 0) {
+            throw sinCambios(id, "La revista ya está prestada, ID: ");
+        }
+        return leer(id);
+    }
+
+    @Override
+    public RevistaDTO devolver(Long id) {
+        if (Prestamos.devolver(entityManager, Revista.class, TipoElemento.REVISTA, id) == 0) {
+            throw sinCambios(id, "La revista no está prestada, ID: ");
+        }
+        return leer(id);
+    }
+
+    // Los tramos abren su propia transacción; aquí no debe haber una envolvente
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public BatchResultDTO saveAll(List<RevistaDTO> dtos) {
+        return procesadorLotes.procesar(dtos, tramo -> { }, dto -> {
+            Revista revista = convertToEntity(dto);
+            revista.setId(null);
+            revista = revistaRepository.save(revista);
+            catalogoIndex.index(revista);
+            return revista.getId();
+        });
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public BatchResultDTO updateAll(List<RevistaDTO> dtos) {
+        return procesadorLotes.procesar(dtos,
+                tramo -> revistaRepository.findAllById(tramo.stream().map(RevistaDTO::getId).filter(Objects::nonNull).toList()),
+                dto -> {
+                    if (dto.getId() == null) {
+                        throw new IllegalArgumentException("El id es obligatorio");
+                    }
+                    Revista revista = revistaRepository.findById(dto.getId())
+                            .orElseThrow(() -> new ResourceNotFoundException("Revista no encontrada con ID: " + dto.getId()));
+                    ControlVersiones.comprobar(revista, dto.getVersion());
+                    revistaMapper.updateEntity(dto, revista);
+                    catalogoIndex.index(revista);
+                    return revista.getId();
+                });
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public BatchResultDTO deleteAllById(List<Long> ids) {
+        return procesadorLotes.procesar(ids, revistaRepository::findAllById, id -> {
+            Revista revista = revistaRepository.findById(id)
+                    .orElseThrow(() -> new ResourceNotFoundException("Revista no encontrada con ID: " + id));
+            revistaRepository.delete(revista);
+            catalogoIndex.delete(TipoElemento.REVISTA, id);
+            return id;
+        });
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageDTO<RevistaDTO> search(String query, String cursor, Integer size) {
+        int limit = CursorPagination.size(size);
+        int offset = CursorPagination.offset(cursor);
+        List<Long> ids = catalogoIndex.search(TipoElemento.REVISTA, query, offset, limit + 1).stream()
+                .map(ResultadoBusqueda::id)
+                .toList();
+        List<RevistaResumen> rows = revistaRepository.findByIdIn(ids.subList(0, Math.min(limit, ids.size())));
+        return CursorPagination.toRankedPage(ids, rows, offset, limit, RevistaResumen::id, this::convertToDTO);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<RevistaDTO> search(String query) {
-        return revistaRepository.searchRevistas(query).stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+    public CursorPageDTO<RevistaDTO> findByDisponible(Boolean disponible, String cursor, Integer size) {
+        int limit = CursorPagination.size(size);
+        List<RevistaResumen> rows = revistaRepository.findByDisponibleAndIdGreaterThan(disponible,
+                CursorPagination.afterId(cursor), CursorPagination.seek(limit));
+        return CursorPagination.toPage(rows, limit, RevistaResumen::id, this::convertToDTO);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<RevistaDTO> findByDisponible(Boolean disponible) {
-        return revistaRepository.findByDisponible(disponible).stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+    public CursorPageDTO<RevistaDTO> findByCategoria(String categoria, String cursor, Integer size) {
+        int limit = CursorPagination.size(size);
+        List<RevistaResumen> rows = revistaRepository.findByCategoriaContainingIgnoreCaseAndIdGreaterThan(categoria,
+                CursorPagination.afterId(cursor), CursorPagination.seek(limit));
+        return CursorPagination.toPage(rows, limit, RevistaResumen::id, this::convertToDTO);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<RevistaDTO> findByCategoria(String categoria) {
-        return revistaRepository.findByCategoriaContainingIgnoreCase(categoria).stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+    public CursorPageDTO<RevistaDTO> findByPeriodicidad(String periodicidad, String cursor, Integer size) {
+        int limit = CursorPagination.size(size);
+        List<RevistaResumen> rows = revistaRepository.findByPeriodicidadContainingIgnoreCaseAndIdGreaterThan(periodicidad,
+                CursorPagination.afterId(cursor), CursorPagination.seek(limit));
+        return CursorPagination.toPage(rows, limit, RevistaResumen::id, this::convertToDTO);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<RevistaDTO> findByPeriodicidad(String periodicidad) {
-        return revistaRepository.findByPeriodicidadContainingIgnoreCase(periodicidad).stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+    public CursorPageDTO<RevistaDTO> findByEditorial(String editorial, String cursor, Integer size) {
+        int limit = CursorPagination.size(size);
+        List<RevistaResumen> rows = revistaRepository.findByEditorialContainingIgnoreCaseAndIdGreaterThan(editorial,
+                CursorPagination.afterId(cursor), CursorPagination.seek(limit));
+        return CursorPagination.toPage(rows, limit, RevistaResumen::id, this::convertToDTO);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<RevistaDTO> findByEditorial(String editorial) {
-        return revistaRepository.findByEditorialContainingIgnoreCase(editorial).stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+    public CursorPageDTO<RevistaDTO> findByAutor(String autor, String cursor, Integer size) {
+        int limit = CursorPagination.size(size);
+        List<RevistaResumen> rows = revistaRepository.findByAutorContainingIgnoreCaseAndIdGreaterThan(autor,
+                CursorPagination.afterId(cursor), CursorPagination.seek(limit));
+        return CursorPagination.toPage(rows, limit, RevistaResumen::id, this::convertToDTO);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<RevistaDTO> findByAutor(String autor) {
-        return revistaRepository.findByAutorContainingIgnoreCase(autor).stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+    public CursorPageDTO<RevistaDTO> filtrar(RevistaFiltroDTO filtro, String orden, String cursor, Integer size) {
+        return ConsultaFiltrada.pagina(entityManager, Revista.class, RevistaResumen.class,
+                CatalogoSpecifications.revistas(filtro), orden, cursor, size, RevistaResumen::id, this::convertToDTO);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public FacetasDTO<RevistaDTO> facetas(RevistaFiltroDTO filtro, String orden, String cursor, Integer size) {
+        CursorPageDTO<RevistaDTO> resultados = filtrar(filtro, orden, cursor, size);
+        Map<String, List<FacetaValorDTO>> facetas = ConteoFacetas.contar(entityManager, Revista.class,
+                CatalogoSpecifications.revistas(filtro), FACETAS, filtro.equals(new RevistaFiltroDTO()));
+        return new FacetasDTO<>(resultados, facetas);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void export(FormatoExportacion formato, OutputStream out) throws IOException {
+        // Recorrer la tabla entera no debe desplazar de la cache de segundo nivel a las entidades consultadas
+        entityManager.unwrap(Session.class).setCacheMode(CacheMode.IGNORE);
+        try (Stream<Revista> rows = revistaRepository.streamAll()) {
+            CatalogoExporter.write(rows, this::convertToDTO, RevistaDTO.class, formato, out, objectMapper, entityManager);
+        }
+    }
+
+    private RuntimeException sinCambios(Long id, String conflicto) {
+        if (!revistaRepository.existsById(id)) {
+            return new ResourceNotFoundException("Revista no encontrada con ID: " + id);
+        }
+        return new ResourceConflictException(conflicto + id);
+    }
+
+    // Los UPDATE sin la entidad no pasan por la cache de segundo nivel; se lee la fila
+    private RevistaDTO leer(Long id) {
+        return Optional.ofNullable(entityManager.find(Revista.class, id, SIN_CACHE)).map(this::convertToDTO)
+                .orElseThrow(() -> new ResourceNotFoundException("Revista no encontrada con ID: " + id));
     }
 
     private RevistaDTO convertToDTO(Revista revista) {
-        RevistaDTO dto = new RevistaDTO();
-        BeanUtils.copyProperties(revista, dto);
-        return dto;
+        return revistaMapper.toDTO(revista);
+    }
+
+    private RevistaDTO convertToDTO(RevistaResumen resumen) {
+        return revistaMapper.toDTO(resumen);
     }
 
     private Revista convertToEntity(RevistaDTO dto) {
-        Revista revista = new Revista();
-        BeanUtils.copyProperties(dto, revista);
-        return revista;
+        return revistaMapper.toEntity(dto);
     }
 }
\ No newline at end of file
@@ -0,0 +1,93 @@
+package com.biblioteca.service.impl;
+
+import com.biblioteca.model.ElementoBiblioteca;
+import com.biblioteca.model.ElementoBiblioteca.TipoElemento;
+import jakarta.persistence.EntityManager;
+import org.hibernate.HibernateException;
+import org.hibernate.action.spi.AfterTransactionCompletionProcess;
+import org.hibernate.cache.spi.TimestampsCache;
+import org.hibernate.cache.spi.access.EntityDataAccess;
+import org.hibernate.cache.spi.access.SoftLock;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.dao.DataAccessException;
+import org.springframework.orm.jpa.vendor.HibernateJpaDialect;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+/**
+ * UPDATE o DELETE de un solo elemento por JDBC, respetando la cache de segundo
+ * nivel como lo haría Hibernate al escribir la entidad.
+ *
+ * <p>No son sentencias de JPQL ni de criteria porque Hibernate, tras una
+ * sentencia masiva, vacía la región entera de la cache de segundo nivel, que
+ * comparten libros, revistas y DVDs: cada préstamo, PATCH o baja dejaba sin cache
+ * todo el catálogo. Aquí se bloquea solo la entrada del elemento (hasta el commit
+ * nadie la vuelve a cargar en la cache) y se invalidan las consultas cacheadas
+ * sobre la tabla.
+ */
+final class SentenciaElemento {
+
+    static final String TABLA = "elementos_biblioteca";
+
+    private static final String ELIMINAR = "DELETE FROM " + TABLA + " WHERE id = ? AND tipo = ?";
+
+    // Traduce las excepciones de Hibernate como los repositorios: un ISBN duplicado da 409
+    private static final HibernateJpaDialect TRADUCTOR = new HibernateJpaDialect();
+
+    /** Asigna los parámetros de la sentencia; la sesión sirve para los tipos de Hibernate. */
+    @FunctionalInterface
+    interface Parametros {
+        void asignar(PreparedStatement sentencia, SessionImplementor session) throws SQLException;
+    }
+
+    private SentenciaElemento() {}
+
+    /** Filas borradas: 0 si no existe o es de otro tipo. */
+    static int eliminar(EntityManager entityManager, Class<? extends ElementoBiblioteca> entidad,
+                        TipoElemento tipo, Long id) {
+        return ejecutar(entityManager, entidad, id, ELIMINAR, (sentencia, session) -> {
+            sentencia.setLong(1, id);
+            sentencia.setString(2, tipo.name());
+        });
+    }
+
+    /** Ejecuta {@code sql}, que solo puede cambiar la fila {@code id}, y devuelve las filas afectadas. */
+    static int ejecutar(EntityManager entityManager, Class<? extends ElementoBiblioteca> entidad, Long id,
+                        String sql, Parametros parametros) {
+        SessionImplementor session = entityManager.unwrap(SessionImplementor.class);
+        SessionFactoryImplementor factory = session.getFactory();
+        EntityPersister persister = factory.getMappingMetamodel().getEntityDescriptor(entidad);
+        String[] tablas = persister.getPropertySpaces();
+        TimestampsCache consultas = factory.getCache().getTimestampsCache();
+
+        // Lo mismo que un UPDATE de la entidad: bloqueo de su entrada e invalidación de las
+        // consultas antes de la sentencia, y liberación al terminar la transacción
+        EntityDataAccess cache = persister.canWriteToCache() ? persister.getCacheAccessStrategy() : null;
+        Object clave = cache != null
+                ? cache.generateCacheKey(id, persister, factory, session.getTenantIdentifier())
+                : null;
+        SoftLock bloqueo = cache != null ? cache.lockItem(session, clave, null) : null;
+        consultas.preInvalidate(tablas, session);
+        session.getActionQueue().registerProcess((AfterTransactionCompletionProcess) (exito, sesion) -> {
+            if (cache != null) {
+                cache.unlockItem(sesion, clave, bloqueo);
+            }
+            consultas.invalidate(tablas, sesion);
+        });
+
+        try {
+            return session.doReturningWork(conexion -> {
+                try (PreparedStatement sentencia = conexion.prepareStatement(sql)) {
+                    parametros.asignar(sentencia, session);
+                    return sentencia.executeUpdate();
+                }
+            });
+        } catch (HibernateException e) {
+            DataAccessException traducida = TRADUCTOR.translateExceptionIfPossible(e);
+            throw traducida != null ? traducida : e;
+        }
+    }
+}
@@ -0,0 +1,74 @@
+-- Esquema original, tal como lo dejaba spring.jpa.hibernate.ddl-auto=update con
+-- ids IDENTITY. Las bases de datos existentes se marcan en esta versión
+-- (baseline-on-migrate) y solo reciben las migraciones siguientes, así que aquí no
+-- puede aparecer nada que esas bases de datos no tengan: las tablas *_seq e
+-- importaciones se crean en V2. MigracionesTest aplica las migraciones sobre una
+-- base con ese esquema (src/test/resources/db/esquema-original.sql).
+
+create table libros (
+    id bigint not null auto_increment,
+    titulo varchar(255) not null,
+    autor varchar(255) not null,
+    ano_publicacion integer,
+    isbn varchar(255),
+    numero_paginas integer,
+    genero varchar(255),
+    editorial varchar(255),
+    idioma varchar(255),
+    precio float(53),
+    stock integer,
+    descripcion TEXT,
+    disponible bit not null,
+    fecha_creacion datetime(6),
+    fecha_actualizacion datetime(6),
+    primary key (id)
+) engine=InnoDB;
+
+create table revistas (
+    id bigint not null auto_increment,
+    titulo varchar(255) not null,
+    autor varchar(255),
+    ano_publicacion integer,
+    numero_edicion integer,
+    categoria varchar(255),
+    periodicidad varchar(255),
+    issn varchar(255),
+    precio float(53),
+    numero_paginas integer,
+    editorial varchar(255),
+    descripcion TEXT,
+    disponible bit not null,
+    fecha_creacion datetime(6),
+    fecha_actualizacion datetime(6),
+    primary key (id)
+) engine=InnoDB;
+
+create table dvds (
+    id bigint not null auto_increment,
+    titulo varchar(255) not null,
+    director varchar(255) not null,
+    ano_lanzamiento integer,
+    genero varchar(255),
+    duracion integer,
+    clasificacion varchar(255),
+    actores TEXT,
+    sinopsis TEXT,
+    precio float(53),
+    disponible bit not null,
+    fecha_creacion datetime(6),
+    fecha_actualizacion datetime(6),
+    primary key (id)
+) engine=InnoDB;
+
+create table elementos_biblioteca (
+    id bigint not null auto_increment,
+    tipo varchar(31) not null,
+    titulo varchar(200) not null,
+    autor varchar(150) not null,
+    ano_publicacion integer not null,
+    descripcion varchar(500),
+    disponible bit,
+    fecha_creacion datetime(6),
+    fecha_actualizacion datetime(6),
+    primary key (id)
+) engine=InnoDB;
@@ -0,0 +1,52 @@
+-- Tablas que no existían en el esquema original (V1). Las bases de datos que ya
+-- pasaron por ddl-auto=update después de los cambios de ids o de las importaciones
+-- las tienen, así que se crean solo si faltan.
+
+-- MySQL no tiene secuencias: Hibernate las emula con una tabla de una fila
+create table if not exists libros_seq (
+    next_val bigint
+) engine=InnoDB;
+
+create table if not exists revistas_seq (
+    next_val bigint
+) engine=InnoDB;
+
+create table if not exists dvds_seq (
+    next_val bigint
+) engine=InnoDB;
+
+insert into libros_seq select 1 from dual where not exists (select * from libros_seq);
+insert into revistas_seq select 1 from dual where not exists (select * from revistas_seq);
+insert into dvds_seq select 1 from dual where not exists (select * from dvds_seq);
+
+-- Las tablas antiguas se crearon con ids AUTO_INCREMENT y las *_seq empiezan en 1.
+-- El optimizador pooled (allocationSize = 50) reparte hasta 49 ids por debajo del
+-- valor leído, así que cada secuencia se coloca por encima de MAX(id) + 50.
+-- No hace nada si la secuencia ya va por delante.
+
+update libros_seq set next_val = (select coalesce(max(id), 0) + 51 from libros)
+where next_val <= (select coalesce(max(id), 0) + 50 from libros);
+
+update revistas_seq set next_val = (select coalesce(max(id), 0) + 51 from revistas)
+where next_val <= (select coalesce(max(id), 0) + 50 from revistas);
+
+update dvds_seq set next_val = (select coalesce(max(id), 0) + 51 from dvds)
+where next_val <= (select coalesce(max(id), 0) + 50 from dvds);
+
+create table if not exists importaciones (
+    id varchar(36) not null,
+    tipo enum ('DVD','LIBRO','REVISTA') not null,
+    estado enum ('COMPLETADA','EN_CURSO','FALLIDA','PENDIENTE') not null,
+    formato varchar(10) not null,
+    nombre_archivo varchar(255),
+    ruta_archivo varchar(500) not null,
+    procesados bigint,
+    creados bigint,
+    duplicados bigint,
+    invalidos bigint,
+    ultimo_error varchar(1000),
+    fecha_creacion datetime(6),
+    fecha_actualizacion datetime(6),
+    fecha_fin datetime(6),
+    primary key (id)
+) engine=InnoDB;
@@ -0,0 +1,22 @@
+-- Índices para los filtros de los repositorios, que hasta ahora recorrían la tabla entera.
+-- IndicesConsultasTest comprueba con EXPLAIN que cada consulta los usa.
+
+-- ISBN único: findByIsbn y la deduplicación de importaciones.
+-- Los ISBN vacíos pasan a NULL para no chocar entre sí; si quedan ISBN repetidos
+-- la migración falla y hay que depurarlos antes de volver a arrancar. Las bases de
+-- datos que pasaron por ddl-auto tienen además idx_libros_isbn, que desaparece con
+-- la tabla en V4.
+update libros set isbn = null where isbn = '';
+create unique index uk_libros_isbn on libros (isbn);
+
+-- Listados por disponibilidad (WHERE disponible = ? AND id > ? ORDER BY id) y los
+-- conteos del dashboard: el id va en el índice para que el cursor sea un rango
+create index idx_libros_disponible_id on libros (disponible, id);
+create index idx_revistas_disponible_id on revistas (disponible, id);
+create index idx_dvds_disponible_id on dvds (disponible, id);
+
+-- findByPrecioBetween y findByPrecioMenorIgual
+create index idx_dvds_precio on dvds (precio);
+
+-- findByAnoLanzamiento y findByAnoLanzamientoBetween
+create index idx_dvds_ano_lanzamiento on dvds (ano_lanzamiento);
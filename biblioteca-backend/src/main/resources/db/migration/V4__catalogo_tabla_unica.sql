@@ -0,0 +1,102 @@
+-- Libros, revistas y DVDs pasan a la tabla elementos_biblioteca (herencia SINGLE_TABLE
+-- de ElementoBiblioteca, con la columna tipo como discriminador). HerenciaBenchmark
+-- compara la latencia de lectura de esta estrategia con la de JOINED.
+--
+-- Los ids de las tres tablas se solapaban y ahora salen de una sola secuencia: los
+-- libros conservan su id, las revistas se desplazan por encima del mayor id de libro
+-- y los DVDs por encima de ambos.
+
+-- La tabla anterior nunca tuvo filas: ElementoBiblioteca era abstracta y sin subclases
+drop table elementos_biblioteca;
+
+create table elementos_biblioteca (
+    id bigint not null,
+    tipo varchar(31) not null,
+    -- Comunes; en los DVDs autor es el director y ano_publicacion el año de lanzamiento
+    titulo varchar(255) not null,
+    autor varchar(255),
+    ano_publicacion integer,
+    precio float(53),
+    disponible bit not null,
+    fecha_creacion datetime(6),
+    fecha_actualizacion datetime(6),
+    -- Libros y revistas
+    numero_paginas integer,
+    editorial varchar(255),
+    descripcion TEXT,
+    -- Libros y DVDs
+    genero varchar(255),
+    -- Libros
+    isbn varchar(255),
+    idioma varchar(255),
+    stock integer,
+    -- Revistas
+    numero_edicion integer,
+    categoria varchar(255),
+    periodicidad varchar(255),
+    issn varchar(255),
+    -- DVDs
+    duracion integer,
+    clasificacion varchar(255),
+    actores TEXT,
+    sinopsis TEXT,
+    primary key (id)
+) engine=InnoDB;
+
+insert into elementos_biblioteca (id, tipo, titulo, autor, ano_publicacion, precio, disponible,
+                                  fecha_creacion, fecha_actualizacion, numero_paginas, editorial,
+                                  descripcion, genero, isbn, idioma, stock)
+select id, 'LIBRO', titulo, autor, ano_publicacion, precio, disponible,
+       fecha_creacion, fecha_actualizacion, numero_paginas, editorial,
+       descripcion, genero, isbn, idioma, stock
+from libros;
+
+insert into elementos_biblioteca (id, tipo, titulo, autor, ano_publicacion, precio, disponible,
+                                  fecha_creacion, fecha_actualizacion, numero_paginas, editorial,
+                                  descripcion, numero_edicion, categoria, periodicidad, issn)
+select id + (select coalesce(max(id), 0) from libros), 'REVISTA', titulo, autor, ano_publicacion, precio,
+       disponible, fecha_creacion, fecha_actualizacion, numero_paginas, editorial,
+       descripcion, numero_edicion, categoria, periodicidad, issn
+from revistas;
+
+insert into elementos_biblioteca (id, tipo, titulo, autor, ano_publicacion, precio, disponible,
+                                  fecha_creacion, fecha_actualizacion, genero, duracion, clasificacion,
+                                  actores, sinopsis)
+select id + (select coalesce(max(id), 0) from libros) + (select coalesce(max(id), 0) from revistas), 'DVD',
+       titulo, director, ano_lanzamiento, precio, disponible, fecha_creacion, fecha_actualizacion,
+       genero, duracion, clasificacion, actores, sinopsis
+from dvds;
+
+-- Secuencia compartida, por encima de MAX(id) + 50 como en V2
+create table elementos_seq (
+    next_val bigint
+) engine=InnoDB;
+
+insert into elementos_seq select coalesce(max(id), 0) + 51 from elementos_biblioteca;
+
+drop table libros;
+drop table revistas;
+drop table dvds;
+drop table libros_seq;
+drop table revistas_seq;
+drop table dvds_seq;
+
+-- Los índices se crean después de la carga. IndicesConsultasTest comprueba que se usan.
+
+-- Listados de un tipo por disponibilidad (WHERE tipo = ? AND disponible = ? AND id > ?)
+-- y conteos del dashboard, que se resuelven solo con el índice
+create index idx_elementos_tipo_disponible_id on elementos_biblioteca (tipo, disponible, id);
+
+-- Listados de todo el catálogo por disponibilidad
+create index idx_elementos_disponible_id on elementos_biblioteca (disponible, id);
+
+-- Filtro común del catálogo, ordenado por título
+create index idx_elementos_titulo on elementos_biblioteca (titulo);
+
+-- Rangos de precio y de año de un tipo (findByPrecioBetween, findByAnoLanzamiento...)
+create index idx_elementos_tipo_precio on elementos_biblioteca (tipo, precio);
+create index idx_elementos_tipo_ano on elementos_biblioteca (tipo, ano_publicacion);
+
+-- Revistas y DVDs dejan el ISBN a NULL, que no choca con el índice único
+create unique index uk_elementos_isbn on elementos_biblioteca (isbn);
+create index idx_elementos_issn on elementos_biblioteca (issn);
@@ -0,0 +1,3 @@
+-- Versión de los listados para las peticiones condicionales (ETag):
+-- COUNT(*) y MAX(fecha_actualizacion) de un tipo se resuelven solo con el índice
+create index idx_elementos_tipo_fecha on elementos_biblioteca (tipo, fecha_actualizacion);
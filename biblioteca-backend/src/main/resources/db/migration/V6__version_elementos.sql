@@ -0,0 +1,4 @@
+-- Bloqueo optimista: Hibernate incrementa version en cada UPDATE y la incluye en el WHERE,
+-- así que de dos ediciones concurrentes la segunda falla en lugar de pisar a la primera.
+-- Es también el ETag de cada elemento (If-Match en PUT).
+alter table elementos_biblioteca add column version bigint not null default 0;
@@ -0,0 +1,4 @@
+-- Ejemplares de cada libro que están prestados. La devolución exige que haya alguno:
+-- sin esta cuenta, devolver un libro con stock lo incrementaba aunque no se hubiera
+-- prestado. Los préstamos anteriores a la columna no se conocen y empiezan en 0.
+alter table elementos_biblioteca add column prestados integer not null default 0;
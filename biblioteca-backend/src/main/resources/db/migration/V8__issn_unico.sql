@@ -0,0 +1,9 @@
+-- ISSN único, como el ISBN (V3 y V4). La deduplicación de las importaciones era una
+-- consulta por tramo, y dos importaciones a la vez (o una importación y /batch)
+-- podían insertar el mismo ISSN; ahora lo impide la base de datos, y la violación
+-- del índice cuenta como duplicado. Los ISSN vacíos pasan a NULL para no chocar
+-- entre sí; si quedan ISSN repetidos la migración falla y hay que depurarlos antes
+-- de volver a arrancar.
+update elementos_biblioteca set issn = null where issn = '';
+drop index idx_elementos_issn on elementos_biblioteca;
+create unique index uk_elementos_issn on elementos_biblioteca (issn);
@@ -0,0 +1,166 @@
+package com.biblioteca.config;
+
+import com.biblioteca.dto.LibroDTO;
+import com.biblioteca.model.Libro;
+import com.biblioteca.service.LibroService;
+import jakarta.persistence.EntityManagerFactory;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Primaria y réplica son dos bases H2 independientes, sin replicación entre
+ * ellas: lo que devuelve una lectura indica a cuál ha ido. La réplica informa de
+ * su retraso con una tabla que el test modifica.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:replicas_primaria;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.show-sql=false",
+        "spring.sql.init.mode=never",
+        "logging.level.com.biblioteca=INFO",
+        "logging.level.org.springframework.web=INFO",
+        "biblioteca.replicas.enabled=true",
+        "biblioteca.replicas.urls=" + ReplicasDataSourceTest.URL_REPLICA,
+        "biblioteca.replicas.lag-query=SELECT segundos FROM retraso_replica",
+        "biblioteca.replicas.lag-column=segundos",
+        "biblioteca.replicas.max-lag-seconds=5",
+        "biblioteca.replicas.lag-check-interval-ms=600000"
+})
+class ReplicasDataSourceTest {
+
+    static final String URL_REPLICA = "jdbc:h2:mem:replicas_replica;MODE=MySQL;DB_CLOSE_DELAY=-1";
+
+    @Autowired
+    private LibroService libroService;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private ReplicasDataSource replicas;
+
+    @BeforeEach
+    void prepararReplica() throws SQLException {
+        // SpringBootTest deja una petición simulada en el hilo; sin ella, nada es sticky
+        RequestContextHolder.resetRequestAttributes();
+        Flyway.configure().dataSource(URL_REPLICA, "sa", "").locations("classpath:db/migration").load().migrate();
+        ejecutarEnReplica("create table if not exists retraso_replica (segundos bigint)");
+        ejecutarEnReplica("delete from retraso_replica");
+        ejecutarEnReplica("insert into retraso_replica values (0)");
+        replicas = dataSource.unwrap(ReplicasDataSource.class);
+        replicas.comprobarRetraso();
+    }
+
+    @AfterEach
+    void limpiarPeticion() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void lasLecturasVanALaReplicaYLasEscriturasALaPrimaria() throws SQLException {
+        Long id = libroService.save(libro("En la primaria")).getId();
+
+        // La réplica aún no tiene el libro
+        assertThat(leer(id)).isEmpty();
+
+        copiarEnReplica(id, "En la réplica");
+        assertThat(leer(id)).map(LibroDTO::getTitulo).contains("En la réplica");
+    }
+
+    @Test
+    void unaReplicaConRetrasoSeSaltaHastaQueSeRecupera() throws SQLException {
+        Long id = libroService.save(libro("En la primaria")).getId();
+        copiarEnReplica(id, "En la réplica");
+
+        ejecutarEnReplica("update retraso_replica set segundos = 60");
+        replicas.comprobarRetraso();
+        assertThat(leer(id)).map(LibroDTO::getTitulo).contains("En la primaria");
+
+        ejecutarEnReplica("update retraso_replica set segundos = 1");
+        replicas.comprobarRetraso();
+        assertThat(leer(id)).map(LibroDTO::getTitulo).contains("En la réplica");
+    }
+
+    @Test
+    void trasEscribirLaPeticionLeeDeLaPrimaria() throws SQLException {
+        Long id = libroService.save(libro("En la primaria")).getId();
+        copiarEnReplica(id, "En la réplica");
+
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        assertThat(leer(id)).map(LibroDTO::getTitulo).contains("En la réplica");
+
+        LibroDTO cambio = libro("Actualizado");
+        libroService.update(id, cambio);
+        assertThat(leer(id)).map(LibroDTO::getTitulo).contains("Actualizado");
+
+        // Otra petición vuelve a leer de la réplica
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+        assertThat(leer(id)).map(LibroDTO::getTitulo).contains("En la réplica");
+    }
+
+    @Test
+    void loLeidoDeUnaReplicaRetrasadaNoEntraEnLaCache() throws SQLException {
+        LibroDTO nuevo = libro("En la primaria");
+        nuevo.setIsbn("978-84-0000-001-1");
+        Long id = libroService.save(nuevo).getId();
+        copiarEnReplica(id, "En la réplica");
+        // Como tras un UPDATE masivo: la región está vacía y la réplica aún no tiene el cambio
+        entityManagerFactory.getCache().evictAll();
+
+        assertThat(libroService.findById(id)).map(LibroDTO::getTitulo).contains("En la réplica");
+        assertThat(libroService.findByIsbn("978-84-0000-001-1")).isEmpty();
+        assertThat(entityManagerFactory.getCache().contains(Libro.class, id)).isFalse();
+
+        // Sin réplica, sin vaciar la cache: se lee lo que hay en la primaria
+        ejecutarEnReplica("update retraso_replica set segundos = 60");
+        replicas.comprobarRetraso();
+        assertThat(libroService.findById(id)).map(LibroDTO::getTitulo).contains("En la primaria");
+        assertThat(libroService.findByIsbn("978-84-0000-001-1")).map(LibroDTO::getId).contains(id);
+    }
+
+    // Sin la caché de segundo nivel, para que la lectura llegue a la base de datos
+    private Optional<LibroDTO> leer(Long id) {
+        entityManagerFactory.getCache().evictAll();
+        return libroService.findById(id);
+    }
+
+    private static LibroDTO libro(String titulo) {
+        LibroDTO dto = new LibroDTO();
+        dto.setTitulo(titulo);
+        dto.setAutor("Autor");
+        dto.setStock(1);
+        return dto;
+    }
+
+    private static void copiarEnReplica(Long id, String titulo) throws SQLException {
+        ejecutarEnReplica("insert into elementos_biblioteca (id, tipo, titulo, autor, disponible, stock, version)"
+                + " values (" + id + ", 'LIBRO', '" + titulo + "', 'Autor', true, 1, 0)");
+    }
+
+    private static void ejecutarEnReplica(String sql) throws SQLException {
+        try (Connection conexion = DriverManager.getConnection(URL_REPLICA, "sa", "");
+             Statement sentencia = conexion.createStatement()) {
+            sentencia.execute(sql);
+        }
+    }
+}
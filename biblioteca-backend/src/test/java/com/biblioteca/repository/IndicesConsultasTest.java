@@ -0,0 +1,156 @@
+package com.biblioteca.repository;
+
+import com.biblioteca.model.ElementoBiblioteca.TipoElemento;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Aplica las migraciones de Flyway sobre H2 (modo MySQL), ejecuta cada consulta
+ * de los repositorios que usan los servicios y pide el plan con EXPLAIN del SQL
+ * que genera Hibernate, para que un índice que falte o deje de usarse haga
+ * fallar la build.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:indices;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.show-sql=false",
+        "spring.sql.init.mode=never"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class IndicesConsultasTest {
+
+    private static final PageRequest PAGINA = PageRequest.of(0, 20, Sort.by("id"));
+
+    @Autowired
+    private LibroRepository libroRepository;
+
+    @Autowired
+    private RevistaRepository revistaRepository;
+
+    @Autowired
+    private DVDRepository dvdRepository;
+
+    @Autowired
+    private ElementoBibliotecaRepository elementoBibliotecaRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CapturaSql capturaSql;
+
+    @BeforeEach
+    void limpiar() {
+        capturaSql.sentencias.clear();
+    }
+
+    @Test
+    void libros() {
+        assertUsaIndice(() -> libroRepository.findByIsbn("978-84-376-0494-7"), "uk_elementos_isbn");
+        assertUsaIndice(() -> libroRepository.findIsbnExistentes(List.of("1", "2")), "uk_elementos_isbn");
+        assertUsaIndice(() -> libroRepository.findByDisponibleAndIdGreaterThan(true, 0L, PAGINA),
+                "idx_elementos_tipo_disponible_id");
+    }
+
+    @Test
+    void revistas() {
+        assertUsaIndice(() -> revistaRepository.findIssnExistentes(List.of("1", "2")), "uk_elementos_issn");
+        assertUsaIndice(() -> revistaRepository.findByDisponibleAndIdGreaterThan(true, 0L, PAGINA),
+                "idx_elementos_tipo_disponible_id");
+    }
+
+    @Test
+    void dvds() {
+        assertUsaIndice(() -> dvdRepository.findByDisponibleAndIdGreaterThan(true, 0L, PAGINA),
+                "idx_elementos_tipo_disponible_id");
+        assertUsaIndice(() -> dvdRepository.countDisponibles(), "idx_elementos_tipo_disponible_id");
+        assertUsaIndice(() -> dvdRepository.findByPrecioBetween(5.0, 20.0), "idx_elementos_tipo_precio");
+        assertUsaIndice(() -> dvdRepository.findByPrecioMenorIgual(20.0), "idx_elementos_tipo_precio");
+        assertUsaIndice(() -> dvdRepository.findByAnoPublicacion(1999), "idx_elementos_tipo_ano");
+        assertUsaIndice(() -> dvdRepository.findByAnoPublicacionBetween(1990, 2000), "idx_elementos_tipo_ano");
+    }
+
+    @Test
+    void catalogo() {
+        assertUsaIndice(() -> elementoBibliotecaRepository.countByDisponibleTrue(), "idx_elementos_disponible_id");
+        assertUsaIndice(() -> elementoBibliotecaRepository.obtenerResumenCatalogo(),
+                "idx_elementos_tipo_disponible_id");
+        assertUsaIndice(() -> elementoBibliotecaRepository.findVersion(List.of(TipoElemento.LIBRO)),
+                "idx_elementos_tipo_fecha");
+    }
+
+    private void assertUsaIndice(Runnable consulta, String indice) {
+        capturaSql.sentencias.clear();
+        consulta.run();
+        assertThat(capturaSql.sentencias).as("SQL ejecutado").isNotEmpty();
+
+        String sql = capturaSql.sentencias.get(capturaSql.sentencias.size() - 1);
+        String plan = explain(sql).toLowerCase(Locale.ROOT);
+        assertThat(plan).as("Plan de %s", sql)
+                .contains(indice)
+                .doesNotContain("tablescan");
+    }
+
+    // Los parámetros no influyen en el plan de H2: se pasan a NULL
+    private String explain(String sql) {
+        return jdbcTemplate.execute((ConnectionCallback<String>) con -> {
+            try (PreparedStatement ps = con.prepareStatement("EXPLAIN " + sql)) {
+                int parametros = ps.getParameterMetaData().getParameterCount();
+                for (int i = 1; i <= parametros; i++) {
+                    ps.setObject(i, null);
+                }
+                try (ResultSet rs = ps.executeQuery()) {
+                    rs.next();
+                    return rs.getString(1);
+                }
+            }
+        });
+    }
+
+    static class CapturaSql implements StatementInspector {
+
+        final List<String> sentencias = new ArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            sentencias.add(sql);
+            return sql;
+        }
+    }
+
+    @TestConfiguration
+    static class Config {
+
+        @Bean
+        CapturaSql capturaSql() {
+            return new CapturaSql();
+        }
+
+        @Bean
+        HibernatePropertiesCustomizer inspectorSql(CapturaSql capturaSql) {
+            return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, capturaSql);
+        }
+    }
+}
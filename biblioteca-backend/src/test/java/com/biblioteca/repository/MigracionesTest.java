@@ -0,0 +1,98 @@
+package com.biblioteca.repository;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Las bases de datos de producción no las creó Flyway: tienen el esquema original
+ * (db/esquema-original.sql: ids AUTO_INCREMENT, sin tablas *_seq ni importaciones)
+ * y se marcan como V1 con baseline-on-migrate. Aquí se reproduce ese arranque, y
+ * el de una base que ya pasó por ddl-auto con las tablas nuevas, y se comprueba
+ * que el resto de migraciones se aplica y conserva los datos.
+ */
+class MigracionesTest {
+
+    @Test
+    void migraUnaBaseConElEsquemaOriginal() {
+        JdbcTemplate jdbc = esquemaOriginal("migraciones_original");
+        insertarCatalogo(jdbc);
+
+        migrar(jdbc.getDataSource());
+
+        comprobarCatalogo(jdbc);
+        assertThat(jdbc.queryForObject("select count(*) from importaciones", Integer.class)).isZero();
+    }
+
+    @Test
+    void migraUnaBaseQueYaTieneLasTablasNuevas() {
+        JdbcTemplate jdbc = esquemaOriginal("migraciones_ddl_auto");
+        insertarCatalogo(jdbc);
+        // Lo que añadía ddl-auto=update con los ids por secuencia y las importaciones
+        jdbc.execute("create table libros_seq (next_val bigint)");
+        jdbc.execute("insert into libros_seq values (1000)");
+        jdbc.execute("create index idx_libros_isbn on libros (isbn)");
+        jdbc.execute("create table importaciones (id varchar(36) not null, tipo varchar(31) not null,"
+                + " estado varchar(31) not null, formato varchar(10) not null, nombre_archivo varchar(255),"
+                + " ruta_archivo varchar(500) not null, procesados bigint, creados bigint, duplicados bigint,"
+                + " invalidos bigint, ultimo_error varchar(1000), fecha_creacion datetime(6),"
+                + " fecha_actualizacion datetime(6), fecha_fin datetime(6), primary key (id))");
+        jdbc.update("insert into importaciones (id, tipo, estado, formato, ruta_archivo)"
+                + " values ('a', 'LIBRO', 'COMPLETADA', 'csv', '/tmp/a.csv')");
+
+        migrar(jdbc.getDataSource());
+
+        comprobarCatalogo(jdbc);
+        assertThat(jdbc.queryForObject("select count(*) from importaciones", Integer.class)).isEqualTo(1);
+    }
+
+    private static JdbcTemplate esquemaOriginal(String nombre) {
+        DataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + nombre + ";MODE=MySQL;DB_CLOSE_DELAY=-1", "sa", "");
+        new ResourceDatabasePopulator(new ClassPathResource("db/esquema-original.sql"))
+                .execute(dataSource);
+        return new JdbcTemplate(dataSource);
+    }
+
+    // Ids AUTO_INCREMENT que se solapan entre las tres tablas
+    private static void insertarCatalogo(JdbcTemplate jdbc) {
+        jdbc.update("insert into libros (titulo, autor, isbn, stock, disponible) values ('L1', 'A', '', 2, true)");
+        jdbc.update("insert into libros (titulo, autor, isbn, stock, disponible) values ('L2', 'A', '978-2', 0, false)");
+        jdbc.update("insert into revistas (titulo, issn, disponible) values ('R1', '1234-5678', true)");
+        jdbc.update("insert into dvds (titulo, director, disponible) values ('D1', 'B', true)");
+    }
+
+    private static void migrar(DataSource dataSource) {
+        Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:db/migration")
+                .baselineOnMigrate(true)
+                .baselineVersion("1")
+                .load()
+                .migrate();
+    }
+
+    private static void comprobarCatalogo(JdbcTemplate jdbc) {
+        List<Map<String, Object>> filas = jdbc.queryForList(
+                "select id, tipo, titulo, isbn, version from elementos_biblioteca order by id");
+        assertThat(filas).extracting(fila -> fila.get("TIPO") + ":" + fila.get("TITULO"))
+                .containsExactly("LIBRO:L1", "LIBRO:L2", "REVISTA:R1", "DVD:D1");
+        assertThat(filas).extracting(fila -> ((Number) fila.get("ID")).longValue())
+                .containsExactly(1L, 2L, 3L, 4L);
+        assertThat(filas.get(0).get("ISBN")).isNull();
+        assertThat(filas).allSatisfy(fila -> assertThat(((Number) fila.get("VERSION")).longValue()).isZero());
+
+        // La secuencia compartida empieza por encima de los ids migrados
+        Long siguiente = jdbc.queryForObject("select next_val from elementos_seq", Long.class);
+        assertThat(siguiente).isGreaterThan(4L + 50);
+    }
+}
@@ -0,0 +1,224 @@
+package com.biblioteca.service;
+
+import com.biblioteca.dto.DVDDTO;
+import com.biblioteca.dto.LibroDTO;
+import com.biblioteca.exception.PreconditionFailedException;
+import com.biblioteca.exception.ResourceConflictException;
+import com.biblioteca.exception.ResourceNotFoundException;
+import com.biblioteca.model.DVD;
+import com.biblioteca.model.Libro;
+import com.biblioteca.repository.DVDRepository;
+import com.biblioteca.repository.LibroRepository;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Muchos préstamos simultáneos del mismo título: cada uno es una sentencia
+ * condicional, así que el número de préstamos con éxito tiene que coincidir
+ * exactamente con los ejemplares, sin actualizaciones perdidas ni errores de
+ * bloqueo, y el stock nunca baja de cero.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:prestamos;MODE=MySQL;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.show-sql=false",
+        "spring.sql.init.mode=never",
+        "logging.level.com.biblioteca=INFO",
+        "logging.level.org.springframework.web=INFO"
+})
+class PrestamosConcurrenciaTest {
+
+    private static final int HILOS = 16;
+    private static final int INTENTOS_POR_HILO = 125;
+    private static final int EJEMPLARES = 500;
+
+    @Autowired
+    private LibroService libroService;
+
+    @Autowired
+    private DVDService dvdService;
+
+    @Autowired
+    private LibroRepository libroRepository;
+
+    @Autowired
+    private DVDRepository dvdRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void prestamosSimultaneosDeUnTituloNoSuperanElStock() throws Exception {
+        Long id = libroRepository.save(new Libro("Título muy pedido", "Autor", 2020, null, 100,
+                "Novela", "Editorial", "es", 10.0, EJEMPLARES, null, true)).getId();
+
+        Resultado prestamos = concurrente(id, HILOS * INTENTOS_POR_HILO, libroService::prestar);
+
+        assertThat(prestamos.errores()).isZero();
+        assertThat(prestamos.exitos()).isEqualTo(EJEMPLARES);
+        assertThat(prestamos.conflictos()).isEqualTo(HILOS * INTENTOS_POR_HILO - EJEMPLARES);
+        LibroDTO agotado = libroService.findById(id).orElseThrow();
+        assertThat(agotado.getStock()).isZero();
+        assertThat(agotado.getDisponible()).isFalse();
+
+        Resultado devoluciones = concurrente(id, EJEMPLARES, libroService::devolver);
+
+        assertThat(devoluciones.errores()).isZero();
+        assertThat(devoluciones.exitos()).isEqualTo(EJEMPLARES);
+        LibroDTO repuesto = libroService.findById(id).orElseThrow();
+        assertThat(repuesto.getStock()).isEqualTo(EJEMPLARES);
+        assertThat(repuesto.getDisponible()).isTrue();
+    }
+
+    @Test
+    void unEjemplarUnicoSoloSePrestaUnaVez() throws Exception {
+        DVD dvd = new DVD();
+        dvd.setTitulo("Estreno");
+        dvd.setDisponible(true);
+        Long id = dvdRepository.save(dvd).getId();
+
+        Resultado prestamos = concurrente(id, HILOS * 4, dvdService::prestar);
+
+        assertThat(prestamos.errores()).isZero();
+        assertThat(prestamos.exitos()).isEqualTo(1);
+        DVDDTO prestado = dvdService.findById(id).orElseThrow();
+        assertThat(prestado.getDisponible()).isFalse();
+
+        assertThat(dvdService.devolver(id).getDisponible()).isTrue();
+        assertThatThrownBy(() -> dvdService.devolver(id)).isInstanceOf(ResourceConflictException.class);
+    }
+
+    @Test
+    void elementoInexistenteOdeOtroTipo() {
+        Long idLibro = libroRepository.save(new Libro("Otro", "Autor", 2020, null, 100,
+                "Novela", "Editorial", "es", 10.0, 1, null, true)).getId();
+
+        assertThatThrownBy(() -> libroService.prestar(-1L)).isInstanceOf(ResourceNotFoundException.class);
+        assertThatThrownBy(() -> dvdService.prestar(idLibro)).isInstanceOf(ResourceNotFoundException.class);
+        assertThat(libroService.findById(idLibro).orElseThrow().getStock()).isEqualTo(1);
+    }
+
+    @Test
+    void noSeDevuelveLoQueNoSeHaPrestado() {
+        Long id = libroRepository.save(new Libro("Sin prestar", "Autor", 2020, null, 100,
+                "Novela", "Editorial", "es", 10.0, 3, null, true)).getId();
+
+        assertThatThrownBy(() -> libroService.devolver(id)).isInstanceOf(ResourceConflictException.class);
+        assertThat(libroService.findById(id).orElseThrow().getStock()).isEqualTo(3);
+
+        assertThat(libroService.prestar(id).getPrestados()).isEqualTo(1);
+        LibroDTO devuelto = libroService.devolver(id);
+        assertThat(devuelto.getStock()).isEqualTo(3);
+        assertThat(devuelto.getPrestados()).isZero();
+        assertThatThrownBy(() -> libroService.devolver(id)).isInstanceOf(ResourceConflictException.class);
+    }
+
+    @Test
+    void unPrestamoSoloSacaDeLaCacheElElementoPrestado() {
+        Long prestado = libroRepository.save(new Libro("Prestado", "Autor", 2020, null, 100,
+                "Novela", "Editorial", "es", 10.0, 2, null, true)).getId();
+        Long otro = libroRepository.save(new Libro("En la estantería", "Autor", 2020, null, 100,
+                "Novela", "Editorial", "es", 10.0, 2, null, true)).getId();
+        entityManagerFactory.getCache().evictAll();
+        libroService.findById(prestado);
+        libroService.findById(otro);
+        assertThat(entityManagerFactory.getCache().contains(Libro.class, otro)).isTrue();
+
+        libroService.prestar(prestado);
+
+        assertThat(entityManagerFactory.getCache().contains(Libro.class, otro)).isTrue();
+        LibroDTO leido = libroService.findById(prestado).orElseThrow();
+        assertThat(leido.getStock()).isEqualTo(1);
+        assertThat(leido.getPrestados()).isEqualTo(1);
+    }
+
+    @Test
+    void unPatchOUnaBajaSoloSacanDeLaCacheSuElemento() {
+        Long cambiado = libroRepository.save(new Libro("Antes", "Autor", 2020, "978-84-0000-002-8", 100,
+                "Novela", "Editorial", "es", 10.0, 2, null, true)).getId();
+        Long borrado = libroRepository.save(new Libro("Descatalogado", "Autor", 2020, null, 100,
+                "Novela", "Editorial", "es", 10.0, 2, null, true)).getId();
+        Long otro = libroRepository.save(new Libro("En la estantería", "Autor", 2020, "978-84-0000-003-5", 100,
+                "Novela", "Editorial", "es", 10.0, 2, null, true)).getId();
+        entityManagerFactory.getCache().evictAll();
+        libroService.findById(cambiado);
+        libroService.findById(otro);
+
+        ObjectNode parche = JsonNodeFactory.instance.objectNode().put("titulo", "Después").put("stock", 0);
+        assertThat(libroService.patch(cambiado, parche, 0L)).contains(1L);
+        libroService.deleteById(borrado);
+
+        assertThat(entityManagerFactory.getCache().contains(Libro.class, otro)).isTrue();
+        LibroDTO leido = libroService.findById(cambiado).orElseThrow();
+        assertThat(leido.getTitulo()).isEqualTo("Después");
+        assertThat(leido.getDisponible()).isFalse();
+        assertThat(libroService.findById(borrado)).isEmpty();
+
+        // Mismos códigos de error que con las sentencias de JPQL
+        assertThatThrownBy(() -> libroService.patch(cambiado, parche, 0L))
+                .isInstanceOf(PreconditionFailedException.class);
+        ObjectNode isbnRepetido = JsonNodeFactory.instance.objectNode().put("isbn", "978-84-0000-003-5");
+        assertThatThrownBy(() -> libroService.patch(cambiado, isbnRepetido, null))
+                .isInstanceOf(DataIntegrityViolationException.class);
+        assertThatThrownBy(() -> libroService.deleteById(borrado)).isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    // Lanza las operaciones desde HILOS hilos a la vez, todas sobre el mismo elemento
+    private Resultado concurrente(Long id, int operaciones, Function<Long, ?> operacion) throws Exception {
+        AtomicInteger exitos = new AtomicInteger();
+        AtomicInteger conflictos = new AtomicInteger();
+        AtomicInteger errores = new AtomicInteger();
+        AtomicInteger pendientes = new AtomicInteger(operaciones);
+        CountDownLatch salida = new CountDownLatch(1);
+        ExecutorService hilos = Executors.newFixedThreadPool(HILOS);
+        try {
+            List<Future<?>> tareas = new ArrayList<>();
+            for (int i = 0; i < HILOS; i++) {
+                tareas.add(hilos.submit(() -> {
+                    salida.await();
+                    while (pendientes.getAndDecrement() > 0) {
+                        try {
+                            operacion.apply(id);
+                            exitos.incrementAndGet();
+                        } catch (ResourceConflictException e) {
+                            conflictos.incrementAndGet();
+                        } catch (RuntimeException e) {
+                            errores.incrementAndGet();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            salida.countDown();
+            for (Future<?> tarea : tareas) {
+                tarea.get(2, TimeUnit.MINUTES);
+            }
+        } finally {
+            hilos.shutdownNow();
+        }
+        return new Resultado(exitos.get(), conflictos.get(), errores.get());
+    }
+
+    private record Resultado(int exitos, int conflictos, int errores) {
+    }
+}
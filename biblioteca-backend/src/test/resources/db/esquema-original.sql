@@ -0,0 +1,71 @@
+-- Esquema de las bases de datos de producción antes de Flyway (ddl-auto=update con
+-- ids IDENTITY). Se mantiene aparte de V1 para que MigracionesTest detecte si V1
+-- deja de coincidir con lo que de verdad existe.
+
+create table libros (
+    id bigint not null auto_increment,
+    titulo varchar(255) not null,
+    autor varchar(255) not null,
+    ano_publicacion integer,
+    isbn varchar(255),
+    numero_paginas integer,
+    genero varchar(255),
+    editorial varchar(255),
+    idioma varchar(255),
+    precio float(53),
+    stock integer,
+    descripcion TEXT,
+    disponible bit not null,
+    fecha_creacion datetime(6),
+    fecha_actualizacion datetime(6),
+    primary key (id)
+) engine=InnoDB;
+
+create table revistas (
+    id bigint not null auto_increment,
+    titulo varchar(255) not null,
+    autor varchar(255),
+    ano_publicacion integer,
+    numero_edicion integer,
+    categoria varchar(255),
+    periodicidad varchar(255),
+    issn varchar(255),
+    precio float(53),
+    numero_paginas integer,
+    editorial varchar(255),
+    descripcion TEXT,
+    disponible bit not null,
+    fecha_creacion datetime(6),
+    fecha_actualizacion datetime(6),
+    primary key (id)
+) engine=InnoDB;
+
+create table dvds (
+    id bigint not null auto_increment,
+    titulo varchar(255) not null,
+    director varchar(255) not null,
+    ano_lanzamiento integer,
+    genero varchar(255),
+    duracion integer,
+    clasificacion varchar(255),
+    actores TEXT,
+    sinopsis TEXT,
+    precio float(53),
+    disponible bit not null,
+    fecha_creacion datetime(6),
+    fecha_actualizacion datetime(6),
+    primary key (id)
+) engine=InnoDB;
+
+create table elementos_biblioteca (
+    id bigint not null auto_increment,
+    tipo varchar(31) not null,
+    titulo varchar(200) not null,
+    autor varchar(150) not null,
+    ano_publicacion integer not null,
+    descripcion varchar(500),
+    disponible bit,
+    fecha_creacion datetime(6),
+    fecha_actualizacion datetime(6),
+    primary key (id)
+) engine=InnoDB;
@@ -16,9 +16,7 @@ import {
 } from '@mui/icons-material';
 import { motion } from 'framer-motion';
 import StatsCard from './StatsCard';
-import { libroService } from '../../services/libroService';
-import { revistaService } from '../../services/revistaService';
-import { dvdService } from '../../services/dvdService';
+import { dashboardService } from '../../services/dashboardService';
 
 const Dashboard = () => {
     const [stats, setStats] = useState({
@@ -37,22 +35,14 @@ const Dashboard = () => {
         try {
             setLoading(true);
 
-            // Cargar estadísticas de todos los elementos
-            const [librosResponse, revistasResponse, dvdsResponse] = await Promise.all([
-                libroService.getAll().catch(() => ({ data: [] })),
-                revistaService.getAll().catch(() => ({ data: [] })),
-                dvdService.getAll().catch(() => ({ data: [] }))
-            ]);
-
-            const totalLibros = librosResponse.data.length;
-            const totalRevistas = revistasResponse.data.length;
-            const totalDVDs = dvdsResponse.data.length;
+            // El backend calcula los conteos; no se descarga el catálogo completo
+            const { data } = await dashboardService.getStats();
 
             setStats({
-                totalLibros,
-                totalRevistas,
-                totalDVDs,
-                totalElementos: totalLibros + totalRevistas + totalDVDs
+                totalLibros: data.totalLibros ?? 0,
+                totalRevistas: data.totalRevistas ?? 0,
+                totalDVDs: data.totalDVDs ?? 0,
+                totalElementos: data.totalElementos ?? 0
             });
         } catch (error) {
             console.error('Error loading stats:', error);
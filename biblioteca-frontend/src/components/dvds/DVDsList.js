@@ -25,6 +25,8 @@ import ConfirmDialog from '../common/ConfirmDialog';
 const DVDsList = () => {
     const [dvds, setDvds] = useState([]);
     const [loading, setLoading] = useState(true);
+    const [nextCursor, setNextCursor] = useState(null);
+    const [loadingMore, setLoadingMore] = useState(false);
     const [searchTerm, setSearchTerm] = useState('');
     const [filteredDvds, setFilteredDvds] = useState([]);
     const [openForm, setOpenForm] = useState(false);
@@ -43,7 +45,8 @@ const DVDsList = () => {
         try {
             setLoading(true);
             const response = await dvdService.getAll();
-            setDvds(response.data);
+            setDvds(response.data.content);
+            setNextCursor(response.data.nextCursor);
         } catch (error) {
             console.error('Error loading DVDs:', error);
             toast.error('Error al cargar los DVDs');
@@ -52,6 +55,20 @@ const DVDsList = () => {
         }
     };
 
+    const loadMore = async () => {
+        try {
+            setLoadingMore(true);
+            const response = await dvdService.getAll(nextCursor);
+            setDvds(prev => [...prev, ...response.data.content]);
+            setNextCursor(response.data.nextCursor);
+        } catch (error) {
+            console.error('Error loading more DVDs:', error);
+            toast.error('Error al cargar más DVDs');
+        } finally {
+            setLoadingMore(false);
+        }
+    };
+
     const filterDvds = () => {
         if (!searchTerm.trim()) {
             setFilteredDvds(dvds);
@@ -67,9 +84,16 @@ const DVDsList = () => {
         }
     };
 
-    const handleEdit = (dvd) => {
-        setEditingDvd(dvd);
-        setOpenForm(true);
+    const handleEdit = async (dvd) => {
+        // El listado no trae las columnas largas; se carga el registro completo
+        try {
+            const response = await dvdService.getById(dvd.id);
+            setEditingDvd(response.data);
+            setOpenForm(true);
+        } catch (error) {
+            console.error('Error loading dvd:', error);
+            toast.error('Error al cargar el DVD');
+        }
     };
 
     const handleDelete = (dvd) => {
@@ -183,6 +207,14 @@ const DVDsList = () => {
                     </Grid>
                 )}
 
+                {nextCursor && (
+                    <Box sx={{ display: 'flex', justifyContent: 'center', mt: 3 }}>
+                        <Button variant="outlined" onClick={loadMore} disabled={loadingMore}>
+                            {loadingMore ? 'Cargando...' : 'Cargar más'}
+                        </Button>
+                    </Box>
+                )}
+
                 <Fab
                     color="primary"
                     aria-label="add"
@@ -25,6 +25,8 @@ import ConfirmDialog from '../common/ConfirmDialog';
 const LibrosList = () => {
     const [libros, setLibros] = useState([]);
     const [loading, setLoading] = useState(true);
+    const [nextCursor, setNextCursor] = useState(null);
+    const [loadingMore, setLoadingMore] = useState(false);
     const [searchTerm, setSearchTerm] = useState('');
     const [filteredLibros, setFilteredLibros] = useState([]);
     const [openForm, setOpenForm] = useState(false);
@@ -43,7 +45,8 @@ const LibrosList = () => {
         try {
             setLoading(true);
             const response = await libroService.getAll();
-            setLibros(response.data);
+            setLibros(response.data.content);
+            setNextCursor(response.data.nextCursor);
         } catch (error) {
             console.error('Error loading libros:', error);
             toast.error('Error al cargar los libros');
@@ -52,6 +55,20 @@ const LibrosList = () => {
         }
     };
 
+    const loadMore = async () => {
+        try {
+            setLoadingMore(true);
+            const response = await libroService.getAll(nextCursor);
+            setLibros(prev => [...prev, ...response.data.content]);
+            setNextCursor(response.data.nextCursor);
+        } catch (error) {
+            console.error('Error loading more libros:', error);
+            toast.error('Error al cargar más libros');
+        } finally {
+            setLoadingMore(false);
+        }
+    };
+
     const filterLibros = () => {
         if (!searchTerm.trim()) {
             setFilteredLibros(libros);
@@ -67,9 +84,16 @@ const LibrosList = () => {
         }
     };
 
-    const handleEdit = (libro) => {
-        setEditingLibro(libro);
-        setOpenForm(true);
+    const handleEdit = async (libro) => {
+        // El listado no trae las columnas largas; se carga el registro completo
+        try {
+            const response = await libroService.getById(libro.id);
+            setEditingLibro(response.data);
+            setOpenForm(true);
+        } catch (error) {
+            console.error('Error loading libro:', error);
+            toast.error('Error al cargar el libro');
+        }
     };
 
     const handleDelete = (libro) => {
@@ -183,6 +207,14 @@ const LibrosList = () => {
                     </Grid>
                 )}
 
+                {nextCursor && (
+                    <Box sx={{ display: 'flex', justifyContent: 'center', mt: 3 }}>
+                        <Button variant="outlined" onClick={loadMore} disabled={loadingMore}>
+                            {loadingMore ? 'Cargando...' : 'Cargar más'}
+                        </Button>
+                    </Box>
+                )}
+
                 <Fab
                     color="primary"
                     aria-label="add"
@@ -25,6 +25,8 @@ import ConfirmDialog from '../common/ConfirmDialog';
 const RevistasList = () => {
     const [revistas, setRevistas] = useState([]);
     const [loading, setLoading] = useState(true);
+    const [nextCursor, setNextCursor] = useState(null);
+    const [loadingMore, setLoadingMore] = useState(false);
     const [searchTerm, setSearchTerm] = useState('');
     const [filteredRevistas, setFilteredRevistas] = useState([]);
     const [openForm, setOpenForm] = useState(false);
@@ -43,7 +45,8 @@ const RevistasList = () => {
         try {
             setLoading(true);
             const response = await revistaService.getAll();
-            setRevistas(response.data);
+            setRevistas(response.data.content);
+            setNextCursor(response.data.nextCursor);
         } catch (error) {
             console.error('Error loading revistas:', error);
             toast.error('Error al cargar las revistas');
@@ -52,6 +55,20 @@ const RevistasList = () => {
         }
     };
 
+    const loadMore = async () => {
+        try {
+            setLoadingMore(true);
+            const response = await revistaService.getAll(nextCursor);
+            setRevistas(prev => [...prev, ...response.data.content]);
+            setNextCursor(response.data.nextCursor);
+        } catch (error) {
+            console.error('Error loading more revistas:', error);
+            toast.error('Error al cargar más revistas');
+        } finally {
+            setLoadingMore(false);
+        }
+    };
+
     const filterRevistas = () => {
         if (!searchTerm.trim()) {
             setFilteredRevistas(revistas);
@@ -67,9 +84,16 @@ const RevistasList = () => {
         }
     };
 
-    const handleEdit = (revista) => {
-        setEditingRevista(revista);
-        setOpenForm(true);
+    const handleEdit = async (revista) => {
+        // El listado no trae las columnas largas; se carga el registro completo
+        try {
+            const response = await revistaService.getById(revista.id);
+            setEditingRevista(response.data);
+            setOpenForm(true);
+        } catch (error) {
+            console.error('Error loading revista:', error);
+            toast.error('Error al cargar la revista');
+        }
     };
 
     const handleDelete = (revista) => {
@@ -183,6 +207,14 @@ const RevistasList = () => {
                     </Grid>
                 )}
 
+                {nextCursor && (
+                    <Box sx={{ display: 'flex', justifyContent: 'center', mt: 3 }}>
+                        <Button variant="outlined" onClick={loadMore} disabled={loadingMore}>
+                            {loadingMore ? 'Cargando...' : 'Cargar más'}
+                        </Button>
+                    </Box>
+                )}
+
                 <Fab
                     color="primary"
                     aria-label="add"
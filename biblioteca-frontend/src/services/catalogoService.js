@@ -0,0 +1,7 @@
+import api from './api';
+import { ENDPOINTS } from '../utils/constants';
+
+export const catalogoService = {
+    // Filtrar libros, revistas y DVDs a la vez; tipos como 'LIBRO,DVD'
+    filtrar: (filtro, orden, cursor, size) => api.get(`${ENDPOINTS.CATALOGO}/filtro`, { params: { ...filtro, orden, cursor, size } })
+};
@@ -0,0 +1,7 @@
+import api from './api';
+import { ENDPOINTS } from '../utils/constants';
+
+export const dashboardService = {
+    // Obtener estadísticas agregadas del catálogo
+    getStats: () => api.get(`${ENDPOINTS.DASHBOARD}/stats`)
+};
@@ -2,8 +2,8 @@ import api from './api';
 import { ENDPOINTS } from '../utils/constants';
 
 export const dvdService = {
-    // Obtener todos los DVDs
-    getAll: () => api.get(ENDPOINTS.DVDS),
+    // Obtener una página (cursor) de DVDs
+    getAll: (cursor, size) => api.get(ENDPOINTS.DVDS, { params: { cursor, size } }),
 
     // Obtener DVD por ID
     getById: (id) => api.get(`${ENDPOINTS.DVDS}/${id}`),
@@ -33,5 +33,11 @@ export const dvdService = {
     getByDuracion: (minDuracion, maxDuracion) => api.get(`${ENDPOINTS.DVDS}/duracion?minDuracion=${minDuracion}&maxDuracion=${maxDuracion}`),
 
     // Obtener DVDs disponibles
-    getDisponibles: () => api.get(`${ENDPOINTS.DVDS}/disponibles`)
+    getDisponibles: () => api.get(`${ENDPOINTS.DVDS}/disponibles`),
+
+    // Filtro combinado en una sola petición, p. ej. { genero, disponible, precioMax }; orden = 'campo,asc|desc'
+    filtrar: (filtro, orden, cursor, size) => api.get(`${ENDPOINTS.DVDS}/filtro`, { params: { ...filtro, orden, cursor, size } }),
+
+    // Página del filtro más conteos por faceta (género, década, precio...) en una sola petición
+    getFacetas: (filtro, orden, cursor, size) => api.get(`${ENDPOINTS.DVDS}/facetas`, { params: { ...filtro, orden, cursor, size } })
 };
\ No newline at end of file
@@ -2,8 +2,8 @@ import api from './api';
 import { ENDPOINTS } from '../utils/constants';
 
 export const libroService = {
-    // Obtener todos los libros
-    getAll: () => api.get(ENDPOINTS.LIBROS),
+    // Obtener una página (cursor) de libros
+    getAll: (cursor, size) => api.get(ENDPOINTS.LIBROS, { params: { cursor, size } }),
 
     // Obtener libro por ID
     getById: (id) => api.get(`${ENDPOINTS.LIBROS}/${id}`),
@@ -33,5 +33,11 @@ export const libroService = {
     getByIsbn: (isbn) => api.get(`${ENDPOINTS.LIBROS}/isbn/${isbn}`),
 
     // Obtener libros disponibles
-    getDisponibles: () => api.get(`${ENDPOINTS.LIBROS}/disponibles`)
+    getDisponibles: () => api.get(`${ENDPOINTS.LIBROS}/disponibles`),
+
+    // Filtro combinado en una sola petición, p. ej. { genero, disponible, precioMax }; orden = 'campo,asc|desc'
+    filtrar: (filtro, orden, cursor, size) => api.get(`${ENDPOINTS.LIBROS}/filtro`, { params: { ...filtro, orden, cursor, size } }),
+
+    // Página del filtro más conteos por faceta (género, década, precio...) en una sola petición
+    getFacetas: (filtro, orden, cursor, size) => api.get(`${ENDPOINTS.LIBROS}/facetas`, { params: { ...filtro, orden, cursor, size } })
 };
\ No newline at end of file
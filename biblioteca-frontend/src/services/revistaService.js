@@ -2,8 +2,8 @@ import api from './api';
 import { ENDPOINTS } from '../utils/constants';
 
 export const revistaService = {
-    // Obtener todas las revistas
-    getAll: () => api.get(ENDPOINTS.REVISTAS),
+    // Obtener una página (cursor) de revistas
+    getAll: (cursor, size) => api.get(ENDPOINTS.REVISTAS, { params: { cursor, size } }),
 
     // Obtener revista por ID
     getById: (id) => api.get(`${ENDPOINTS.REVISTAS}/${id}`),
@@ -33,5 +33,11 @@ export const revistaService = {
     getByAutor: (autor) => api.get(`${ENDPOINTS.REVISTAS}/autor?autor=${encodeURIComponent(autor)}`),
 
     // Obtener revistas disponibles
-    getDisponibles: () => api.get(`${ENDPOINTS.REVISTAS}/disponibles`)
+    getDisponibles: () => api.get(`${ENDPOINTS.REVISTAS}/disponibles`),
+
+    // Filtro combinado en una sola petición, p. ej. { genero, disponible, precioMax }; orden = 'campo,asc|desc'
+    filtrar: (filtro, orden, cursor, size) => api.get(`${ENDPOINTS.REVISTAS}/filtro`, { params: { ...filtro, orden, cursor, size } }),
+
+    // Página del filtro más conteos por faceta (género, década, precio...) en una sola petición
+    getFacetas: (filtro, orden, cursor, size) => api.get(`${ENDPOINTS.REVISTAS}/facetas`, { params: { ...filtro, orden, cursor, size } })
 };
\ No newline at end of file
@@ -0,0 +1,7 @@
+import api from './api';
+import { ENDPOINTS } from '../utils/constants';
+
+export const searchService = {
+    // Buscar en libros, revistas y DVDs a la vez
+    search: (query, size) => api.get(ENDPOINTS.SEARCH, { params: { query, size } })
+};
@@ -4,12 +4,16 @@ export const API_BASE_URL = 'http://localhost:8080/api';
 export const ENDPOINTS = {
     LIBROS: '/libros',
     REVISTAS: '/revistas',
-    DVDS: '/dvds'
+    DVDS: '/dvds',
+    DASHBOARD: '/dashboard',
+    SEARCH: '/search',
+    CATALOGO: '/catalogo'
 };
 
 // Routes
 export const ROUTES = {
     DASHBOARD: '/dashboard',
+    SEARCH: '/search',
     LIBROS: '/libros',
     REVISTAS: '/revistas',
     DVDS: '/dvds'